@@ -4,10 +4,13 @@ package edu.up.cs301.shapefitter;
  * Created by vegdahl on 7/19/16.
  */
 import android.content.Context;
+import android.graphics.Bitmap;
 import android.graphics.Canvas;
 import android.graphics.Color;
 import android.graphics.Paint;
 import android.graphics.Point;
+import android.graphics.Rect;
+import android.graphics.RectF;
 import android.util.AttributeSet;
 
 import edu.up.cs301.scaleAndTouch.ScaleAndTouchSurfaceView;
@@ -61,6 +64,10 @@ public abstract class ShapeAbstractSurface extends ScaleAndTouchSurfaceView {
         truePaint.setColor(Color.BLACK);
         falsePaint = new Paint();
         falsePaint.setColor(Color.WHITE);
+
+        // the array's image is scaled up without filtering, so each square stays sharp
+        bitmapPaint = new Paint();
+        bitmapPaint.setFilterBitmap(false);
     }
 
     /**
@@ -109,9 +116,24 @@ public abstract class ShapeAbstractSurface extends ScaleAndTouchSurfaceView {
     protected Paint falsePaint; // squares with value of false
     protected Paint linePaint; // lines between the squares
 
+    // the array drawn as an image, one pixel per square; null when it must be redrawn
+    // (because the array has been replaced or changed wholesale, or recolored)
+    private Bitmap arrayBitmap;
+
+    // paint for drawing the array's image, and the rectangles it is drawn from and to
+    private Paint bitmapPaint;
+    private final Rect bitmapSrc = new Rect();
+    private final RectF bitmapDst = new RectF();
+
+    // the end points of the grid lines, and the array size and scale they were computed
+    // for
+    private float[] gridLines;
+    private int gridArraySize;
+    private float gridPixelsPerSquare;
+
     // whether to allow changes to be made on elements in the array,
-    // or to replace the array with a new one
-    protected boolean allowChanges = true;
+    // or to replace the array with a new one (set by the solver thread)
+    protected volatile boolean allowChanges = true;
 
     /**
      * tell whether changes are allowed to be made by elements in the array
@@ -132,6 +154,7 @@ public abstract class ShapeAbstractSurface extends ScaleAndTouchSurfaceView {
         linePaint.setColor(line);
         truePaint.setColor(full);
         falsePaint.setColor(empty);
+        arrayChanged();
     }
 
     /**
@@ -154,7 +177,8 @@ public abstract class ShapeAbstractSurface extends ScaleAndTouchSurfaceView {
 
     /**
      * Standard ScaleAndTouchSurfaceView method for painting the scalable portion of the
-     * image.
+     * image. The squares are drawn from a cached image of the array, so the time taken
+     * does not depend on the size of the array.
      * @param c the canvas on which to draw
      */
     @Override
@@ -170,25 +194,94 @@ public abstract class ShapeAbstractSurface extends ScaleAndTouchSurfaceView {
         // number of pixels to draw per square
         float pixelsPerSquare = min/(arraySize+2);
 
-        // draw each square, using the appropriate color for each
-        for (int row = 0; row < boolArray.length; row++) {
-            for (int col = 0; col < boolArray[row].length; col++) {
-                Paint p = paintForPosition(row, col);
-                c.drawRect((col+1)*pixelsPerSquare,(row+1)*pixelsPerSquare,
-                        (col+2)*pixelsPerSquare,(row+2)*pixelsPerSquare,
-                        p);
-            }
+        // draw the squares, scaling the array's image so that each pixel fills a square
+        if (arrayBitmap == null) {
+            arrayBitmap = createArrayBitmap();
         }
+        bitmapSrc.set(0, 0, arraySize, arraySize);
+        bitmapDst.set(pixelsPerSquare, pixelsPerSquare,
+                (arraySize+1)*pixelsPerSquare, (arraySize+1)*pixelsPerSquare);
+        c.drawBitmap(arrayBitmap, bitmapSrc, bitmapDst, bitmapPaint);
+
+        // draw anything that goes on top of the squares
+        drawOverlay(c, pixelsPerSquare);
 
         // draw the grid of lines separating the squares
-        for (int i = 0; i <= arraySize; i++) {
-            // vertical line
-            c.drawLine((i+1)*pixelsPerSquare,pixelsPerSquare,(i+1)*pixelsPerSquare,
-                    (arraySize+1)*pixelsPerSquare, linePaint);
-            // horizontal line
-            c.drawLine(pixelsPerSquare,(i+1)*pixelsPerSquare,
-                    (arraySize+1)*pixelsPerSquare,(i+1)*pixelsPerSquare,
-                    linePaint);
+        c.drawLines(gridLines(arraySize, pixelsPerSquare), linePaint);
+    }
+
+    /**
+     * draws on top of the squares, under the grid lines; by default, draws nothing
+     * @param c the canvas on which to draw
+     * @param pixelsPerSquare the size of a square; square (row, col) has its top-left at
+     *                        ((col+1)*pixelsPerSquare, (row+1)*pixelsPerSquare)
+     */
+    protected void drawOverlay(Canvas c, float pixelsPerSquare) {
+    }
+
+    /**
+     * draws the array as an image, one pixel per square
+     * @return the image
+     */
+    private Bitmap createArrayBitmap() {
+        int arraySize = boolArray.length;
+        int[] pixels = new int[arraySize * arraySize];
+        for (int row = 0; row < arraySize; row++) {
+            for (int col = 0; col < arraySize; col++) {
+                pixels[row * arraySize + col] = paintForPosition(row, col).getColor();
+            }
+        }
+        Bitmap bitmap = Bitmap.createBitmap(arraySize, arraySize, Bitmap.Config.ARGB_8888);
+        bitmap.setPixels(pixels, 0, arraySize, 0, 0, arraySize, arraySize);
+        return bitmap;
+    }
+
+    /**
+     * gives the end points of the grid lines, computing them if the array size or scale
+     * has changed
+     * @param arraySize length of a side of the array
+     * @param pixelsPerSquare number of pixels per square
+     * @return the end points, as for Canvas.drawLines
+     */
+    private float[] gridLines(int arraySize, float pixelsPerSquare) {
+        if (gridLines == null || gridArraySize != arraySize ||
+                gridPixelsPerSquare != pixelsPerSquare) {
+            gridLines = new float[8 * (arraySize + 1)];
+            for (int i = 0; i <= arraySize; i++) {
+                // vertical line
+                gridLines[8*i] = (i+1)*pixelsPerSquare;
+                gridLines[8*i+1] = pixelsPerSquare;
+                gridLines[8*i+2] = (i+1)*pixelsPerSquare;
+                gridLines[8*i+3] = (arraySize+1)*pixelsPerSquare;
+                // horizontal line
+                gridLines[8*i+4] = pixelsPerSquare;
+                gridLines[8*i+5] = (i+1)*pixelsPerSquare;
+                gridLines[8*i+6] = (arraySize+1)*pixelsPerSquare;
+                gridLines[8*i+7] = (i+1)*pixelsPerSquare;
+            }
+            gridArraySize = arraySize;
+            gridPixelsPerSquare = pixelsPerSquare;
+        }
+        return gridLines;
+    }
+
+    /**
+     * called when the array has been replaced, or many of its elements changed, so that
+     * its image is redrawn before it is next shown. Subclasses that change the array's
+     * elements directly call this afterwards.
+     */
+    protected void arrayChanged() {
+        arrayBitmap = null;
+    }
+
+    /**
+     * updates the array's image after a single element has changed
+     * @param row the row position of the array
+     * @param col the column position of the array
+     */
+    private void squareChanged(int row, int col) {
+        if (arrayBitmap != null) {
+            arrayBitmap.setPixel(col, row, paintForPosition(row, col).getColor());
         }
     }
 
@@ -226,6 +319,7 @@ public abstract class ShapeAbstractSurface extends ScaleAndTouchSurfaceView {
 
         // replace old the array
         boolArray = newArray;
+        arrayChanged();
     }
 
     /**
@@ -271,6 +365,10 @@ public abstract class ShapeAbstractSurface extends ScaleAndTouchSurfaceView {
 
         // "flip" the value in the array
         boolArray[row][col] = !boolArray[row][col];
+
+        // report the change
+        squareChanged(row, col);
+        positionChanged(row, col, boolArray[row][col]);
     }
 
 
@@ -288,8 +386,25 @@ public abstract class ShapeAbstractSurface extends ScaleAndTouchSurfaceView {
         if (row < 0 || row >= boolArray.length ||
                 col < 0 || col >= boolArray.length) return;
 
+        // if the value does not change, do nothing
+        if (boolArray[row][col] == val) return;
+
         // set the value in the array
         boolArray[row][col] = val;
+
+        // report the change
+        squareChanged(row, col);
+        positionChanged(row, col, val);
+    }
+
+    /**
+     * called when the user changes a single element of the array (by togglePosition or
+     * setPosition); by default, does nothing
+     * @param row the row position of the array
+     * @param col the column position of the array
+     * @param val the element's new value
+     */
+    protected void positionChanged(int row, int col, boolean val) {
     }
 
     /**
@@ -392,6 +507,7 @@ public abstract class ShapeAbstractSurface extends ScaleAndTouchSurfaceView {
             }
         }
         boolArray = newOne;
+        arrayChanged();
     }
 
     /**
@@ -446,5 +562,6 @@ public abstract class ShapeAbstractSurface extends ScaleAndTouchSurfaceView {
                 }
             }
         }
+        arrayChanged();
     }
 }
@@ -5,21 +5,20 @@ import android.content.Context;
 import android.content.res.Resources;
 import android.os.Handler;
 import android.os.Bundle;
+import android.util.Log;
 import android.view.Menu;
 import android.view.MenuItem;
 import android.view.View;
 import android.widget.Button;
 import android.widget.SeekBar;
 import android.widget.TextView;
+import android.widget.Toast;
 
-import java.io.DataInputStream;
-import java.io.DataOutputStream;
-import java.io.EOFException;
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
+import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
 
 /**
  * main activity for this application
@@ -28,12 +27,15 @@ import java.util.Arrays;
  * @version 10 August 2016
  */
 public class ShapeFitActivity extends Activity
-        implements ShapeSolutionAcceptor, SeekBar.OnSeekBarChangeListener {
+        implements ShapeProbeAcceptor, SeekBar.OnSeekBarChangeListener {
 
     // internal file names for storing saved shapes and worlds
     private static final String SAVED_SHAPES_FILENAME = "saved_shapes";
     private static final String SAVED_WORLDS_FILENAME = "saved_worlds";
 
+    // how long a solve may run, not counting time spent paused, before it is abandoned
+    private static final long SOLVE_TIMEOUT_SECONDS = 30;
+
 
     // GUI widgets
     private ShapeCreateSurface createSurface; // surface for creating shapes
@@ -49,19 +51,28 @@ public class ShapeFitActivity extends Activity
     private ArrayList<boolean[][]> savedWorlds = new ArrayList<boolean[][]>();
     private boolean hadWorldMove = false;
 
-    // the artificial delay for our algorithm (sleeps for this many milliseconds each
-    // time 'display' is called.
+    // the least time between proposed solutions shown on the "world" surface, in
+    // milliseconds; the solver itself runs at full speed
     private float delay = 6;
 
-    // whether we are paused
-    private boolean paused = false;
+    // whether we are paused (set on the GUI thread, read on the solver's)
+    private volatile boolean paused = false;
 
-    // whether the solver is running
-    private boolean solverRunning = false;
+    // whether the solver is running (set on both threads)
+    private volatile boolean solverRunning = false;
 
     // handler for scheduling things in GUI thread
     private Handler handler;
 
+    // chooses the solver for each problem
+    private ShapeSolverFactory solverFactory = new ShapeSolverFactory();
+
+    // the token through which the running solve (if any) can be stopped
+    private volatile SolveToken solveToken;
+
+    // the shape being solved for, which proposed solutions show (null if none)
+    private volatile boolean[][] solveShape;
+
     // IDs of buttons that should disabled when the solver is running
     private static int[] disableButtonIds = {
             R.id.shape_minus_button,
@@ -142,8 +153,9 @@ public class ShapeFitActivity extends Activity
         // line-color for "world" array
         int fitLineColor = this.getResources().getColor(R.color.shape_fit_line_color);
 
-        // set the GUI's delay-text
+        // set the GUI's delay-text, and the playback
         setDelayTextValue();
+        fitSurface.setPlaybackInterval((long) delay);
 
         // set the GUI's percent-text
         updatePercentReport();
@@ -156,6 +168,18 @@ public class ShapeFitActivity extends Activity
         createSurface.invalidate();
     }
 
+    /**
+     * stops any running solve when the activity goes away
+     */
+    @Override
+    protected void onDestroy() {
+        SolveToken token = solveToken;
+        if (token != null) {
+            token.cancel();
+        }
+        super.onDestroy();
+    }
+
     /**
      * standard menu-creation method
      *
@@ -254,8 +278,9 @@ public class ShapeFitActivity extends Activity
         // increase the delay by +20%, or by 1 (whichever is greater)
         delay = Math.max(delay + 1, delay * 1.2f);
 
-        // update the delay's text field
+        // update the delay's text field, and the playback
         setDelayTextValue();
+        fitSurface.setPlaybackInterval((long) delay);
     }
 
     /**
@@ -270,8 +295,9 @@ public class ShapeFitActivity extends Activity
         // decrease the delay by ~20% or by 1, which ever value is lower
         delay = Math.min(delay - 1, delay / 1.2f);
 
-        // update the delay's text field
+        // update the delay's text field, and the playback
         setDelayTextValue();
+        fitSurface.setPlaybackInterval((long) delay);
     }
 
     /**
@@ -511,11 +537,8 @@ public class ShapeFitActivity extends Activity
 
     /**
      * helper-method to read an array-list of 2D (square) boolean arrays from internal storage.
-     * The format is as follows:
-     * - a 4-byte integer denoting the size, N, of one of the sides
-     * - N sequences of bytes denoting the values of each row of the array
-     *   - each byte denotes the values of 8 elements in the array (LSB corresponding to the
-     *     lowest index. If N is not a multiple of 8, the last byte is zero-padded.
+     * The format is described in the header-comment for ArrayLibrary; a file in the older
+     * format of SavedArrayReader is read, then rewritten as a library.
      * @param context the Android context object
      * @param filename the name of the file
      * @return the ArrayList containing all of the saved 2D boolean arrays
@@ -524,102 +547,79 @@ public class ShapeFitActivity extends Activity
         // create the array-list
         ArrayList<boolean[][]> rtnVal = new ArrayList<boolean[][]>();
 
-        // input stream for reading ints and bytes
-        DataInputStream dis = null;
+        // if the file is a library, map it and read each array; a damaged array is skipped
+        File file = context.getFileStreamPath(filename);
         try {
-            // create input stream
-            FileInputStream fis = context.openFileInput(filename);
-            dis = new DataInputStream(fis);
-
-            // read as many records as are there--we'll exit the loop with an EOFException
-            for (;;) {
-                // read the size of the boolean array
-                int size = dis.readInt();
-
-                // create a square array of the appropriate size
-                boolean[][] arrayReadingIn = new boolean[size][size];
-
-                // read the bytes, using them to initialize the array elements
-                for (int i = 0; i < size; i++) {
-                    byte val = 0; // the current type
-                    for (int j = 0; j < size; j++) {
-                        if (j % 8 == 0) {
-                            // every 8th time, we read a new byte
-                            val = dis.readByte();
-                        }
-                        // initialize array element
-                        arrayReadingIn[i][j] = (val & 0x1) != 0;
-                        // shift byte
-                        val >>= 1;
+            if (!file.exists()) {
+                return rtnVal;
+            }
+            if (ArrayLibrary.isLibrary(file)) {
+                ArrayLibrary library = ArrayLibrary.open(file);
+                for (int i = 0; i < library.size(); i++) {
+                    try {
+                        rtnVal.add(library.get(i));
+                    } catch (IOException iox) {
+                        Log.w("ShapeFitActivity", filename + ": " + iox.getMessage());
                     }
                 }
-                // add the array to the array-list
-                rtnVal.add(arrayReadingIn);
+                return rtnVal;
             }
-        } catch (EOFException eofx) {
-            // on EOF, close the file
-            if (dis != null) {
+        } catch (IOException iox) {
+            Log.w("ShapeFitActivity", filename + ": " + iox.getMessage());
+            return rtnVal;
+        }
+
+        // otherwise, read it in the older format
+        SavedArrayReader reader = null;
+        boolean complete = false;
+        try {
+            // create input stream
+            reader = new SavedArrayReader(context.openFileInput(filename));
+
+            // read as many records as are there, adding each to the array-list
+            for (boolean[][] arr = reader.read(); arr != null; arr = reader.read()) {
+                rtnVal.add(arr);
+            }
+            complete = true;
+        } catch (IOException iox) {
+        } finally {
+            // close the file
+            if (reader != null) {
                 try {
-                    dis.close();
+                    reader.close();
                 } catch (IOException iox) {
                 }
             }
-        } catch (IOException iox) {
         }
-        // return the array-list
+
+        // convert the file to a library, unless it could not all be read (so that nothing
+        // is lost), and return the array-list
+        if (complete) {
+            saveArrays(context, rtnVal, filename);
+        }
         return rtnVal;
     }
 
     /**
      * helper-method to save an array-list of boolean arrays out to a file. The format is described
-     * in the header-comment for the method readSavedArrays
+     * in the header-comment for ArrayLibrary
      * @param context the Android context object
      * @param list the array-list of square 2D boolean arrays
      * @param fileName the name of the file
      */
     private void saveArrays(Context context, ArrayList<boolean[][]> list, String fileName) {
-        // variable for writing out ints and bytes to the file
-        DataOutputStream dos = null;
-
         try {
             // open the output stream
-            FileOutputStream fos = context.openFileOutput(fileName, Context.MODE_PRIVATE);
-            dos = new DataOutputStream(fos);
+            ArrayLibraryWriter writer =
+                    new ArrayLibraryWriter(context.openFileOutput(fileName, Context.MODE_PRIVATE));
 
-            // iterate over each element in the array-list
+            // write each element in the array-list
             for (boolean[][] arr : list) {
-
-                // write the size out at a 32-bit int
-                int size = arr.length;
-                dos.writeInt(size);
-
-                // iterate over each row in the array
-                for (int i = 0; i < size; i++) {
-                    byte val = 0; // the current byte value being built up
-                    byte mask = 0x0; // mask containing a '1' in the current byte's bit position
-                    for (int j = 0; j < size; j++) {
-                        mask <<= 1; // shift mask into next position
-                        if (mask == 0x0) {
-                            // if mask is 0, then we're done with the byte; write it out and
-                            // reset the byte-value and mask
-                            if (j != 0) {
-                                dos.writeByte(val);
-                            }
-                            val = 0;
-                            mask = 0x1;
-                        }
-                        if (arr[i][j]) {
-                            // if the array element is 'true', "or" the mask into the bit-position
-                            val |= mask;
-                        }
-                    }
-                    // write out the last byte for the array row
-                    dos.writeByte(val);
-                }
+                writer.write(arr);
             }
 
             // close the file
-            dos.close();
+            writer.close();
         }
         catch (IOException iox) {
         }
@@ -641,6 +641,11 @@ public class ShapeFitActivity extends Activity
             // that runs the solver
             paused = false;
             solverRunning = true;
+
+            // disable changes for both of our arrays before the solver thread starts, so
+            // that no edit can slip in between taking the arrays and the solve
+            createSurface.setAllowChanges(false);
+            fitSurface.setAllowChanges(false);
             SolverRunner runner = new SolverRunner(createSurface.getArray(), fitSurface.getArray());
             new Thread(runner).start();
         }
@@ -734,26 +739,63 @@ public class ShapeFitActivity extends Activity
      */
     @Override
     public void display(int row, int col, Orientation or) {
-        // tell the fit-surface the shape and orientation to display
-        fitSurface.display(createSurface.getArray(), row, col, or);
-
-        // if the pause button has been pressed, stay in the loop until
-        // things are unpaused
-        while (paused) {
-            try {
-                Thread.sleep(50);
-            } catch (InterruptedException ix) {
+        // tell the fit-surface the shape and orientation to display; it shows the latest
+        // at each frame, so the solver need not wait for it
+        fitSurface.display(solveShape, row, col, or);
+        waitWhilePaused();
+    }
+
+    /**
+     * Called by the solver at its checkpoints, with the position it is about to search;
+     * shown in the same way as a proposed solution, so that the search can be watched at
+     * the pace set by the delay
+     *
+     * @param row the row in the world array that corresponds to the top-left of the shape array
+     * @param col the column in the world array that corresponds to the top-left of the shape array
+     * @param or  the orientation
+     */
+    @Override
+    public void probe(int row, int col, Orientation or) {
+        fitSurface.display(solveShape, row, col, or);
+        waitWhilePaused();
+    }
+
+    /**
+     * if the pause button has been pressed, stays in a loop until things are unpaused (or
+     * the solve is cancelled); the solve's deadline does not run down meanwhile
+     */
+    private void waitWhilePaused() {
+        if (!paused) return;
+        SolveToken token = solveToken;
+        if (token != null) token.pause();
+        try {
+            while (paused && !(token != null && token.isCancelled())) {
+                try {
+                    Thread.sleep(50);
+                } catch (InterruptedException ix) {
+                }
             }
         }
+        finally {
+            if (token != null) token.resume();
+        }
+    }
 
-        // if we are delaying, do the appropriate delay
-        int theDelay = (int) delay;
-        if (theDelay > 0) {
-            try {
-                Thread.sleep(theDelay);
-            } catch (InterruptedException ix) {
+    /**
+     * tells the user why a solve was stopped before it finished, so that this is not
+     * mistaken for the shape not fitting
+     *
+     * @param status how the solve ended (CANCELLED or TIMED_OUT)
+     */
+    private void reportStopped(final SolveResult.Status status) {
+        handler.post(new Runnable() {
+            public void run() {
+                String message = status == SolveResult.Status.TIMED_OUT
+                        ? getString(R.string.solve_timed_out_text, SOLVE_TIMEOUT_SECONDS)
+                        : getString(R.string.solve_cancelled_text);
+                Toast.makeText(getApplicationContext(), message, Toast.LENGTH_LONG).show();
             }
-        }
+        });
     }
 
     /**
@@ -796,16 +838,44 @@ public class ShapeFitActivity extends Activity
                 }
             });
 
-            // disable changes for both of our arrays
-            createSurface.setAllowChanges(false);
-            fitSurface.setAllowChanges(false);
-
-            // create the solver
-            MyShapeSolver solver =
-                    new MyShapeSolver(shapeArray, worldArray, ShapeFitActivity.this);
-
-            // run the solver
-            solver.solve();
+            solveShape = shapeArray;
+
+            // if the world has only been edited a cell at a time since the last solve of
+            // this shape, the session already knows the answer; otherwise, run the solver
+            // and start a session so that the next solve after such edits is immediate
+            SolveSession session = fitSurface.getSolveSession();
+            if (session != null && session.matches(shapeArray, worldArray)) {
+                Placements.report(session.firstFit(), ShapeFitActivity.this);
+            } else {
+                // create the solver that the cost model expects to be fastest
+                ShapeSolverFactory.Choice choice = solverFactory.choose(shapeArray, worldArray);
+                Log.i("ShapeFitActivity", "solving with " + choice);
+                ShapeSolver solver =
+                        choice.createSolver(shapeArray, worldArray, ShapeFitActivity.this);
+
+                // run the solver, giving up if it takes too long; it counts its candidates
+                // for the log only when debug logging is on, since counting slows it down
+                solver.setDetailedMetrics(Log.isLoggable("ShapeFitActivity", Log.DEBUG));
+                solveToken = new SolveToken(SOLVE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                SolveResult result = solver.solve(solveToken);
+                solveToken = null;
+                Log.i("ShapeFitActivity", "solve " + result);
+                Log.i("ShapeFitActivity", "metrics " + result.getMetrics());
+
+                // start the session, unless the solve was stopped (when the session would
+                // take as long to build). Its full count is done here, on the solver
+                // thread, while changes are still disabled, so that the single-cell edits
+                // that update it on the GUI thread are quick. A stopped solve clears the
+                // last position searched, and says why there is no answer
+                if (result.isComplete()) {
+                    SolveSession newSession = new SolveSession(shapeArray, worldArray);
+                    newSession.prepare();
+                    fitSurface.setSolveSession(newSession);
+                } else {
+                    undisplay();
+                    reportStopped(result.getStatus());
+                }
+            }
 
             // mark solver as not running
             solverRunning = false;
@@ -4,11 +4,14 @@ package edu.up.cs301.shapefitter;
  * Created by vegdahl on 7/19/16.
  */
 import android.content.Context;
+import android.graphics.Canvas;
 import android.graphics.Color;
 import android.graphics.Paint;
-import android.os.Handler;
 import android.util.AttributeSet;
+import android.view.Choreographer;
 import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * The "world" surface, for holding and displaying the world into whichh a
@@ -24,14 +27,37 @@ public class ShapeFitSurface extends ShapeAbstractSurface {
     private static final int MIN_SQUARES_PER_SIDE = 4;
     private static final int INIT_SQUARES_PER_SIDE = 40;
 
-    // more recent solution proposed by the solver (null if none)
-    private boolean[][] proposedSolution; // the boolean array
-    private int proposedRowSolutionOffset; // the row position in the world
-    private int proposedColSolutionOffset; // the column position in the world
-    private Orientation proposedOrientation; // the orientation
+    // the proposed solution being shown, as an overlay (null if none); it is replaced as
+    // a whole, so whatever thread reads it sees one complete proposal
+    private volatile Overlay shownOverlay;
 
-    // handler for scheduling things in our thread
-    Handler handler = new Handler();
+    // the latest proposal (or probe of the search) from the solver, not yet shown (null if
+    // none): the solver overwrites it as fast as it likes, and it is sampled once per frame
+    private final AtomicReference<Proposal> pendingProposal = new AtomicReference<Proposal>();
+
+    // whether a frame callback is scheduled to sample the pending proposal
+    private final AtomicBoolean frameScheduled = new AtomicBoolean();
+
+    // the least time between proposals shown, and when the last one was shown (ns)
+    private volatile long playbackIntervalNanos;
+    private long lastShownNanos;
+
+    // the orientations of the shape last proposed, and that shape (used on the UI thread
+    // only); a solve proposes the same shape array each time, so they are built once
+    private OrientationTable overlayTable;
+    private boolean[][] overlayShape;
+
+    // the UI thread's choreographer, and the callback that samples the pending proposal
+    private Choreographer choreographer;
+    private final Choreographer.FrameCallback frameCallback =
+            new Choreographer.FrameCallback() {
+                public void doFrame(long frameTimeNanos) {
+                    showPendingProposal(frameTimeNanos);
+                }
+            };
+
+    // session that is kept up to date with single-element edits (null if none)
+    private volatile SolveSession solveSession;
 
     // paint objects for displaying "true" and "false" squares that overlap with
     // the proposed solution
@@ -64,6 +90,9 @@ public class ShapeFitSurface extends ShapeAbstractSurface {
         // generate the initial random values for the squares in the array
         bumpSquaresPerSide(0);
 
+        // views are created on the UI thread, so this is its choreographer
+        choreographer = Choreographer.getInstance();
+
         // create the initial paint objects, with default colors
         trueOverlapPaint = new Paint();
         trueOverlapPaint.setColor(Color.GRAY);
@@ -109,8 +138,9 @@ public class ShapeFitSurface extends ShapeAbstractSurface {
         // if changes are not allowed, ignore
         if (!allowChanges) return;
 
-        // change the size of the array
+        // change the size of the array; any solve session no longer applies
         super.bumpSquaresPerSide(delta);
+        solveSession = null;
 
         // randomly set each value
         Random ran = new Random();
@@ -119,6 +149,49 @@ public class ShapeFitSurface extends ShapeAbstractSurface {
                 boolArray[i][j] = ran.nextFloat() < trueProb;
             }
         }
+        arrayChanged();
+    }
+
+    /**
+     * sets a new boolean array for the surface (makes a copy); any solve session no longer
+     * applies
+     * @param array the new array
+     */
+    @Override
+    public void setArray(boolean[][] array) {
+        super.setArray(array);
+        solveSession = null;
+    }
+
+    /**
+     * sets the solve session to be kept up to date as the user changes single elements of
+     * the array. The session is dropped when the array is replaced. It should already be
+     * prepared (see SolveSession.prepare), since the edits are passed on from the GUI thread.
+     * @param session the session (null for none)
+     */
+    public void setSolveSession(SolveSession session) {
+        solveSession = session;
+    }
+
+    /**
+     * @return the solve session being kept up to date (null if none)
+     */
+    public SolveSession getSolveSession() {
+        return solveSession;
+    }
+
+    /**
+     * passes a single-element change on to the solve session, if any
+     * @param row the row position of the array
+     * @param col the column position of the array
+     * @param val the element's new value
+     */
+    @Override
+    protected void positionChanged(int row, int col, boolean val) {
+        SolveSession session = solveSession;
+        if (session != null) {
+            session.setCell(row, col, val);
+        }
     }
 
     /**
@@ -139,105 +212,170 @@ public class ShapeFitSurface extends ShapeAbstractSurface {
     }
 
     /**
-     * causes a new proposed solution to be displayed
+     * sets the least time between proposed solutions shown; proposals that come faster
+     * than this are skipped (the latest is always shown in the end)
+     * @param millis the time, in milliseconds
+     */
+    public void setPlaybackInterval(long millis) {
+        playbackIntervalNanos = millis * 1000000L;
+    }
+
+    /**
+     * causes a new proposed solution to be displayed. It may be called from any thread, and
+     * as often as the solver likes: it only replaces the pending proposal, which is shown at
+     * the next frame (or skipped, if another replaces it first).
      * @param arr array containing the proposed solution
      * @param row row-position in our world-array corrsponding to top-left of proposed solution
      * @param col column-position in our world-array corrsponding to top-left of proposed solution
      * @param or orientation of the proposed solution
      */
     public void display(boolean[][] arr, int row, int col, Orientation or) {
+        publish(new Proposal(arr, row, col, or));
+    }
 
-        // set our instance variables appropriately
-        proposedSolution = arr;
-        proposedRowSolutionOffset = row;
-        proposedColSolutionOffset = col;
-        proposedOrientation = or;
+    /**
+     * remove any previously proposed solution; like display, it may be called from any
+     * thread, and takes effect at the next frame
+     */
+    public void undisplay() {
+        publish(Proposal.NONE);
+    }
 
-        // perform the GUI-invalidate on our object's thread
-        handler.post(new Runnable() {
-            public void run() {
-                invalidate();
-            }
-        });
+    /**
+     * makes a proposal the pending one, and schedules a frame callback to show it if none is
+     * scheduled
+     * @param proposal the proposal
+     */
+    private void publish(Proposal proposal) {
+        pendingProposal.set(proposal);
+        if (frameScheduled.compareAndSet(false, true)) {
+            choreographer.postFrameCallback(frameCallback);
+        }
     }
 
     /**
-     * remove any previously proposed solution
+     * shows the pending proposal, if any, unless one was shown too recently (in which case
+     * it waits for a later frame); called on the UI thread, once per frame while there is a
+     * pending proposal
+     * @param frameTimeNanos the time at which the frame began to render
      */
-    public void undisplay() {
-        // null out the proposed solution
-        proposedSolution = null;
+    private void showPendingProposal(long frameTimeNanos) {
+        // wait until the playback interval has passed since the last proposal shown
+        if (frameTimeNanos - lastShownNanos < playbackIntervalNanos) {
+            choreographer.postFrameCallback(frameCallback);
+            return;
+        }
 
-        // do the GUI-invalidate on our object's thread
-        handler.post(new Runnable() {
-            public void run() {
-                invalidate();
+        // clear the flag first, so that a proposal published from here on schedules another
+        // callback
+        frameScheduled.set(false);
+        Proposal proposal = pendingProposal.getAndSet(null);
+        if (proposal == null) return;
+
+        // show it, finding the shape's orientation once here rather than at every square
+        // drawn
+        if (proposal == Proposal.NONE) {
+            shownOverlay = null;
+        } else {
+            if (proposal.shape != overlayShape) {
+                overlayTable = new OrientationTable(proposal.shape);
+                overlayShape = proposal.shape;
             }
-        });
+            OrientationTable.Entry entry = overlayTable.getEntry(proposal.orientation);
+            shownOverlay = entry == null ? null : new Overlay(proposal, entry);
+        }
+        lastShownNanos = frameTimeNanos;
+        invalidate();
     }
 
     /**
-     * get the paint method for a given array position
-     * @param row the row position
-     * @param col the column position
-     * @return
+     * draws the proposed solution, if any, over the squares it covers; only the squares
+     * within its bounding box are visited, so the time taken does not depend on the size
+     * of the world
+     * @param c the canvas on which to draw
+     * @param pixelsPerSquare the size of a square
      */
     @Override
-    protected Paint paintForPosition(int row, int col) {
-
-        if (proposedSolution != null) {
-            // if proposed solution exists, we may need to consider it
-
-            // perform the arithmetic to "map" the square from the proposed solution
-            int len = proposedSolution.length; // proposed solution's size
-            int solutionRow = row - proposedRowSolutionOffset; // unrotated row position
-            int solutionCol = col - proposedColSolutionOffset; // unrotated columun
-            int solRow = solutionRow; // we will transform these by rotation ...
-            int solCol = solutionCol; //  ... reflection as necessary
-
-            // perform the rotation transformation, if applicable
-            switch (proposedOrientation) {
-                case ROTATE_CLOCKWISE: case ROTATE_COUNTERCLOCKWISE_REV:
-                    // transform coordinates to effect 90-degree rotation clockwise
-                    solRow = len - 1 - solutionCol;
-                    solCol = solutionRow;
-                    break;
-                case ROTATE_180: case ROTATE_180_REV:
-                    // transform coordinates to effect 180-degree rotation
-                    solRow = len - 1 - solutionRow;
-                    solCol = len - 1 - solutionCol;
-                    break;
-                case ROTATE_COUNTERCLOCKWISE: case ROTATE_CLOCKWISE_REV:
-                    // transform coordinates to effect 90-degree rotation counter-clockwise
-                    solRow = solutionCol;
-                    solCol = len - 1 - solutionRow;
-                    break;
-            }
+    protected void drawOverlay(Canvas c, float pixelsPerSquare) {
+        // read the overlay once, so that the whole frame shows the same one
+        Overlay overlay = shownOverlay;
+        if (overlay == null) return;
 
-            // if there is a reflection, transform the column
-            switch (proposedOrientation) {
-                case ROTATE_NONE_REV:
-                case ROTATE_CLOCKWISE_REV:
-                case ROTATE_180_REV:
-                case ROTATE_COUNTERCLOCKWISE_REV:
-                    solCol = len - 1 - solCol;
-                    break;
-            }
+        // the squares of the world within the overlay's bounding box
+        OrientationTable.Entry entry = overlay.entry;
+        int rowStart = Math.max(0, overlay.top);
+        int rowEnd = Math.min(boolArray.length, overlay.top + entry.getRows());
+        int colStart = Math.max(0, overlay.left);
+        int colEnd = Math.min(boolArray.length, overlay.left + entry.getCols());
 
-            // if we are in range of the proposed solution, and that position of the
-            // proposed solution is 'true', return the "overlap" version
-            if (proposedSolution != null && boolArray != null &
-                    solRow >= 0 && solCol >= 0 &&
-                    solRow < proposedSolution.length &&
-                    solCol < proposedSolution[solRow].length &&
-                    proposedSolution[solRow][solCol]) {
-                // there is a 'true' value in the corresponding solution
-                // slot
-                return boolArray[row][col] ? trueOverlapPaint : falseOverlapPaint;
+        // draw those that the shape covers in the "overlap" colors
+        for (int row = rowStart; row < rowEnd; row++) {
+            for (int col = colStart; col < colEnd; col++) {
+                if (entry.isSet(row - overlay.top, col - overlay.left)) {
+                    Paint p = boolArray[row][col] ? trueOverlapPaint : falseOverlapPaint;
+                    c.drawRect((col+1)*pixelsPerSquare, (row+1)*pixelsPerSquare,
+                            (col+2)*pixelsPerSquare, (row+2)*pixelsPerSquare, p);
+                }
             }
         }
+    }
+
+    /**
+     * A solution proposed by the solver, as passed to display. Proposals are immutable
+     * (the shape array is never changed once proposed), so they can be handed from the
+     * solver's thread to the UI thread through a single reference.
+     */
+    private static final class Proposal {
+
+        // the proposal of undisplay: no solution
+        static final Proposal NONE = new Proposal(null, 0, 0, null);
+
+        // the shape (null for none), its position in the world, and its orientation
+        final boolean[][] shape;
+        final int row;
+        final int col;
+        final Orientation orientation;
+
+        /**
+         * constructor
+         * @param shape the shape, or null for none
+         * @param row row-position in the world of the shape's top-left
+         * @param col column-position in the world of the shape's top-left
+         * @param orientation the orientation
+         */
+        Proposal(boolean[][] shape, int row, int col, Orientation orientation) {
+            this.shape = shape;
+            this.row = row;
+            this.col = col;
+            this.orientation = orientation;
+        }
+    }
 
-        // there was no overlap, so return the normal solution
-        return boolArray[row][col] ? truePaint : falsePaint;
+    /**
+     * A proposed solution, ready to draw: the shape in its orientation, cropped to its
+     * squares (as in OrientationTable), and placed in the world.
+     */
+    private static final class Overlay {
+
+        // the oriented, cropped shape
+        final OrientationTable.Entry entry;
+
+        // the position in the world of the cropped shape's top-left
+        final int top;
+        final int left;
+
+        /**
+         * constructor
+         * @param proposal the proposed solution (not NONE)
+         * @param entry the entry for the proposal's orientation, from the table of its shape
+         */
+        Overlay(Proposal proposal, OrientationTable.Entry entry) {
+            this.entry = entry;
+
+            // the proposal gives the top-left of the uncropped shape; the crop lies at the
+            // entry's offsets within it
+            top = proposal.row + entry.getRowOffset();
+            left = proposal.col + entry.getColOffset();
+        }
     }
 }
@@ -0,0 +1,148 @@
+package edu.up.cs301.shapefitter.bench;
+
+import java.util.List;
+import java.util.Random;
+
+import edu.up.cs301.shapefitter.OrientationTable;
+
+/**
+ * Generates the shapes and worlds that the benchmarks run on. Generation is seeded, so a
+ * given set of parameters always produces the same problem, from run to run and from
+ * version to version.
+ *
+ * @author Phi Nguyen
+ * @version 18 October 2026
+ */
+public final class BenchmarkProblems {
+
+    /**
+     * not instantiable
+     */
+    private BenchmarkProblems() {
+    }
+
+    /**
+     * Creates a shape that looks the same in all eight orientations: a plus sign whose
+     * arms reach the edges of the array (one cell thick for an odd size, two for an even
+     * one).
+     *
+     * @param size the number of rows and columns of the shape array
+     * @return the shape
+     */
+    public static boolean[][] symmetricShape(int size) {
+        boolean[][] shape = new boolean[size][size];
+        int lo = (size - 1) / 2;
+        int hi = size / 2;
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                shape[i][j] = (i >= lo && i <= hi) || (j >= lo && j <= hi);
+            }
+        }
+        return shape;
+    }
+
+    /**
+     * Creates a connected shape with no symmetry (eight distinct orientations), grown at
+     * random from a cell on its top row until it holds about a quarter of the array's
+     * cells, and at least four.
+     *
+     * @param size the number of rows and columns of the shape array (at least 3)
+     * @param seed the seed for the random growth
+     * @return the shape
+     */
+    public static boolean[][] asymmetricShape(int size, long seed) {
+        Random rand = new Random(seed);
+        while (true) {
+            boolean[][] shape = new boolean[size][size];
+            int target = Math.max(4, size * size / 4);
+
+            // grow from a cell on the top row, by repeatedly adding a random neighbor of
+            // a random cell already in the shape
+            int[] rows = new int[target];
+            int[] cols = new int[target];
+            rows[0] = 0;
+            cols[0] = rand.nextInt(size);
+            shape[0][cols[0]] = true;
+            int count = 1;
+            while (count < target) {
+                int k = rand.nextInt(count);
+                int r = rows[k];
+                int c = cols[k];
+                switch (rand.nextInt(4)) {
+                    case 0: r--; break;
+                    case 1: r++; break;
+                    case 2: c--; break;
+                    default: c++; break;
+                }
+                if (r >= 0 && r < size && c >= 0 && c < size && !shape[r][c]) {
+                    shape[r][c] = true;
+                    rows[count] = r;
+                    cols[count] = c;
+                    count++;
+                }
+            }
+
+            // keep it only if all eight orientations are distinct
+            if (new OrientationTable(shape).size() == 8) {
+                return shape;
+            }
+        }
+    }
+
+    /**
+     * Creates a world with the given proportion of true cells. If a fit is wanted, the
+     * shape is stamped into the world, false cells and all, in a random orientation at a
+     * random position, so that there is at least one fit, and one exact match; this is
+     * only possible if the shape's squares are not larger than the world. If no fit is wanted, every m-th row is made false, where m
+     * is the smaller side of the shape's bounding box. Since a connected shape has a true
+     * cell in every row and column of its bounding box, each placement then covers a
+     * false row, and there can be none.
+     *
+     * @param size the number of rows and columns of the world
+     * @param fillPercent the percentage of the world's cells to set (before the shape is
+     *                    stamped in or rows are cleared)
+     * @param shape the shape (connected)
+     * @param fit whether the world should have a placement of the shape
+     * @param seed the seed for the random cells, orientation and position
+     * @return the world
+     */
+    public static boolean[][] world(int size, int fillPercent, boolean[][] shape, boolean fit,
+                                    long seed) {
+        Random rand = new Random(seed);
+        boolean[][] world = new boolean[size][size];
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                world[i][j] = rand.nextInt(100) < fillPercent;
+            }
+        }
+
+        List<OrientationTable.Entry> entries = new OrientationTable(shape).getEntries();
+        if (entries.isEmpty()) {
+            return world;
+        }
+        if (fit) {
+            // stamp the shape in, if it can fit at all
+            OrientationTable.Entry entry = entries.get(rand.nextInt(entries.size()));
+            if (entry.getRows() <= size && entry.getCols() <= size) {
+                int row = rand.nextInt(size - entry.getRows() + 1);
+                int col = rand.nextInt(size - entry.getCols() + 1);
+                for (int i = 0; i < entry.getRows(); i++) {
+                    for (int j = 0; j < entry.getCols(); j++) {
+                        world[row + i][col + j] = entry.isSet(i, j);
+                    }
+                }
+            }
+        }
+        else {
+            // clear every m-th row
+            OrientationTable.Entry entry = entries.get(0);
+            int m = Math.min(entry.getRows(), entry.getCols());
+            for (int i = m - 1; i < size; i += m) {
+                for (int j = 0; j < size; j++) {
+                    world[i][j] = false;
+                }
+            }
+        }
+        return world;
+    }
+}
@@ -0,0 +1,258 @@
+package edu.up.cs301.shapefitter.bench;
+
+import java.io.BufferedReader;
+import java.io.FileOutputStream;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import edu.up.cs301.shapefitter.SolverCostModel;
+import edu.up.cs301.shapefitter.SolverFeatures;
+import edu.up.cs301.shapefitter.SolverStrategy;
+
+/**
+ * Fits the coefficients of a SolverCostModel to the results of SolverBenchmark. Run the
+ * benchmarks with CSV output, in average-time mode, then this:
+ *     ./gradlew :solver-bench:jmh -PjmhFormat=csv -PjmhArgs="-bm avgt"
+ *     ./gradlew :solver-bench:calibrate
+ * The problem of each result is regenerated (see BenchmarkProblems), its features and
+ * the model's terms computed, and the coefficients of each strategy chosen to minimize
+ * the sum of squared relative errors. A coefficient that comes out negative is dropped
+ * (set to zero) and the rest refitted, so that no term can lower an estimate.
+ *
+ * @author Phi Nguyen
+ * @version 18 October 2026
+ */
+public final class CostModelCalibration {
+
+    /**
+     * not instantiable
+     */
+    private CostModelCalibration() {
+    }
+
+    /**
+     * Fits a cost model to benchmark results, and stores it.
+     *
+     * @param args the JMH CSV results file, and the properties file to write
+     * @throws IOException if a file cannot be read or written
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("usage: CostModelCalibration results.csv cost.properties");
+            System.exit(1);
+        }
+        SolverCostModel model = fit(readResults(args[0]),
+                Runtime.getRuntime().availableProcessors());
+        OutputStream out = new FileOutputStream(args[1]);
+        try {
+            model.store(out, "fitted to " + args[0]);
+        }
+        finally {
+            out.close();
+        }
+    }
+
+    /**
+     * Reads the average-time results of SolverBenchmark.solve from a JMH CSV file.
+     *
+     * @param fileName the name of the file
+     * @return the results, as maps from column name to value
+     * @throws IOException if the file cannot be read
+     */
+    static List<Map<String, String>> readResults(String fileName) throws IOException {
+        List<Map<String, String>> results = new ArrayList<Map<String, String>>();
+        BufferedReader in = new BufferedReader(new FileReader(fileName));
+        try {
+            List<String> header = splitCsv(in.readLine());
+            String line;
+            while ((line = in.readLine()) != null) {
+                List<String> fields = splitCsv(line);
+                Map<String, String> result = new HashMap<String, String>();
+                for (int i = 0; i < header.size() && i < fields.size(); i++) {
+                    result.put(header.get(i), fields.get(i));
+                }
+                // skip other benchmarks, other modes, and secondary (profiler) results
+                if (String.valueOf(result.get("Benchmark")).endsWith(".solve") &&
+                        "avgt".equals(result.get("Mode"))) {
+                    results.add(result);
+                }
+            }
+        }
+        finally {
+            in.close();
+        }
+        return results;
+    }
+
+    /**
+     * Fits a cost model to benchmark results.
+     *
+     * @param results the results, as read by readResults
+     * @param threads the number of processors the benchmarks ran with
+     * @return the model; strategies without results keep their default coefficients
+     */
+    static SolverCostModel fit(List<Map<String, String>> results, int threads) {
+        // the terms and measured times (ns) of each strategy
+        Map<SolverStrategy, List<double[]>> terms = new HashMap<SolverStrategy, List<double[]>>();
+        Map<SolverStrategy, List<Double>> times = new HashMap<SolverStrategy, List<Double>>();
+        for (Map<String, String> result : results) {
+            SolverStrategy strategy = SolverStrategy.forSolverName(result.get("Param: solver"));
+            if (strategy == null) {
+                continue;
+            }
+            int shapeSize = Integer.parseInt(result.get("Param: shapeSize"));
+            boolean[][] shape = Boolean.parseBoolean(result.get("Param: symmetric"))
+                    ? BenchmarkProblems.symmetricShape(shapeSize)
+                    : BenchmarkProblems.asymmetricShape(shapeSize, 301L);
+            boolean[][] world = BenchmarkProblems.world(
+                    Integer.parseInt(result.get("Param: worldSize")),
+                    Integer.parseInt(result.get("Param: fillPercent")), shape,
+                    Boolean.parseBoolean(result.get("Param: fit")), 2016L);
+            SolverFeatures features = new SolverFeatures(shape, world);
+
+            if (!terms.containsKey(strategy)) {
+                terms.put(strategy, new ArrayList<double[]>());
+                times.put(strategy, new ArrayList<Double>());
+            }
+            terms.get(strategy).add(SolverCostModel.terms(strategy, features, threads));
+            times.get(strategy).add(toNanos(Double.parseDouble(result.get("Score")),
+                    result.get("Unit")));
+        }
+
+        SolverCostModel model = new SolverCostModel();
+        for (SolverStrategy strategy : terms.keySet()) {
+            model.setCoefficients(strategy, leastSquares(terms.get(strategy),
+                    times.get(strategy)));
+        }
+        return model;
+    }
+
+    /**
+     * Finds the non-negative coefficients minimizing the sum of squared relative errors.
+     *
+     * @param rows the terms of each measurement
+     * @param times the measured times
+     * @return the coefficients
+     */
+    static double[] leastSquares(List<double[]> rows, List<Double> times) {
+        int n = rows.get(0).length;
+        boolean[] dropped = new boolean[n];
+        while (true) {
+            // normal equations, with each measurement weighted by 1/time, over the
+            // coefficients not dropped
+            double[][] a = new double[n][n + 1];
+            for (int m = 0; m < rows.size(); m++) {
+                double[] t = rows.get(m);
+                double w = 1 / Math.max(1, times.get(m));
+                for (int i = 0; i < n; i++) {
+                    for (int j = 0; j < n; j++) {
+                        a[i][j] += dropped[i] || dropped[j] ? 0 : t[i] * w * t[j] * w;
+                    }
+                    a[i][n] += dropped[i] ? 0 : t[i] * w;
+                }
+            }
+            for (int i = 0; i < n; i++) {
+                if (dropped[i] || a[i][i] == 0) {
+                    // pin the coefficient at zero
+                    dropped[i] = true;
+                    a[i][i] = 1;
+                    a[i][n] = 0;
+                }
+            }
+            double[] coeffs = solve(a);
+
+            // drop the most negative coefficient, if any, and fit again
+            int worst = -1;
+            for (int i = 0; i < n; i++) {
+                if (coeffs[i] < 0 && (worst < 0 || coeffs[i] < coeffs[worst])) {
+                    worst = i;
+                }
+            }
+            if (worst < 0) {
+                return coeffs;
+            }
+            dropped[worst] = true;
+        }
+    }
+
+    /**
+     * Solves a system of linear equations by Gaussian elimination with partial pivoting.
+     *
+     * @param a the augmented matrix (n rows, n + 1 columns); it is overwritten
+     * @return the solution
+     */
+    private static double[] solve(double[][] a) {
+        int n = a.length;
+        for (int col = 0; col < n; col++) {
+            int pivot = col;
+            for (int r = col + 1; r < n; r++) {
+                if (Math.abs(a[r][col]) > Math.abs(a[pivot][col])) pivot = r;
+            }
+            double[] tmp = a[col];
+            a[col] = a[pivot];
+            a[pivot] = tmp;
+            for (int r = col + 1; r < n; r++) {
+                double f = a[col][col] == 0 ? 0 : a[r][col] / a[col][col];
+                for (int c = col; c <= n; c++) {
+                    a[r][c] -= f * a[col][c];
+                }
+            }
+        }
+        double[] x = new double[n];
+        for (int r = n - 1; r >= 0; r--) {
+            double sum = a[r][n];
+            for (int c = r + 1; c < n; c++) {
+                sum -= a[r][c] * x[c];
+            }
+            x[r] = a[r][r] == 0 ? 0 : sum / a[r][r];
+        }
+        return x;
+    }
+
+    /**
+     * @param score a JMH score
+     * @param unit its unit, such as "ms/op"
+     * @return the score in nanoseconds
+     */
+    private static double toNanos(double score, String unit) {
+        if (unit.startsWith("ns")) return score;
+        if (unit.startsWith("us")) return score * 1e3;
+        if (unit.startsWith("ms")) return score * 1e6;
+        return score * 1e9;
+    }
+
+    /**
+     * Splits a line of CSV, as written by JMH, into its fields.
+     *
+     * @param line the line
+     * @return the fields, without quotes
+     */
+    private static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<String>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char ch = line.charAt(i);
+            if (ch == '"') {
+                if (quoted && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = !quoted;
+                }
+            } else if (ch == ',' && !quoted) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(ch);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
@@ -0,0 +1,166 @@
+package edu.up.cs301.shapefitter.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.up.cs301.shapefitter.AnchorShapeSolver;
+import edu.up.cs301.shapefitter.BakerBirdShapeSolver;
+import edu.up.cs301.shapefitter.BitboardShapeSolver;
+import edu.up.cs301.shapefitter.FftShapeSolver;
+import edu.up.cs301.shapefitter.IntegralImageShapeSolver;
+import edu.up.cs301.shapefitter.MyShapeSolver;
+import edu.up.cs301.shapefitter.Orientation;
+import edu.up.cs301.shapefitter.ParallelShapeSolver;
+import edu.up.cs301.shapefitter.PlacementKernels;
+import edu.up.cs301.shapefitter.Placements;
+import edu.up.cs301.shapefitter.RollingHashShapeSolver;
+import edu.up.cs301.shapefitter.ShapeSolutionAcceptor;
+import edu.up.cs301.shapefitter.ShapeSolver;
+import edu.up.cs301.shapefitter.VectorShapeSolver;
+
+/**
+ * Times a complete solve (construction included) by each solver, over a grid of world
+ * sizes, fill percentages, shape sizes and kinds of shape, with and without a fit. See
+ * BenchmarkProblems for how the problems are generated.
+ *
+ * BakerBirdShapeSolver and RollingHashShapeSolver match exactly rather than fitting. The
+ * shape is stamped into the world exactly, so they find it where there is a fit; where
+ * there is none, they search every position, as the others do.
+ * VectorShapeSolver is run twice: with the fastest kernel available (SIMD, when the
+ * solver-jvm module is present and the vector API enabled) and with the scalar kernel.
+ *
+ * @author Phi Nguyen
+ * @version 18 October 2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SolverBenchmark {
+
+    // the solver
+    @Param({"MyShapeSolver", "BitboardShapeSolver", "IntegralImageShapeSolver",
+            "FftShapeSolver", "ParallelShapeSolver", "AnchorShapeSolver",
+            "RollingHashShapeSolver", "BakerBirdShapeSolver", "VectorShapeSolver",
+            "VectorShapeSolver-scalar"})
+    public String solver;
+
+    // the number of rows and columns of the world
+    @Param({"4", "16", "64", "256", "512"})
+    public int worldSize;
+
+    // the percentage of world cells that are true
+    @Param({"5", "50", "95"})
+    public int fillPercent;
+
+    // the number of rows and columns of the shape array
+    @Param({"4", "12", "50"})
+    public int shapeSize;
+
+    // whether the shape is symmetric (one distinct orientation) or not (eight)
+    @Param({"true", "false"})
+    public boolean symmetric;
+
+    // whether the world has a placement of the shape
+    @Param({"true", "false"})
+    public boolean fit;
+
+    // the problem
+    private boolean[][] shape;
+    private boolean[][] world;
+
+    // receives the solvers' results
+    private final ResultHolder result = new ResultHolder();
+
+    /**
+     * Generates the problem for the current parameters.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        shape = symmetric ? BenchmarkProblems.symmetricShape(shapeSize)
+                : BenchmarkProblems.asymmetricShape(shapeSize, 301L);
+        world = BenchmarkProblems.world(worldSize, fillPercent, shape, fit, 2016L);
+    }
+
+    /**
+     * Solves the problem.
+     *
+     * @return the placement found, or Placements.NONE
+     */
+    @Benchmark
+    public long solve() {
+        newSolver(solver, shape, world, result).solve();
+        return result.placement;
+    }
+
+    /**
+     * Creates a solver by its class's simple name (with "-scalar" appended for a
+     * VectorShapeSolver using the scalar kernel).
+     *
+     * @param name the name of the solver's class
+     * @param shape the shape
+     * @param world the world
+     * @param acc the acceptor for the solver's result
+     * @return the solver
+     */
+    static ShapeSolver newSolver(String name, boolean[][] shape, boolean[][] world,
+                                 ShapeSolutionAcceptor acc) {
+        switch (name) {
+            case "MyShapeSolver":
+                return new MyShapeSolver(shape, world, acc);
+            case "BitboardShapeSolver":
+                return new BitboardShapeSolver(shape, world, acc);
+            case "IntegralImageShapeSolver":
+                return new IntegralImageShapeSolver(shape, world, acc);
+            case "FftShapeSolver":
+                return new FftShapeSolver(shape, world, acc);
+            case "ParallelShapeSolver":
+                return new ParallelShapeSolver(shape, world, acc);
+            case "AnchorShapeSolver":
+                return new AnchorShapeSolver(shape, world, acc);
+            case "RollingHashShapeSolver":
+                return new RollingHashShapeSolver(shape, world, acc);
+            case "BakerBirdShapeSolver":
+                return new BakerBirdShapeSolver(shape, world, acc);
+            case "VectorShapeSolver":
+                return new VectorShapeSolver(shape, world, acc);
+            case "VectorShapeSolver-scalar":
+                return new VectorShapeSolver(shape, world, acc, PlacementKernels.scalar());
+            default:
+                throw new IllegalArgumentException("unknown solver: " + name);
+        }
+    }
+
+    /**
+     * Acceptor that keeps the last result reported to it.
+     */
+    private static final class ResultHolder implements ShapeSolutionAcceptor {
+
+        // the last placement reported
+        long placement = Placements.NONE;
+
+        @Override
+        public void display(int row, int col, Orientation or) {
+            placement = Placements.pack(row, col, or);
+        }
+
+        @Override
+        public void undisplay() {
+            placement = Placements.NONE;
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package edu.up.cs301.shapefitter;
+
+/**
+ * The order in which a solver tests the parts ("probes")--cells or rows--of an oriented
+ * shape when checking a placement, arranged so that the probes most likely to fail are
+ * tested first; a rejected placement then costs few tests.
+ *
+ * The initial order comes from the density of the world: a shape cell can only land in a
+ * certain rectangle of the world, and the cells whose rectangle holds the fewest true
+ * cells are the most likely to land on a false one. During the solve, the solver records
+ * which probe caused each rejection; every so often, the probes are re-ranked by these
+ * counts (which are then halved, so that the order follows changes across the world).
+ *
+ * @author Phi Nguyen
+ * @version 18 October 2026
+ */
+public class AdaptiveCellOrder {
+
+    // the number of rejections between re-rankings
+    private static final int RERANK_INTERVAL = 256;
+
+    // the probes, in the order to test them
+    private final int[] order;
+
+    // for each probe, the (decayed) number of rejections it has caused
+    private final int[] failures;
+
+    // rejections since the last re-ranking
+    private int rejections;
+
+    /**
+     * constructor
+     *
+     * @param initialOrder the probes (non-negative numbers), most likely to fail first
+     */
+    public AdaptiveCellOrder(int[] initialOrder) {
+        order = initialOrder.clone();
+        int max = -1;
+        for (int p : order) {
+            max = Math.max(max, p);
+        }
+        failures = new int[max + 1];
+    }
+
+    /**
+     * creates the order for the true cells of an oriented shape, with cell (i, j)
+     * numbered i*cols+j. Cells whose landing area in the world holds fewer true cells come
+     * first.
+     *
+     * @param entry the oriented shape
+     * @param sums the world's summed-area table
+     * @return the order
+     */
+    public static AdaptiveCellOrder forCells(OrientationTable.Entry entry, IntegralImage sums) {
+        int rows = Math.max(0, sums.getRows() - entry.getRows() + 1);
+        int cols = Math.max(0, sums.getCols() - entry.getCols() + 1);
+        int[] probes = new int[entry.getCellCount()];
+        int[] scores = new int[entry.getCellCount()];
+        int n = 0;
+        for (int i = 0; i < entry.getRows(); i++) {
+            for (int j = 0; j < entry.getCols(); j++) {
+                if (entry.isSet(i, j)) {
+                    probes[n] = i * entry.getCols() + j;
+                    scores[n++] = rows == 0 || cols == 0 ? 0 : sums.count(i, j, rows, cols);
+                }
+            }
+        }
+        sortByScore(probes, scores);
+        return new AdaptiveCellOrder(probes);
+    }
+
+    /**
+     * creates the order for the rows of an oriented shape. A row whose landing area holds
+     * fewer true cells, relative to the shape cells in the row, comes first.
+     *
+     * @param entry the oriented shape
+     * @param sums the world's summed-area table
+     * @return the order
+     */
+    public static AdaptiveCellOrder forRows(OrientationTable.Entry entry, IntegralImage sums) {
+        int rows = Math.max(0, sums.getRows() - entry.getRows() + 1);
+        int[] probes = new int[entry.getRows()];
+        int[] scores = new int[entry.getRows()];
+        for (int i = 0; i < probes.length; i++) {
+            probes[i] = i;
+            // empty rows of true cells (if any) can never fail, so they go last
+            int area = rows == 0 ? 0 : sums.count(i, 0, rows, sums.getCols());
+            scores[i] = entry.getRowCount(i) == 0 ? Integer.MAX_VALUE :
+                    area / entry.getRowCount(i);
+        }
+        sortByScore(probes, scores);
+        return new AdaptiveCellOrder(probes);
+    }
+
+    /**
+     * sorts probes into increasing order of score (insertion sort; stable)
+     *
+     * @param probes the probes
+     * @param scores their scores, sorted along with them
+     */
+    private static void sortByScore(int[] probes, int[] scores) {
+        for (int i = 1; i < probes.length; i++) {
+            int p = probes[i];
+            int s = scores[i];
+            int j = i - 1;
+            for (; j >= 0 && scores[j] > s; j--) {
+                probes[j + 1] = probes[j];
+                scores[j + 1] = scores[j];
+            }
+            probes[j + 1] = p;
+            scores[j + 1] = s;
+        }
+    }
+
+    /**
+     * @return the number of probes
+     */
+    public int size() {
+        return order.length;
+    }
+
+    /**
+     * @param k a position in the order
+     * @return the probe to test at that position
+     */
+    public int get(int k) {
+        return order[k];
+    }
+
+    /**
+     * records that a probe caused a placement to be rejected, re-ranking the probes if it
+     * is time to
+     *
+     * @param probe the probe
+     */
+    public void recordFailure(int probe) {
+        failures[probe]++;
+        if (++rejections == RERANK_INTERVAL) {
+            rerank();
+        }
+    }
+
+    /**
+     * re-ranks the probes by the rejections they have caused (most first), then halves
+     * the counts
+     */
+    private void rerank() {
+        // insertion sort: the order rarely changes much, so this is nearly linear
+        for (int i = 1; i < order.length; i++) {
+            int p = order[i];
+            int j = i - 1;
+            for (; j >= 0 && failures[order[j]] < failures[p]; j--) {
+                order[j + 1] = order[j];
+            }
+            order[j + 1] = p;
+        }
+        for (int i = 0; i < failures.length; i++) {
+            failures[i] >>= 1;
+        }
+        rejections = 0;
+    }
+}
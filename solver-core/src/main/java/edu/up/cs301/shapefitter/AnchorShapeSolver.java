@@ -0,0 +1,202 @@
+package edu.up.cs301.shapefitter;
+
+/**
+ * Solver that generates candidate positions from the world's true cells instead of
+ * sliding the shape over every position. In a fit, every true cell of the shape lands on
+ * a true cell of the world; so for any chosen "anchor" cell of the shape, the only
+ * positions worth checking are those that put the anchor on a true world cell.
+ *
+ * For each orientation, the anchor is the shape cell whose possible landing area in the
+ * world (found in constant time from a summed-area table) holds the fewest true cells.
+ * Candidates are then taken from an index of the world's true cells, and checked with the
+ * bit-packed test from BitboardShapeSolver. In a sparse world, the work is proportional
+ * to the number of true cells rather than to the number of positions.
+ *
+ * Orientations and positions are searched in the same order as BitboardShapeSolver.
+ *
+ * @author Phi Nguyen
+ * @version 18 October 2026
+ */
+public class AnchorShapeSolver extends ShapeSolver {
+
+    /**
+     * Creates a solver for a particular problem.
+     *
+     * @param parmShape the shape to fit
+     * @param parmWorld the world to fit it into
+     * @param acc       to send notification messages to
+     */
+    public AnchorShapeSolver(boolean[][] parmShape, boolean[][] parmWorld,
+                             ShapeSolutionAcceptor acc) {
+        // invoke superclass constructor
+        super(parmShape, parmWorld, acc);
+    }
+
+    /**
+     * Solves the problem by finding a fit, if possible. The last call to display tells where
+     * the fit is. If there is no fit, undisplay is called.
+     */
+    public void solve() {
+        // build the world-side tables once
+        beginPreprocessing();
+        SolveMetrics metrics = getSearchMetrics();
+        PreparedWorld prepared = new PreparedWorld(world);
+        OrientationTable table = new OrientationTable(shape);
+
+        // if the world has too few true cells overall, nothing can fit
+        if (prepared.getSums().total() < table.getCellCount()) {
+            if (metrics != null) {
+                long positions = table.getPositionCount(prepared.getRows(),
+                        prepared.getCols());
+                metrics.addCandidates(positions);
+                metrics.addPruned(SolveMetrics.Filter.TOTAL_COUNT, positions);
+            }
+            undisplay();
+            return;
+        }
+
+        // search each orientation
+        for (int e = 0; e < table.size(); e++) {
+            OrientationTable.Entry entry = table.getEntries().get(e);
+            beginSearch(entry.getOrientation());
+            long fit = search(entry, prepared, getToken(), e, table.size(), metrics,
+                    getProbeAcceptor());
+            if (isStopped()) {
+                // cancelled or timed out: report nothing
+                return;
+            }
+            if (fit != Placements.NONE) {
+                report(fit);
+                return;
+            }
+        }
+
+        // no fit found
+        undisplay();
+    }
+
+    /**
+     * finds the first fit of one orientation, in row-then-column order
+     *
+     * @param entry the oriented shape
+     * @param world the prepared world
+     * @return the fit as a packed placement, or Placements.NONE
+     */
+    public static long firstFit(OrientationTable.Entry entry, PreparedWorld world) {
+        return search(entry, world, null, 0, 1, null, null);
+    }
+
+    /**
+     * finds the first fit of one orientation of a table, in row-then-column order,
+     * stopping early if a token says to
+     *
+     * @param table the orientations
+     * @param e the index of the orientation to search
+     * @param world the prepared world
+     * @param token the token through which the search may be stopped, or null
+     * @param metrics the metrics to count the search in, or null
+     * @return the fit as a packed placement, or Placements.NONE (also if stopped by the
+     * token)
+     */
+    public static long firstFit(OrientationTable table, int e, PreparedWorld world,
+                                SolveToken token, SolveMetrics metrics) {
+        return search(table.getEntries().get(e), world, token, e, table.size(), metrics,
+                null);
+    }
+
+    /**
+     * finds the first fit of one orientation, in row-then-column order
+     *
+     * @param entry the oriented shape
+     * @param world the prepared world
+     * @param token the token through which the search may be stopped, or null
+     * @param e the index of the orientation, for the token's checkpoints
+     * @param entries the number of orientations, for the token's checkpoints
+     * @param metrics the metrics to count the search in, or null
+     * @param probes the acceptor to tell of probes at the checkpoints, or null
+     * @return the fit as a packed placement, or Placements.NONE
+     */
+    private static long search(OrientationTable.Entry entry, PreparedWorld world,
+                               SolveToken token, int e, int entries, SolveMetrics metrics,
+                               ShapeProbeAcceptor probes) {
+        IntegralImage sums = world.getSums();
+        BitGrid worldBits = world.getBits();
+        TrueCellIndex index = world.getIndex();
+
+        // the range of positions for the shape's top-left
+        int rows = sums.getRows() - entry.getRows() + 1;
+        int cols = sums.getCols() - entry.getCols() + 1;
+        if (rows <= 0 || cols <= 0) return Placements.NONE;
+
+        // choose the anchor with the fewest places to land
+        int anchorRow = -1;
+        int anchorCol = -1;
+        int fewest = Integer.MAX_VALUE;
+        for (int i = 0; i < entry.getRows(); i++) {
+            for (int j = 0; j < entry.getCols(); j++) {
+                if (entry.isSet(i, j)) {
+                    int candidates = sums.count(i, j, rows, cols);
+                    if (candidates < fewest) {
+                        fewest = candidates;
+                        anchorRow = i;
+                        anchorCol = j;
+                    }
+                }
+            }
+        }
+
+        // visit the true world cells where the anchor can land; going through the world's
+        // rows in order, and each row's columns in order, visits the positions in order
+        long anchored = 0;
+        for (int wR = 0; wR < rows; wR++) {
+            if (token != null && token.checkpoint(e, entries, wR, rows)) {
+                count(metrics, (long) wR * cols, anchored, false);
+                return Placements.NONE;
+            }
+            ShapeSolver.probe(probes, entry, wR, 0);
+            int[] trueCols = index.columns(wR + anchorRow);
+            int first = index.firstAtOrAfter(wR + anchorRow, anchorCol);
+            for (int k = first; k < trueCols.length; k++) {
+                int wC = trueCols[k] - anchorCol;
+                if (wC >= cols) break;
+                anchored++;
+                if (metrics == null ? BitboardShapeSolver.fits(worldBits, entry.getBits(), wR, wC)
+                        : BitboardShapeSolver.countingFits(worldBits, entry.getBits(), wR, wC,
+                        metrics)) {
+                    count(metrics, (long) wR * cols + wC + 1, anchored, true);
+
+                    // report the top-left of the uncropped shape
+                    return Placements.pack(wR - entry.getRowOffset(), wC - entry.getColOffset(),
+                            entry.getOrientation());
+                }
+            }
+        }
+        count(metrics, (long) rows * cols, anchored, false);
+        return Placements.NONE;
+    }
+
+    /**
+     * counts the positions passed over in a search
+     *
+     * @param metrics the metrics to count them in, or null
+     * @param positions the number of positions passed over
+     * @param anchored the number of those on which the anchor landed on a true cell
+     * @param found whether the last of those was a fit
+     */
+    private static void count(SolveMetrics metrics, long positions, long anchored,
+                              boolean found) {
+        if (metrics == null) return;
+        metrics.addCandidates(positions);
+        metrics.addPruned(SolveMetrics.Filter.ANCHOR, positions - anchored);
+        metrics.addPruned(SolveMetrics.Filter.CELLS, found ? anchored - 1 : anchored);
+    }
+
+    /**
+     * Checks if the shape is well-formed: has at least one square, and has all squares connected.
+     *
+     * @return whether the shape is well-formed
+     */
+    public boolean check() {
+        return ShapeChecker.isWellFormed(shape);
+    }
+}
@@ -0,0 +1,281 @@
+package edu.up.cs301.shapefitter;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.util.zip.CRC32;
+
+/**
+ * A library of 2D boolean arrays (saved shapes or worlds), read from a file in the indexed
+ * format written by ArrayLibraryWriter, so that any one array can be read without reading
+ * the others. The file is normally memory-mapped (see open); an array's rows can then be
+ * used where they lie, with no copying (see getWords).
+ *
+ * The format (version 1) is little-endian throughout:
+ * - header (8 bytes): the magic number "SFAL" (in ASCII), and an int version number
+ * - records, one per array, each starting at a multiple of 8 bytes:
+ *   - ints: the number of rows, the number of columns, the number of words per row, and
+ *     the CRC-32 of the record (its first 12 bytes, then its words)
+ *   - the rows, packed into 64-bit words as in BitGrid: bit j of word k of a row holds
+ *     the element in column 64*k+j, and bits beyond the last column are zero
+ * - index: a long for each record, giving its offset in the file
+ * - trailer (16 bytes): a long giving the offset of the index, an int giving the number of
+ *   records, and the int CRC-32 of the index
+ * Since records are 8-byte aligned, the rows of a mapped record can be read as longs
+ * directly. Files in the older, unindexed format (see SavedArrayReader) can be told apart
+ * by their first four bytes (see isLibrary), and converted with ArrayLibraryWriter.
+ *
+ * @author Phi Nguyen
+ * @version 18 October 2026
+ */
+public final class ArrayLibrary {
+
+    // the first four bytes of a library, "SFAL", read as a little-endian int
+    static final int MAGIC = 0x4C414653;
+
+    // the version of the format written
+    static final int VERSION = 1;
+
+    // sizes, in bytes, of the header, of the start of each record, and of the trailer
+    static final int HEADER_BYTES = 8;
+    static final int RECORD_HEADER_BYTES = 16;
+    static final int TRAILER_BYTES = 16;
+
+    // the whole file
+    private final ByteBuffer buffer;
+
+    // the offset of each record
+    private final int[] offsets;
+
+    /**
+     * Reads a library from a buffer holding the whole of its file. The header, index and
+     * trailer are checked here; each record's checksum is checked as it is read.
+     *
+     * @param buffer the buffer (its position and byte order are not used or changed)
+     * @throws IOException if the buffer does not hold a library of a known version, or
+     *                     its index is damaged
+     */
+    public ArrayLibrary(ByteBuffer buffer) throws IOException {
+        this.buffer = buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        int limit = this.buffer.limit();
+
+        // check the header
+        if (limit < HEADER_BYTES + TRAILER_BYTES || this.buffer.getInt(0) != MAGIC) {
+            throw new IOException("not an array library");
+        }
+        int version = this.buffer.getInt(4);
+        if (version != VERSION) {
+            throw new IOException("unsupported array library version " + version);
+        }
+
+        // find the index from the trailer, and check it
+        long indexOffset = this.buffer.getLong(limit - TRAILER_BYTES);
+        int count = this.buffer.getInt(limit - TRAILER_BYTES + 8);
+        int indexCrc = this.buffer.getInt(limit - TRAILER_BYTES + 12);
+        if (count < 0 || indexOffset < HEADER_BYTES ||
+                indexOffset + 8L * count != limit - TRAILER_BYTES) {
+            throw new IOException("damaged array library index");
+        }
+        if (crc(this.buffer, (int) indexOffset, 8 * count) != indexCrc) {
+            throw new IOException("array library index fails its checksum");
+        }
+
+        // read the index, checking that each record lies before it, and is aligned
+        offsets = new int[count];
+        for (int i = 0; i < count; i++) {
+            long offset = this.buffer.getLong((int) indexOffset + 8 * i);
+            if (offset < HEADER_BYTES || offset + RECORD_HEADER_BYTES > indexOffset ||
+                    (offset & 7) != 0) {
+                throw new IOException("damaged array library index");
+            }
+            offsets[i] = (int) offset;
+        }
+    }
+
+    /**
+     * Opens a library file, mapping it into memory.
+     *
+     * @param file the file
+     * @return the library
+     * @throws IOException if the file cannot be read, or does not hold a library
+     */
+    public static ArrayLibrary open(File file) throws IOException {
+        FileInputStream in = new FileInputStream(file);
+        try {
+            // the mapping stays valid after the channel is closed
+            FileChannel channel = in.getChannel();
+            return new ArrayLibrary(channel.map(FileChannel.MapMode.READ_ONLY, 0,
+                    channel.size()));
+        }
+        finally {
+            in.close();
+        }
+    }
+
+    /**
+     * Tells whether a file holds a library, rather than arrays in the older format of
+     * SavedArrayReader (whose first four bytes give the size of the first array).
+     *
+     * @param file the file
+     * @return whether the file starts as a library does
+     * @throws IOException if the file cannot be read
+     */
+    public static boolean isLibrary(File file) throws IOException {
+        FileInputStream in = new FileInputStream(file);
+        try {
+            ByteBuffer start = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN);
+            FileChannel channel = in.getChannel();
+            while (start.hasRemaining() && channel.read(start) >= 0) {
+                // keep reading until we have four bytes, or the file ends
+            }
+            return !start.hasRemaining() && start.getInt(0) == MAGIC;
+        }
+        finally {
+            in.close();
+        }
+    }
+
+    /**
+     * @return the number of arrays in the library
+     */
+    public int size() {
+        return offsets.length;
+    }
+
+    /**
+     * @param index the index of an array
+     * @return the number of rows of the array
+     */
+    public int getRows(int index) {
+        return buffer.getInt(offsets[index]);
+    }
+
+    /**
+     * @param index the index of an array
+     * @return the number of columns of the array
+     */
+    public int getCols(int index) {
+        return buffer.getInt(offsets[index] + 4);
+    }
+
+    /**
+     * Gets the packed rows of an array where they lie in the file, without copying or
+     * checking them (see verify).
+     *
+     * @param index the index of the array
+     * @return a read-only view of the rows, laid out as in BitGrid
+     * @throws IOException if the record does not fit in the file
+     */
+    public LongBuffer getWords(int index) throws IOException {
+        int start = offsets[index] + RECORD_HEADER_BYTES;
+        ByteBuffer record = buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        record.position(start);
+        record.limit(start + wordBytes(index));
+        return record.slice().order(ByteOrder.LITTLE_ENDIAN).asLongBuffer().asReadOnlyBuffer();
+    }
+
+    /**
+     * Checks an array's record against its checksum.
+     *
+     * @param index the index of the array
+     * @throws IOException if the record is damaged
+     */
+    public void verify(int index) throws IOException {
+        int offset = offsets[index];
+        int expected = buffer.getInt(offset + 12);
+        CRC32 crc = new CRC32();
+        update(crc, buffer, offset, 12);
+        update(crc, buffer, offset + RECORD_HEADER_BYTES, wordBytes(index));
+        if ((int) crc.getValue() != expected) {
+            throw new IOException("array " + index + " fails its checksum");
+        }
+    }
+
+    /**
+     * Reads an array as a BitGrid, checking it against its checksum.
+     *
+     * @param index the index of the array
+     * @return the array
+     * @throws IOException if the record is damaged
+     */
+    public BitGrid getGrid(int index) throws IOException {
+        verify(index);
+        return BitGrid.fromWords(getRows(index), getCols(index), getWords(index));
+    }
+
+    /**
+     * Reads an array, checking it against its checksum.
+     *
+     * @param index the index of the array
+     * @return the array
+     * @throws IOException if the record is damaged
+     */
+    public boolean[][] get(int index) throws IOException {
+        return getGrid(index).toArray();
+    }
+
+    /**
+     * Finds the size of an array's packed rows, checking that they fit before the index.
+     *
+     * @param index the index of the array
+     * @return the size, in bytes
+     * @throws IOException if the record's dimensions are inconsistent, or it does not fit
+     */
+    private int wordBytes(int index) throws IOException {
+        int offset = offsets[index];
+        int rows = buffer.getInt(offset);
+        int cols = buffer.getInt(offset + 4);
+        int wordsPerRow = buffer.getInt(offset + 8);
+        long size = 8L * rows * wordsPerRow;
+        long indexOffset = buffer.getLong(buffer.limit() - TRAILER_BYTES);
+        if (rows < 0 || cols < 0 || wordsPerRow != (cols + 63) >>> 6 ||
+                offset + RECORD_HEADER_BYTES + size > indexOffset) {
+            throw new IOException("array " + index + " is damaged");
+        }
+        return (int) size;
+    }
+
+    /**
+     * computes the CRC-32 of part of a buffer
+     *
+     * @param buffer the buffer
+     * @param offset the offset of the part
+     * @param length the length of the part
+     * @return the CRC-32, as an int
+     */
+    static int crc(ByteBuffer buffer, int offset, int length) {
+        CRC32 crc = new CRC32();
+        update(crc, buffer, offset, length);
+        return (int) crc.getValue();
+    }
+
+    /**
+     * adds part of a buffer to a CRC-32; the buffer's position is not changed
+     *
+     * @param crc the CRC-32
+     * @param buffer the buffer
+     * @param offset the offset of the part
+     * @param length the length of the part
+     */
+    static void update(CRC32 crc, ByteBuffer buffer, int offset, int length) {
+        if (buffer.hasArray()) {
+            crc.update(buffer.array(), buffer.arrayOffset() + offset, length);
+            return;
+        }
+
+        // a direct (or mapped) buffer: copy it out a piece at a time
+        ByteBuffer src = buffer.duplicate();
+        src.position(offset);
+        byte[] piece = new byte[Math.min(length, 8192)];
+        for (int done = 0; done < length; ) {
+            int n = Math.min(piece.length, length - done);
+            src.get(piece, 0, n);
+            crc.update(piece, 0, n);
+            done += n;
+        }
+    }
+}
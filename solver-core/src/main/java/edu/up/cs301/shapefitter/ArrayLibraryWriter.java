@@ -0,0 +1,148 @@
+package edu.up.cs301.shapefitter;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.zip.CRC32;
+
+/**
+ * Writes 2D boolean arrays, one at a time, to a stream in the indexed format described in
+ * ArrayLibrary. The index is written when the writer is closed, so a library is only
+ * complete once close has been called.
+ *
+ * @author Phi Nguyen
+ * @version 18 October 2026
+ */
+public class ArrayLibraryWriter implements Closeable {
+
+    // the stream to which we write
+    private final OutputStream out;
+
+    // the number of bytes written so far
+    private long position;
+
+    // the offset of each record written, and the number written
+    private long[] offsets = new long[16];
+    private int count;
+
+    /**
+     * constructor; writes the library's header
+     *
+     * @param out the stream to write to
+     * @throws IOException if the stream cannot be written
+     */
+    public ArrayLibraryWriter(OutputStream out) throws IOException {
+        this.out = new BufferedOutputStream(out);
+        ByteBuffer header = ByteBuffer.allocate(ArrayLibrary.HEADER_BYTES)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(ArrayLibrary.MAGIC);
+        header.putInt(ArrayLibrary.VERSION);
+        write(header);
+    }
+
+    /**
+     * writes an array
+     *
+     * @param arr the (rectangular) array
+     * @throws IOException if the stream cannot be written
+     */
+    public void write(boolean[][] arr) throws IOException {
+        write(BitGrid.fromArray(arr));
+    }
+
+    /**
+     * writes an array, already packed
+     *
+     * @param grid the array
+     * @throws IOException if the stream cannot be written
+     */
+    public void write(BitGrid grid) throws IOException {
+        // build the record: its dimensions, a place for its checksum, then its words
+        int rows = grid.getRows();
+        int wordsPerRow = grid.getWordsPerRow();
+        ByteBuffer record = ByteBuffer.allocate(
+                ArrayLibrary.RECORD_HEADER_BYTES + 8 * rows * wordsPerRow)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        record.putInt(rows);
+        record.putInt(grid.getCols());
+        record.putInt(wordsPerRow);
+        record.putInt(0);
+        for (int r = 0; r < rows; r++) {
+            for (int k = 0; k < wordsPerRow; k++) {
+                record.putLong(grid.word(r, k));
+            }
+        }
+
+        // fill in the checksum, over all but itself
+        CRC32 crc = new CRC32();
+        crc.update(record.array(), 0, 12);
+        crc.update(record.array(), ArrayLibrary.RECORD_HEADER_BYTES,
+                record.capacity() - ArrayLibrary.RECORD_HEADER_BYTES);
+        record.putInt(12, (int) crc.getValue());
+
+        // note where it goes, and write it; records are a multiple of 8 bytes long, so
+        // each starts 8-byte aligned
+        if (count == offsets.length) {
+            long[] bigger = new long[2 * count];
+            System.arraycopy(offsets, 0, bigger, 0, count);
+            offsets = bigger;
+        }
+        offsets[count++] = position;
+        write(record);
+    }
+
+    /**
+     * writes every array from a stream in the older format of SavedArrayReader, converting
+     * it to a library
+     *
+     * @param legacy the reader for the older format
+     * @return the number of arrays written
+     * @throws IOException if the arrays cannot be read or written
+     */
+    public int writeAll(SavedArrayReader legacy) throws IOException {
+        int n = 0;
+        for (boolean[][] arr = legacy.read(); arr != null; arr = legacy.read()) {
+            write(arr);
+            n++;
+        }
+        return n;
+    }
+
+    /**
+     * writes the index and trailer, then flushes and closes the underlying stream
+     *
+     * @throws IOException if the stream cannot be written or closed
+     */
+    public void close() throws IOException {
+        // the index
+        ByteBuffer index = ByteBuffer.allocate(8 * count).order(ByteOrder.LITTLE_ENDIAN);
+        for (int i = 0; i < count; i++) {
+            index.putLong(offsets[i]);
+        }
+        long indexOffset = position;
+        write(index);
+
+        // the trailer, which tells where the index is
+        ByteBuffer trailer = ByteBuffer.allocate(ArrayLibrary.TRAILER_BYTES)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        trailer.putLong(indexOffset);
+        trailer.putInt(count);
+        trailer.putInt(ArrayLibrary.crc(index, 0, index.capacity()));
+        write(trailer);
+        out.close();
+    }
+
+    /**
+     * writes the whole of a (heap) buffer
+     *
+     * @param buf the buffer
+     * @throws IOException if the stream cannot be written
+     */
+    private void write(ByteBuffer buf) throws IOException {
+        out.write(buf.array(), 0, buf.capacity());
+        position += buf.capacity();
+    }
+}
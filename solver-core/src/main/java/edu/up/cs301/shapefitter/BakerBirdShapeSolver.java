@@ -0,0 +1,365 @@
+package edu.up.cs301.shapefitter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Solver for exact matching: a placement fits only if the world matches the shape cell
+ * for cell--true and false alike--within the bounding box of the shape's true cells.
+ * It uses the Baker-Bird algorithm, which finds every occurrence of every orientation
+ * in time linear in the size of the world, whatever the size of the shape:
+ * - the distinct rows of all of the orientations are put into an Aho-Corasick automaton,
+ *   which is run along each world row to label each world position with the shape row (if
+ *   any) that starts there;
+ * - each orientation then becomes a 1D pattern of row labels, which is found by running
+ *   the Knuth-Morris-Pratt algorithm down each column of labels.
+ *
+ * Orientations and positions are reported in the same order as BitboardShapeSolver.
+ *
+ * @author Phi Nguyen
+ * @version 18 October 2026
+ */
+public class BakerBirdShapeSolver extends ShapeSolver {
+
+    /**
+     * Creates a solver for a particular problem.
+     *
+     * @param parmShape the shape to fit
+     * @param parmWorld the world to fit it into
+     * @param acc       to send notification messages to
+     */
+    public BakerBirdShapeSolver(boolean[][] parmShape, boolean[][] parmWorld,
+                                ShapeSolutionAcceptor acc) {
+        // invoke superclass constructor
+        super(parmShape, parmWorld, acc);
+    }
+
+    /**
+     * Solves the problem by finding an exact match, if possible. The last call to display
+     * tells where the match is. If there is no match, undisplay is called.
+     */
+    public void solve() {
+        long[] matches = findMatches(true);
+        if (isStopped()) {
+            // cancelled or timed out: report nothing
+            return;
+        }
+        report(matches.length == 0 ? Placements.NONE : matches[0]);
+    }
+
+    /**
+     * finds every exact match of every distinct orientation
+     *
+     * @return the matches, as packed placements (see Placements), in the usual search order
+     */
+    public long[] allMatches() {
+        return findMatches(false);
+    }
+
+    /**
+     * finds exact matches
+     *
+     * @param firstOnly whether to stop after the orientation with the first match
+     * @return the matches, as packed placements, in the usual search order (none if
+     * stopped at a checkpoint)
+     */
+    private long[] findMatches(boolean firstOnly) {
+        beginPreprocessing();
+        OrientationTable table = new OrientationTable(shape);
+        int worldRows = world.length;
+        int worldCols = worldRows == 0 ? 0 : world[0].length;
+        if (table.size() == 0 || worldCols == 0) return new long[0];
+
+        // the distinct row widths (at most two: the shape's width and its height)
+        int[] widths = new int[0];
+        for (OrientationTable.Entry entry : table.getEntries()) {
+            if (indexOf(widths, entry.getCols()) < 0) {
+                widths = Arrays.copyOf(widths, widths.length + 1);
+                widths[widths.length - 1] = entry.getCols();
+            }
+        }
+
+        // build the automaton from all of the rows; each orientation becomes the sequence
+        // of automaton states at which its rows end
+        RowAutomaton automaton = new RowAutomaton(widths);
+        int[][] columnPatterns = new int[table.size()][];
+        for (int e = 0; e < table.size(); e++) {
+            OrientationTable.Entry entry = table.getEntries().get(e);
+            columnPatterns[e] = new int[entry.getRows()];
+            for (int i = 0; i < entry.getRows(); i++) {
+                columnPatterns[e][i] = automaton.add(entry, i);
+            }
+        }
+        automaton.build();
+
+        // label each world position, for each width, with the shape row starting there
+        int[][] labels = new int[widths.length][worldRows * worldCols];
+        for (int[] l : labels) {
+            Arrays.fill(l, -1);
+        }
+        // (the checkpoints count the labelling as one more phase before the orientations)
+        int phases = table.size() + 1;
+        for (int r = 0; r < worldRows; r++) {
+            if (checkpoint(0, phases, r, worldRows)) {
+                return new long[0];
+            }
+            int state = 0;
+            for (int c = 0; c < worldCols; c++) {
+                state = automaton.next(state, world[r][c]);
+                for (int wc = 0; wc < widths.length; wc++) {
+                    int row = automaton.output(state, wc);
+                    if (row >= 0) {
+                        labels[wc][r * worldCols + c - widths[wc] + 1] = row;
+                    }
+                }
+            }
+        }
+
+        // find each orientation's column pattern down each column of labels
+        List<Long> rtnVal = new ArrayList<Long>();
+        for (int e = 0; e < table.size(); e++) {
+            OrientationTable.Entry entry = table.getEntries().get(e);
+            int h = entry.getRows();
+            int rows = worldRows - h + 1;
+            int cols = worldCols - entry.getCols() + 1;
+            if (rows <= 0 || cols <= 0) continue;
+            beginSearch(entry.getOrientation());
+
+            int[] pattern = columnPatterns[e];
+            int[] failure = kmpFailure(pattern);
+            int[] label = labels[indexOf(widths, entry.getCols())];
+            BitGrid found = new BitGrid(rows, cols);
+            for (int c = 0; c < cols; c++) {
+                if (checkpoint(e + 1, phases, c, cols)) {
+                    return new long[0];
+                }
+                probe(entry, 0, c);
+                int matched = 0;
+                for (int r = 0; r < worldRows; r++) {
+                    int l = label[r * worldCols + c];
+                    while (matched > 0 && pattern[matched] != l) {
+                        matched = failure[matched - 1];
+                    }
+                    if (pattern[matched] == l) matched++;
+                    if (matched == h) {
+                        // the orientation occurs with its top row at r-h+1
+                        found.set(r - h + 1, c, true);
+                        matched = failure[matched - 1];
+                    }
+                }
+            }
+
+            // every position is a candidate; those that are not matches are rejected
+            int before = rtnVal.size();
+
+            // collect the matches in row-then-column order
+            for (int r = 0; r < rows; r++) {
+                for (int k = 0; k < found.getWordsPerRow(); k++) {
+                    for (long word = found.word(r, k); word != 0; word &= word - 1) {
+                        int c = (k << 6) + Long.numberOfTrailingZeros(word);
+                        rtnVal.add(Placements.pack(r - entry.getRowOffset(),
+                                c - entry.getColOffset(), entry.getOrientation()));
+                    }
+                }
+            }
+            SolveMetrics metrics = getSearchMetrics();
+            if (metrics != null) {
+                metrics.addCandidates((long) rows * cols);
+                metrics.addPruned(SolveMetrics.Filter.ROW_MATCH,
+                        (long) rows * cols - (rtnVal.size() - before));
+            }
+            if (firstOnly && !rtnVal.isEmpty()) break;
+        }
+
+        // copy out the results
+        long[] arr = new long[rtnVal.size()];
+        for (int i = 0; i < arr.length; i++) {
+            arr[i] = rtnVal.get(i);
+        }
+        return arr;
+    }
+
+    /**
+     * @param arr an array
+     * @param val a value
+     * @return the index of the value in the array, or -1 if it is not there
+     */
+    private static int indexOf(int[] arr, int val) {
+        for (int i = 0; i < arr.length; i++) {
+            if (arr[i] == val) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * computes the Knuth-Morris-Pratt failure function of a pattern
+     *
+     * @param pattern the pattern
+     * @return for each i, the length of the longest proper prefix of pattern[0..i] that is
+     * also a suffix of it
+     */
+    private static int[] kmpFailure(int[] pattern) {
+        int[] rtnVal = new int[pattern.length];
+        int k = 0;
+        for (int i = 1; i < pattern.length; i++) {
+            while (k > 0 && pattern[k] != pattern[i]) {
+                k = rtnVal[k - 1];
+            }
+            if (pattern[k] == pattern[i]) k++;
+            rtnVal[i] = k;
+        }
+        return rtnVal;
+    }
+
+    /**
+     * An Aho-Corasick automaton over the alphabet {false, true}, for a set of shape rows.
+     * A row is identified by the state at which it ends. After build is called, the
+     * automaton is a complete DFA: next never needs to follow failure links.
+     */
+    private static class RowAutomaton {
+
+        // the distinct row widths
+        private final int[] widths;
+
+        // transitions on false and on true (-1 while being built, if absent)
+        private int[][] next = new int[2][16];
+
+        // depth of each state (the length of the string it represents)
+        private int[] depth = new int[16];
+
+        // whether each state is the end of a row
+        private boolean[] terminal = new boolean[16];
+
+        // for each state and width, the row of that width that is a suffix of the state's
+        // string (-1 if none)
+        private int[][] output;
+
+        // the number of states
+        private int size = 1;
+
+        /**
+         * constructor; creates an automaton with just the start state
+         *
+         * @param widths the distinct row widths
+         */
+        RowAutomaton(int[] widths) {
+            this.widths = widths;
+            next[0][0] = -1;
+            next[1][0] = -1;
+        }
+
+        /**
+         * adds a row of an oriented shape
+         *
+         * @param entry the oriented shape
+         * @param row the row
+         * @return the state at which the row ends, which identifies it
+         */
+        int add(OrientationTable.Entry entry, int row) {
+            int state = 0;
+            for (int j = 0; j < entry.getCols(); j++) {
+                int bit = entry.isSet(row, j) ? 1 : 0;
+                if (next[bit][state] < 0) {
+                    // create a new state
+                    if (size == depth.length) {
+                        int n = size * 2;
+                        next[0] = Arrays.copyOf(next[0], n);
+                        next[1] = Arrays.copyOf(next[1], n);
+                        depth = Arrays.copyOf(depth, n);
+                        terminal = Arrays.copyOf(terminal, n);
+                    }
+                    next[0][size] = -1;
+                    next[1][size] = -1;
+                    depth[size] = depth[state] + 1;
+                    next[bit][state] = size++;
+                }
+                state = next[bit][state];
+            }
+            terminal[state] = true;
+            return state;
+        }
+
+        /**
+         * computes the failure links (breadth-first), completing the transitions and
+         * the outputs
+         */
+        void build() {
+            output = new int[size][widths.length];
+            int[] fail = new int[size];
+            int[] queue = new int[size];
+            int head = 0;
+            int tail = 0;
+
+            // the start state
+            setOutput(0, 0);
+            for (int bit = 0; bit < 2; bit++) {
+                int s = next[bit][0];
+                if (s < 0) {
+                    next[bit][0] = 0;
+                } else {
+                    fail[s] = 0;
+                    queue[tail++] = s;
+                }
+            }
+
+            // the other states, in order of depth
+            while (head < tail) {
+                int state = queue[head++];
+                setOutput(state, fail[state]);
+                for (int bit = 0; bit < 2; bit++) {
+                    int s = next[bit][state];
+                    if (s < 0) {
+                        next[bit][state] = next[bit][fail[state]];
+                    } else {
+                        fail[s] = next[bit][fail[state]];
+                        queue[tail++] = s;
+                    }
+                }
+            }
+        }
+
+        /**
+         * sets the outputs of a state, from those of its failure state
+         *
+         * @param state the state
+         * @param failState its failure state (whose outputs are already set)
+         */
+        private void setOutput(int state, int failState) {
+            for (int wc = 0; wc < widths.length; wc++) {
+                if (terminal[state] && depth[state] == widths[wc]) {
+                    output[state][wc] = state;
+                } else {
+                    output[state][wc] = state == 0 ? -1 : output[failState][wc];
+                }
+            }
+        }
+
+        /**
+         * @param state a state
+         * @param val the next element of the text
+         * @return the state after reading the element
+         */
+        int next(int state, boolean val) {
+            return next[val ? 1 : 0][state];
+        }
+
+        /**
+         * @param state a state
+         * @param wc the index of a width
+         * @return the row of that width that ends at this point of the text, or -1
+         */
+        int output(int state, int wc) {
+            return output[state][wc];
+        }
+    }
+
+    /**
+     * Checks if the shape is well-formed: has at least one square, and has all squares connected.
+     *
+     * @return whether the shape is well-formed
+     */
+    public boolean check() {
+        return ShapeChecker.isWellFormed(shape);
+    }
+}
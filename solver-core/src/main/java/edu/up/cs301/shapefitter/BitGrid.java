@@ -0,0 +1,196 @@
+package edu.up.cs301.shapefitter;
+
+import java.nio.LongBuffer;
+
+/**
+ * A rectangular 2D boolean array, stored as bit-packed rows of 64-bit words. Bit j of
+ * word k of a row holds the element in column 64*k+j; bits beyond the last column are
+ * always zero. This allows a whole run of up to 64 columns to be tested with a single
+ * word-wide operation.
+ *
+ * @author Phi Nguyen
+ * @version 18 October 2026
+ */
+public class BitGrid {
+
+    // the dimensions of the grid
+    private final int rows;
+    private final int cols;
+
+    // number of 64-bit words used for each row
+    private final int wordsPerRow;
+
+    // the packed rows, one after the other
+    private final long[] words;
+
+    /**
+     * constructor; creates a grid with all elements false
+     *
+     * @param rows the number of rows
+     * @param cols the number of columns
+     */
+    public BitGrid(int rows, int cols) {
+        this.rows = rows;
+        this.cols = cols;
+        this.wordsPerRow = (cols + 63) >>> 6;
+        this.words = new long[rows * wordsPerRow];
+    }
+
+    /**
+     * creates a grid from a 2D boolean array. The number of columns is that of the longest
+     * row; missing elements of shorter rows are false.
+     *
+     * @param arr the array
+     * @return the packed version of the array
+     */
+    public static BitGrid fromArray(boolean[][] arr) {
+        // find the number of columns
+        int cols = 0;
+        for (boolean[] row : arr) {
+            cols = Math.max(cols, row.length);
+        }
+
+        // set the bit for each true element
+        BitGrid rtnVal = new BitGrid(arr.length, cols);
+        for (int r = 0; r < arr.length; r++) {
+            int base = r * rtnVal.wordsPerRow;
+            for (int c = 0; c < arr[r].length; c++) {
+                if (arr[r][c]) {
+                    rtnVal.words[base + (c >>> 6)] |= 1L << c;
+                }
+            }
+        }
+        return rtnVal;
+    }
+
+    /**
+     * creates a grid from packed rows laid out as in a BitGrid: wordsPerRow words for each
+     * row, one row after the other (see ArrayLibrary). Bits beyond the last column are
+     * cleared.
+     *
+     * @param rows the number of rows
+     * @param cols the number of columns
+     * @param words the packed rows, starting at the buffer's position; the position is
+     *              advanced past them
+     * @return the grid
+     */
+    public static BitGrid fromWords(int rows, int cols, LongBuffer words) {
+        BitGrid rtnVal = new BitGrid(rows, cols);
+        words.get(rtnVal.words);
+
+        // keep the bits beyond the last column zero
+        if ((cols & 63) != 0) {
+            long lastMask = (1L << cols) - 1;
+            for (int r = 0; r < rows; r++) {
+                rtnVal.words[(r + 1) * rtnVal.wordsPerRow - 1] &= lastMask;
+            }
+        }
+        return rtnVal;
+    }
+
+    /**
+     * @return the grid as a 2D boolean array
+     */
+    public boolean[][] toArray() {
+        boolean[][] rtnVal = new boolean[rows][cols];
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                rtnVal[r][c] = get(r, c);
+            }
+        }
+        return rtnVal;
+    }
+
+    /**
+     * @return the number of rows
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * @return the number of columns
+     */
+    public int getCols() {
+        return cols;
+    }
+
+    /**
+     * @return the number of 64-bit words in each row
+     */
+    public int getWordsPerRow() {
+        return wordsPerRow;
+    }
+
+    /**
+     * gets an element of the grid
+     *
+     * @param row the row
+     * @param col the column
+     * @return the element's value
+     */
+    public boolean get(int row, int col) {
+        return (words[row * wordsPerRow + (col >>> 6)] & (1L << col)) != 0;
+    }
+
+    /**
+     * sets an element of the grid
+     *
+     * @param row the row
+     * @param col the column
+     * @param val the new value
+     */
+    public void set(int row, int col, boolean val) {
+        int idx = row * wordsPerRow + (col >>> 6);
+        if (val) {
+            words[idx] |= 1L << col;
+        } else {
+            words[idx] &= ~(1L << col);
+        }
+    }
+
+    /**
+     * gets one of the packed words of a row
+     *
+     * @param row the row
+     * @param k the index of the word within the row (covers columns 64*k through 64*k+63)
+     * @return the word
+     */
+    public long word(int row, int k) {
+        return words[row * wordsPerRow + k];
+    }
+
+    /**
+     * extracts 64 consecutive elements of a row, starting at an arbitrary column. Bit j
+     * of the result holds the element at column col+j; positions beyond the end of the
+     * row are zero.
+     *
+     * @param row the row
+     * @param col the first column (must be non-negative)
+     * @return the word containing the elements
+     */
+    public long extract(int row, int col) {
+        int k = col >>> 6;
+        if (k >= wordsPerRow) return 0;
+
+        // low part comes from word k; high part (if unaligned) from word k+1
+        int base = row * wordsPerRow;
+        int shift = col & 63;
+        long rtnVal = words[base + k] >>> shift;
+        if (shift != 0 && k + 1 < wordsPerRow) {
+            rtnVal |= words[base + k + 1] << (64 - shift);
+        }
+        return rtnVal;
+    }
+
+    /**
+     * @return the number of true elements in the grid
+     */
+    public int count() {
+        int rtnVal = 0;
+        for (long w : words) {
+            rtnVal += Long.bitCount(w);
+        }
+        return rtnVal;
+    }
+}
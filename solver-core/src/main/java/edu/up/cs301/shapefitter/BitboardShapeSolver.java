@@ -0,0 +1,207 @@
+package edu.up.cs301.shapefitter;
+
+/**
+ * Solver that stores the world and the shape as bit-packed rows (see BitGrid), so that
+ * each placement is decided with word-wide operations--up to 64 cells of a row at a
+ * time--rather than one cell at a time.
+ *
+ * The distinct orientations (see OrientationTable) are searched in table order; within an
+ * orientation, positions of the cropped shape are searched row by row, left to right.
+ *
+ * @author Phi Nguyen
+ * @version 18 October 2026
+ */
+public class BitboardShapeSolver extends ShapeSolver {
+
+    /**
+     * Creates a solver for a particular problem.
+     *
+     * @param parmShape the shape to fit
+     * @param parmWorld the world to fit it into
+     * @param acc       to send notification messages to
+     */
+    public BitboardShapeSolver(boolean[][] parmShape, boolean[][] parmWorld,
+                               ShapeSolutionAcceptor acc) {
+        // invoke superclass constructor
+        super(parmShape, parmWorld, acc);
+    }
+
+    /**
+     * Solves the problem by finding a fit, if possible. The last call to display tells where
+     * the fit is. If there is no fit, undisplay is called.
+     */
+    public void solve() {
+        // pack the world once
+        beginPreprocessing();
+        BitGrid worldBits = BitGrid.fromArray(world);
+        IntegralImage sums = new IntegralImage(world);
+        SolveMetrics metrics = getSearchMetrics();
+
+        OrientationTable table = new OrientationTable(shape);
+        for (int e = 0; e < table.size(); e++) {
+            OrientationTable.Entry entry = table.getEntries().get(e);
+            beginSearch(entry.getOrientation());
+
+            // the packed shape in this orientation, and the order in which to test its rows
+            BitGrid shapeBits = entry.getBits();
+            AdaptiveCellOrder order = AdaptiveCellOrder.forRows(entry, sums);
+
+            // try each position at which the oriented shape lies within the world
+            int rowLimit = worldBits.getRows() - shapeBits.getRows();
+            int colLimit = worldBits.getCols() - shapeBits.getCols();
+            if (rowLimit < 0 || colLimit < 0) {
+                continue;
+            }
+            for (int wR = 0; wR <= rowLimit; wR++) {
+                // stop if the solve has been cancelled or has timed out
+                if (checkpoint(e, table.size(), wR, rowLimit + 1)) {
+                    return;
+                }
+                probe(entry, wR, 0);
+                for (int wC = 0; wC <= colLimit; wC++) {
+                    if (metrics == null ? fits(worldBits, shapeBits, wR, wC, order)
+                            : countingFits(worldBits, shapeBits, wR, wC, order, metrics)) {
+                        if (metrics != null) {
+                            metrics.addCandidates(wC + 1);
+                            metrics.addPruned(SolveMetrics.Filter.CELLS, wC);
+                        }
+
+                        // report the top-left of the uncropped shape
+                        display(wR - entry.getRowOffset(), wC - entry.getColOffset(),
+                                entry.getOrientation());
+                        return;
+                    }
+                }
+                if (metrics != null) {
+                    metrics.addCandidates(colLimit + 1);
+                    metrics.addPruned(SolveMetrics.Filter.CELLS, colLimit + 1);
+                }
+            }
+        }
+
+        // no fit found
+        undisplay();
+    }
+
+    /**
+     * Tells whether a packed shape fits at a given position in a packed world: every
+     * true element of the shape must land on a true element of the world.
+     *
+     * @param worldBits the packed world
+     * @param shapeBits the packed shape
+     * @param row the world row corresponding to the top row of the shape
+     * @param col the world column corresponding to the left column of the shape
+     * @return whether the shape fits
+     */
+    public static boolean fits(BitGrid worldBits, BitGrid shapeBits, int row, int col) {
+        int shapeWords = shapeBits.getWordsPerRow();
+        for (int sR = 0; sR < shapeBits.getRows(); sR++) {
+            for (int k = 0; k < shapeWords; k++) {
+                long shapeRow = shapeBits.word(sR, k);
+                // a shape bit on a false world bit means no fit
+                if (shapeRow != 0 &&
+                        (shapeRow & ~worldBits.extract(row + sR, col + (k << 6))) != 0) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Tells whether a packed shape fits at a given position in a packed world, as fits
+     * does, counting the shape cells tested. Solvers call this in place of fits only when
+     * they are counting (see ShapeSolver.setDetailedMetrics).
+     *
+     * @param worldBits the packed world
+     * @param shapeBits the packed shape
+     * @param row the world row corresponding to the top row of the shape
+     * @param col the world column corresponding to the left column of the shape
+     * @param metrics the metrics to count the cells tested in
+     * @return whether the shape fits
+     */
+    static boolean countingFits(BitGrid worldBits, BitGrid shapeBits, int row, int col,
+                                SolveMetrics metrics) {
+        int shapeWords = shapeBits.getWordsPerRow();
+        for (int sR = 0; sR < shapeBits.getRows(); sR++) {
+            for (int k = 0; k < shapeWords; k++) {
+                long shapeRow = shapeBits.word(sR, k);
+                metrics.addCellsTested(Long.bitCount(shapeRow));
+                if (shapeRow != 0 &&
+                        (shapeRow & ~worldBits.extract(row + sR, col + (k << 6))) != 0) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Tells whether a packed shape fits at a given position in a packed world, testing the
+     * shape's rows in the given order, and recording the row that causes a rejection.
+     *
+     * @param worldBits the packed world
+     * @param shapeBits the packed shape
+     * @param row the world row corresponding to the top row of the shape
+     * @param col the world column corresponding to the left column of the shape
+     * @param order the order in which to test the rows (see AdaptiveCellOrder.forRows)
+     * @return whether the shape fits
+     */
+    public static boolean fits(BitGrid worldBits, BitGrid shapeBits, int row, int col,
+                               AdaptiveCellOrder order) {
+        int shapeWords = shapeBits.getWordsPerRow();
+        for (int n = 0; n < order.size(); n++) {
+            int sR = order.get(n);
+            for (int k = 0; k < shapeWords; k++) {
+                long shapeRow = shapeBits.word(sR, k);
+                // a shape bit on a false world bit means no fit
+                if (shapeRow != 0 &&
+                        (shapeRow & ~worldBits.extract(row + sR, col + (k << 6))) != 0) {
+                    order.recordFailure(sR);
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Tells whether a packed shape fits at a given position in a packed world, as the
+     * ordered fits does, counting the shape cells tested. Solvers call this in place of
+     * fits only when they are counting (see ShapeSolver.setDetailedMetrics).
+     *
+     * @param worldBits the packed world
+     * @param shapeBits the packed shape
+     * @param row the world row corresponding to the top row of the shape
+     * @param col the world column corresponding to the left column of the shape
+     * @param order the order in which to test the rows (see AdaptiveCellOrder.forRows)
+     * @param metrics the metrics to count the cells tested in
+     * @return whether the shape fits
+     */
+    static boolean countingFits(BitGrid worldBits, BitGrid shapeBits, int row, int col,
+                                AdaptiveCellOrder order, SolveMetrics metrics) {
+        int shapeWords = shapeBits.getWordsPerRow();
+        for (int n = 0; n < order.size(); n++) {
+            int sR = order.get(n);
+            for (int k = 0; k < shapeWords; k++) {
+                long shapeRow = shapeBits.word(sR, k);
+                metrics.addCellsTested(Long.bitCount(shapeRow));
+                if (shapeRow != 0 &&
+                        (shapeRow & ~worldBits.extract(row + sR, col + (k << 6))) != 0) {
+                    order.recordFailure(sR);
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks if the shape is well-formed: has at least one square, and has all squares connected.
+     *
+     * @return whether the shape is well-formed
+     */
+    public boolean check() {
+        return ShapeChecker.isWellFormed(shape);
+    }
+}
@@ -0,0 +1,116 @@
+package edu.up.cs301.shapefitter;
+
+/**
+ * In-place radix-2 fast Fourier transforms over arrays of doubles, with real and
+ * imaginary parts held in separate arrays. Lengths must be powers of two.
+ *
+ * @author Phi Nguyen
+ * @version 18 October 2026
+ */
+public final class Fft {
+
+    /**
+     * not instantiable
+     */
+    private Fft() {
+    }
+
+    /**
+     * @param n a positive number
+     * @return the smallest power of two that is at least n
+     */
+    public static int nextPowerOfTwo(int n) {
+        int rtnVal = 1;
+        while (rtnVal < n) {
+            rtnVal <<= 1;
+        }
+        return rtnVal;
+    }
+
+    /**
+     * transforms a 1D sequence held within a pair of arrays. The inverse transform is
+     * scaled by 1/n, so that a forward transform followed by an inverse one gives back the
+     * original values.
+     *
+     * @param re the real parts
+     * @param im the imaginary parts
+     * @param offset the index of the first element
+     * @param stride the distance between consecutive elements
+     * @param n the number of elements (a power of two)
+     * @param inverse whether to do the inverse transform
+     */
+    public static void transform(double[] re, double[] im, int offset, int stride, int n,
+                                 boolean inverse) {
+        // bit-reversal permutation
+        for (int i = 1, j = 0; i < n; i++) {
+            int bit = n >> 1;
+            for (; (j & bit) != 0; bit >>= 1) {
+                j ^= bit;
+            }
+            j ^= bit;
+            if (i < j) {
+                int a = offset + i * stride;
+                int b = offset + j * stride;
+                double t = re[a];
+                re[a] = re[b];
+                re[b] = t;
+                t = im[a];
+                im[a] = im[b];
+                im[b] = t;
+            }
+        }
+
+        // butterflies, for successively longer sub-transforms
+        for (int len = 2; len <= n; len <<= 1) {
+            double angle = (inverse ? 2 : -2) * Math.PI / len;
+            double wRe = Math.cos(angle);
+            double wIm = Math.sin(angle);
+            int half = len >> 1;
+            for (int start = 0; start < n; start += len) {
+                double curRe = 1;
+                double curIm = 0;
+                for (int k = 0; k < half; k++) {
+                    int a = offset + (start + k) * stride;
+                    int b = a + half * stride;
+                    double tRe = re[b] * curRe - im[b] * curIm;
+                    double tIm = re[b] * curIm + im[b] * curRe;
+                    re[b] = re[a] - tRe;
+                    im[b] = im[a] - tIm;
+                    re[a] += tRe;
+                    im[a] += tIm;
+                    double nextRe = curRe * wRe - curIm * wIm;
+                    curIm = curRe * wIm + curIm * wRe;
+                    curRe = nextRe;
+                }
+            }
+        }
+
+        // scale the inverse
+        if (inverse) {
+            for (int i = 0; i < n; i++) {
+                re[offset + i * stride] /= n;
+                im[offset + i * stride] /= n;
+            }
+        }
+    }
+
+    /**
+     * transforms a 2D array, stored row by row, by transforming each row and then each
+     * column
+     *
+     * @param re the real parts
+     * @param im the imaginary parts
+     * @param rows the number of rows (a power of two)
+     * @param cols the number of columns (a power of two)
+     * @param inverse whether to do the inverse transform
+     */
+    public static void transform2d(double[] re, double[] im, int rows, int cols,
+                                   boolean inverse) {
+        for (int r = 0; r < rows; r++) {
+            transform(re, im, r * cols, 1, cols, inverse);
+        }
+        for (int c = 0; c < cols; c++) {
+            transform(re, im, c, cols, rows, inverse);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package edu.up.cs301.shapefitter;
+
+import java.util.Arrays;
+
+/**
+ * Solver that finds, for every position of an oriented shape, the number of shape cells
+ * that land on true world cells, all at once: it is the cross-correlation of the shape
+ * with the world, computed with one FFT of the world per solve and one forward and one
+ * inverse FFT per orientation. A position fits when its count equals the number of cells
+ * in the shape. The cost is O(N^2 log N) per orientation regardless of the shape's size,
+ * which beats checking each position separately for large shapes in large worlds.
+ *
+ * Orientations and positions are searched in the same order as BitboardShapeSolver.
+ *
+ * @author Phi Nguyen
+ * @version 18 October 2026
+ */
+public class FftShapeSolver extends ShapeSolver {
+
+    /**
+     * Creates a solver for a particular problem.
+     *
+     * @param parmShape the shape to fit
+     * @param parmWorld the world to fit it into
+     * @param acc       to send notification messages to
+     */
+    public FftShapeSolver(boolean[][] parmShape, boolean[][] parmWorld,
+                          ShapeSolutionAcceptor acc) {
+        // invoke superclass constructor
+        super(parmShape, parmWorld, acc);
+    }
+
+    /**
+     * Solves the problem by finding a fit, if possible. The last call to display tells where
+     * the fit is. If there is no fit, undisplay is called.
+     */
+    public void solve() {
+        beginPreprocessing();
+        SolveMetrics metrics = getSearchMetrics();
+        OrientationTable table = new OrientationTable(shape);
+        int worldRows = world.length;
+        int worldCols = worldRows == 0 ? 0 : world[0].length;
+
+        if (table.size() > 0 && worldRows > 0 && worldCols > 0) {
+            // the transform size; no padding beyond the world is needed, because positions
+            // where the shape would wrap around are never examined
+            int rows = Fft.nextPowerOfTwo(worldRows);
+            int cols = Fft.nextPowerOfTwo(worldCols);
+
+            // transform the world once (unless the solve has already been stopped)
+            if (checkpoint(0, table.size(), 0, 2)) {
+                return;
+            }
+            double[] worldRe = new double[rows * cols];
+            double[] worldIm = new double[rows * cols];
+            for (int r = 0; r < worldRows; r++) {
+                for (int c = 0; c < worldCols; c++) {
+                    if (world[r][c]) worldRe[r * cols + c] = 1;
+                }
+            }
+            Fft.transform2d(worldRe, worldIm, rows, cols, false);
+
+            double[] re = new double[rows * cols];
+            double[] im = new double[rows * cols];
+            for (int e = 0; e < table.size(); e++) {
+                OrientationTable.Entry entry = table.getEntries().get(e);
+                int h = entry.getRows();
+                int w = entry.getCols();
+                if (h > worldRows || w > worldCols) continue;
+                beginSearch(entry.getOrientation());
+
+                // the transforms are the costly part, so the checkpoints are around them
+                if (checkpoint(e, table.size(), 0, 2)) {
+                    return;
+                }
+                probe(entry, 0, 0);
+
+                // transform the oriented shape
+                Arrays.fill(re, 0);
+                Arrays.fill(im, 0);
+                for (int i = 0; i < h; i++) {
+                    for (int j = 0; j < w; j++) {
+                        if (entry.isSet(i, j)) re[i * cols + j] = 1;
+                    }
+                }
+                Fft.transform2d(re, im, rows, cols, false);
+
+                if (checkpoint(e, table.size(), 1, 2)) {
+                    return;
+                }
+
+                // multiply the world's transform by the conjugate of the shape's, then
+                // transform back to get the correlation
+                for (int k = 0; k < re.length; k++) {
+                    double pRe = worldRe[k] * re[k] + worldIm[k] * im[k];
+                    double pIm = worldIm[k] * re[k] - worldRe[k] * im[k];
+                    re[k] = pRe;
+                    im[k] = pIm;
+                }
+                Fft.transform2d(re, im, rows, cols, true);
+
+                // the first position whose count matches the number of cells is a fit
+                double target = entry.getCellCount() - 0.5;
+                for (int wR = 0; wR <= worldRows - h; wR++) {
+                    for (int wC = 0; wC <= worldCols - w; wC++) {
+                        if (re[wR * cols + wC] > target) {
+                            if (metrics != null) {
+                                metrics.addCandidates(wC + 1);
+                                metrics.addPruned(SolveMetrics.Filter.CORRELATION, wC);
+                            }
+
+                            // report the top-left of the uncropped shape
+                            display(wR - entry.getRowOffset(), wC - entry.getColOffset(),
+                                    entry.getOrientation());
+                            return;
+                        }
+                    }
+                    if (metrics != null) {
+                        metrics.addCandidates(worldCols - w + 1);
+                        metrics.addPruned(SolveMetrics.Filter.CORRELATION, worldCols - w + 1);
+                    }
+                }
+            }
+        }
+
+        // no fit found
+        undisplay();
+    }
+
+    /**
+     * Checks if the shape is well-formed: has at least one square, and has all squares connected.
+     *
+     * @return whether the shape is well-formed
+     */
+    public boolean check() {
+        return ShapeChecker.isWellFormed(shape);
+    }
+}
@@ -0,0 +1,78 @@
+package edu.up.cs301.shapefitter;
+
+/**
+ * A summed-area table (integral image) over a 2D boolean array: allows the number of true
+ * elements in any rectangle--including a single row or column segment--to be found in
+ * constant time.
+ *
+ * @author Phi Nguyen
+ * @version 18 October 2026
+ */
+public class IntegralImage {
+
+    // dimensions of the underlying array
+    private final int rows;
+    private final int cols;
+
+    // sums[(r)*(cols+1) + c] is the number of true elements in rows 0..r-1, columns 0..c-1
+    private final int[] sums;
+
+    /**
+     * constructor; builds the table for a rectangular array
+     *
+     * @param arr the array
+     */
+    public IntegralImage(boolean[][] arr) {
+        rows = arr.length;
+        cols = rows == 0 ? 0 : arr[0].length;
+        int stride = cols + 1;
+        sums = new int[(rows + 1) * stride];
+
+        // each entry is the running row-sum plus the entry above it
+        for (int r = 0; r < rows; r++) {
+            int rowSum = 0;
+            for (int c = 0; c < cols; c++) {
+                if (arr[r][c]) rowSum++;
+                sums[(r + 1) * stride + c + 1] = sums[r * stride + c + 1] + rowSum;
+            }
+        }
+    }
+
+    /**
+     * @return the number of rows in the underlying array
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * @return the number of columns in the underlying array
+     */
+    public int getCols() {
+        return cols;
+    }
+
+    /**
+     * counts the true elements in a rectangle, which must lie within the array
+     *
+     * @param row the top row of the rectangle
+     * @param col the left column of the rectangle
+     * @param height the number of rows in the rectangle
+     * @param width the number of columns in the rectangle
+     * @return the number of true elements
+     */
+    public int count(int row, int col, int height, int width) {
+        int stride = cols + 1;
+        int top = row * stride;
+        int bottom = (row + height) * stride;
+        return sums[bottom + col + width] - sums[bottom + col]
+                - sums[top + col + width] + sums[top + col];
+    }
+
+    /**
+     * @return the number of true elements in the whole array
+     */
+    public int total() {
+        return sums[sums.length - 1];
+    }
+}
@@ -0,0 +1,154 @@
+package edu.up.cs301.shapefitter;
+
+/**
+ * Solver that builds a summed-area table (see IntegralImage) over the world once per
+ * solve, and uses it to reject placements cheaply before doing a full check:
+ * - a placement whose window holds fewer true cells than the shape is rejected in
+ *   constant time;
+ * - a placement where some world row (or column) segment under the shape holds fewer
+ *   true cells than the corresponding shape row (or column) is rejected next.
+ * Only the surviving placements are checked cell by cell, using the bit-packed test from
+ * BitboardShapeSolver. On sparse worlds, nearly all placements are rejected by the first
+ * test.
+ *
+ * Orientations and positions are searched in the same order as BitboardShapeSolver.
+ *
+ * @author Phi Nguyen
+ * @version 18 October 2026
+ */
+public class IntegralImageShapeSolver extends ShapeSolver {
+
+    /**
+     * Creates a solver for a particular problem.
+     *
+     * @param parmShape the shape to fit
+     * @param parmWorld the world to fit it into
+     * @param acc       to send notification messages to
+     */
+    public IntegralImageShapeSolver(boolean[][] parmShape, boolean[][] parmWorld,
+                                    ShapeSolutionAcceptor acc) {
+        // invoke superclass constructor
+        super(parmShape, parmWorld, acc);
+    }
+
+    /**
+     * Solves the problem by finding a fit, if possible. The last call to display tells where
+     * the fit is. If there is no fit, undisplay is called.
+     */
+    public void solve() {
+        // build the world-side tables once
+        beginPreprocessing();
+        SolveMetrics metrics = getSearchMetrics();
+        IntegralImage sums = new IntegralImage(world);
+        BitGrid worldBits = BitGrid.fromArray(world);
+
+        OrientationTable table = new OrientationTable(shape);
+        int numSquares = table.getCellCount();
+
+        // if the world has too few true cells overall, nothing can fit
+        if (sums.total() >= numSquares) {
+            for (int e = 0; e < table.size(); e++) {
+                OrientationTable.Entry entry = table.getEntries().get(e);
+                beginSearch(entry.getOrientation());
+                int h = entry.getRows();
+                int w = entry.getCols();
+                // an orientation that is taller or wider than the world has no positions
+                if (h > sums.getRows() || w > sums.getCols()) {
+                    continue;
+                }
+                for (int wR = 0; wR <= sums.getRows() - h; wR++) {
+                    // stop if the solve has been cancelled or has timed out
+                    if (checkpoint(e, table.size(), wR, sums.getRows() - h + 1)) {
+                        return;
+                    }
+                    probe(entry, wR, 0);
+                    // the candidates each filter rejects in this row, counted for the
+                    // metrics once the row is done
+                    int windowPruned = 0;
+                    int projectionsPruned = 0;
+                    int cellsPruned = 0;
+                    for (int wC = 0; wC <= sums.getCols() - w; wC++) {
+                        // the window must hold at least as many true cells as the shape,
+                        // and so must each row and column segment under it
+                        if (sums.count(wR, wC, h, w) < numSquares) {
+                            windowPruned++;
+                        } else if (!coversProjections(sums, entry, wR, wC)) {
+                            projectionsPruned++;
+                        } else if (metrics == null
+                                ? !BitboardShapeSolver.fits(worldBits, entry.getBits(), wR, wC)
+                                : !BitboardShapeSolver.countingFits(worldBits, entry.getBits(),
+                                wR, wC, metrics)) {
+                            cellsPruned++;
+                        } else {
+                            count(metrics, wC + 1, windowPruned, projectionsPruned, cellsPruned);
+
+                            // report the top-left of the uncropped shape
+                            display(wR - entry.getRowOffset(), wC - entry.getColOffset(),
+                                    entry.getOrientation());
+                            return;
+                        }
+                    }
+                    count(metrics, sums.getCols() - w + 1, windowPruned, projectionsPruned,
+                            cellsPruned);
+                }
+            }
+        } else if (metrics != null) {
+            long positions = table.getPositionCount(sums.getRows(), sums.getCols());
+            metrics.addCandidates(positions);
+            metrics.addPruned(SolveMetrics.Filter.TOTAL_COUNT, positions);
+        }
+
+        // no fit found
+        undisplay();
+    }
+
+    /**
+     * counts the candidates of a row of positions
+     *
+     * @param metrics the metrics to count them in, or null
+     * @param candidates the number of positions considered
+     * @param windowPruned the number rejected by the window's count
+     * @param projectionsPruned the number rejected by the row and column segments' counts
+     * @param cellsPruned the number rejected by the shape's cells
+     */
+    private static void count(SolveMetrics metrics, int candidates, int windowPruned,
+                              int projectionsPruned, int cellsPruned) {
+        if (metrics == null) return;
+        metrics.addCandidates(candidates);
+        metrics.addPruned(SolveMetrics.Filter.WINDOW_COUNT, windowPruned);
+        metrics.addPruned(SolveMetrics.Filter.PROJECTIONS, projectionsPruned);
+        metrics.addPruned(SolveMetrics.Filter.CELLS, cellsPruned);
+    }
+
+    /**
+     * Tells whether each world row segment and column segment under a placement holds at
+     * least as many true cells as the corresponding row or column of the shape.
+     *
+     * @param sums the world's summed-area table
+     * @param entry the oriented shape
+     * @param row the world row corresponding to the top row of the shape
+     * @param col the world column corresponding to the left column of the shape
+     * @return false if the placement can be rejected
+     */
+    public static boolean coversProjections(IntegralImage sums, OrientationTable.Entry entry,
+                                            int row, int col) {
+        int h = entry.getRows();
+        int w = entry.getCols();
+        for (int i = 0; i < h; i++) {
+            if (sums.count(row + i, col, 1, w) < entry.getRowCount(i)) return false;
+        }
+        for (int j = 0; j < w; j++) {
+            if (sums.count(row, col + j, h, 1) < entry.getColCount(j)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Checks if the shape is well-formed: has at least one square, and has all squares connected.
+     *
+     * @return whether the shape is well-formed
+     */
+    public boolean check() {
+        return ShapeChecker.isWellFormed(shape);
+    }
+}
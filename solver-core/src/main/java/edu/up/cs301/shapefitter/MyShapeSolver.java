@@ -0,0 +1,125 @@
+package edu.up.cs301.shapefitter;
+
+/**
+ * Solver: finds fit for a shape; completed solution by Vegdahl.
+ *
+ * @author **** Phi Nguyen ****
+ * @version **** put completion date here ****
+ */
+public class MyShapeSolver extends ShapeSolver {
+    /**
+     * Creates a solver for a particular problem.
+     *
+     * @param parmShape the shape to fit
+     * @param parmWorld the world to fit it into
+     * @param acc       to send notification messages to
+     */
+    public MyShapeSolver(boolean[][] parmShape, boolean[][] parmWorld, ShapeSolutionAcceptor acc) {
+        // invoke superclass constructor
+        super(parmShape, parmWorld, acc);
+    }
+
+    /**
+     * Solves the problem by finding a fit, if possible. The last call to display tells where
+     * the fit is. If there is no fit, no call to display should be made--alternatively, a call to
+     * undisplay can be made.
+     */
+
+    // finds a match, the parameter determines what orientation the match will be displayed in
+    public void solve() {
+        // ****dummied up****
+        int sR = 0, sC = 0, wR = 0, wC = 0;
+        int numSquares = 0; //# of squares in shape
+        int countSquares = 0;//# current number of squares in shape
+
+        //counts what the search does, if asked to (null if not)
+        SolveMetrics metrics = getSearchMetrics();
+        beginPreprocessing();
+
+        //the distinct orientations of the shape, each cropped to its true squares; this
+        //also counts how many elements in shape are true, which lets us know when to stop
+        OrientationTable table = new OrientationTable(shape);
+        numSquares = table.getCellCount();
+
+        //summed-area table of the world, used to decide which squares to test first
+        IntegralImage sums = new IntegralImage(world);
+
+        //iterates through the world array; the range comes from the cropped extents, so
+        //placements touching the right and bottom edges of the world are tried too
+        for (int e = 0; e < table.size(); e++) {
+            OrientationTable.Entry entry = table.getEntries().get(e);
+            beginSearch(entry.getOrientation());
+            boolean[][] cells = entry.getCells();
+            //the true squares, in the order to test them: those most likely to land on a
+            //false square first, adjusted as the search goes on
+            AdaptiveCellOrder order = AdaptiveCellOrder.forCells(entry, sums);
+            //an orientation that is taller or wider than the world has nowhere to go
+            if (cells.length > world.length || cells[0].length > world[0].length) {
+                continue;
+            }
+            for (wR = 0; wR <= (world.length - cells.length); wR++) {
+                //stop here, reporting nothing, if the solve has been cancelled or timed out
+                if (checkpoint(e, table.size(), wR, world.length - cells.length + 1)) {
+                    return;
+                }
+                //show where the search has got to, if the acceptor is watching
+                probe(entry, wR, 0);
+                //the squares tested in this row, counted for the metrics once the row is done
+                long tested = 0;
+                for (wC = 0; wC <= (world[wR].length - cells[0].length); wC++) {
+                    countSquares = 0;
+                    //at each element in world array tests the true squares of the shape,
+                    //stopping at the first one that lands on a false square
+                    for (int k = 0; k < order.size(); k++) {
+                        int probe = order.get(k);
+                        sR = probe / cells[0].length;
+                        sC = probe % cells[0].length;
+                        if (!world[wR + sR][wC + sC]) {
+                            order.recordFailure(probe);
+                            break;
+                        }
+                        countSquares++;
+                    }
+                    tested += Math.min(countSquares + 1, numSquares);
+                    if (countSquares == numSquares) { //when all of the true squares have been counted
+                        count(metrics, wC + 1, wC, tested);
+                        //report the top-left of the uncropped shape
+                        display(wR - entry.getRowOffset(), wC - entry.getColOffset(),
+                                entry.getOrientation());
+                        return;
+                    }
+                }
+                count(metrics, world[wR].length - cells[0].length + 1,
+                        world[wR].length - cells[0].length + 1, tested);
+            }
+        }
+        undisplay();
+        return;
+        }
+
+    /**
+     * counts what the search did in a row of positions
+     *
+     * @param metrics the metrics to count it in, or null
+     * @param candidates the number of positions tried
+     * @param pruned the number of those at which a square landed on a false square
+     * @param tested the number of squares tested
+     */
+    private static void count(SolveMetrics metrics, int candidates, int pruned, long tested) {
+        if (metrics == null) return;
+        metrics.addCandidates(candidates);
+        metrics.addPruned(SolveMetrics.Filter.CELLS, pruned);
+        metrics.addCellsTested(tested);
+    }
+
+    /**
+     * Checks if the shape is well-formed: has at least one square, and has all squares connected.
+     *
+     * @return whether the shape is well-formed
+     */
+    public boolean check() {
+        return ShapeChecker.isWellFormed(shape);
+    }
+}
+
+
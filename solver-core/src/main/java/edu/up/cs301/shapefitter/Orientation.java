@@ -0,0 +1,74 @@
+package edu.up.cs301.shapefitter;
+
+/**
+ * Defines orientations corresponding to reflection and rotation transformations.
+ * These orientations are respect to Java drawing coordinates (which would be
+ * the reverse of mathematical coordinates in which increasing the y value would
+ * move you high on the screen).
+ *
+ * @author Steven R. Vegdahl
+ * @version 4 August 2016
+ */
+public enum Orientation {
+    ROTATE_NONE, // no rotation
+    ROTATE_CLOCKWISE, // 90-degree clockwise rotation
+    ROTATE_180, // 180-degree rotation
+    ROTATE_COUNTERCLOCKWISE, // 90 degree counterclockwise rotation
+    ROTATE_NONE_REV, // left-right reflection
+    ROTATE_CLOCKWISE_REV, // 90-degree clockwise rotation; then left-right reflection
+    ROTATE_180_REV, // 180-degree rotation; then left-right reflection
+    ROTATE_COUNTERCLOCKWISE_REV; // 90 degree counterclockwise rotation; then left-right reflection
+
+    /**
+     * Creates a transformed copy of an array. The element at [r][c] of the result is the
+     * element of the original that ShapeFitSurface draws at offset (r, c) when displaying
+     * the original in this orientation. Rotations by 90 degrees swap the number of rows
+     * and columns.
+     *
+     * @param arr the (rectangular) array to transform
+     * @return a new array containing the transformed values
+     */
+    public boolean[][] transform(boolean[][] arr) {
+        // dimensions of the original array
+        int h = arr.length;
+        int w = h == 0 ? 0 : arr[0].length;
+
+        // quarter-turns (and their reflections) swap the dimensions
+        boolean swap = this == ROTATE_CLOCKWISE || this == ROTATE_COUNTERCLOCKWISE ||
+                this == ROTATE_CLOCKWISE_REV || this == ROTATE_COUNTERCLOCKWISE_REV;
+        boolean[][] rtnVal = swap ? new boolean[w][h] : new boolean[h][w];
+
+        // map each position of the result back to its source position
+        for (int r = 0; r < rtnVal.length; r++) {
+            for (int c = 0; c < rtnVal[r].length; c++) {
+                switch (this) {
+                    case ROTATE_NONE:
+                        rtnVal[r][c] = arr[r][c];
+                        break;
+                    case ROTATE_CLOCKWISE:
+                        rtnVal[r][c] = arr[h - 1 - c][r];
+                        break;
+                    case ROTATE_180:
+                        rtnVal[r][c] = arr[h - 1 - r][w - 1 - c];
+                        break;
+                    case ROTATE_COUNTERCLOCKWISE:
+                        rtnVal[r][c] = arr[c][w - 1 - r];
+                        break;
+                    case ROTATE_NONE_REV:
+                        rtnVal[r][c] = arr[r][w - 1 - c];
+                        break;
+                    case ROTATE_CLOCKWISE_REV:
+                        rtnVal[r][c] = arr[c][r];
+                        break;
+                    case ROTATE_180_REV:
+                        rtnVal[r][c] = arr[h - 1 - r][c];
+                        break;
+                    case ROTATE_COUNTERCLOCKWISE_REV:
+                        rtnVal[r][c] = arr[h - 1 - c][w - 1 - r];
+                        break;
+                }
+            }
+        }
+        return rtnVal;
+    }
+}
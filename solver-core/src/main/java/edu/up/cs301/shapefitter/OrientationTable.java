@@ -0,0 +1,305 @@
+package edu.up.cs301.shapefitter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The distinct orientations of a shape, built once per solve. Each entry holds the shape
+ * in one orientation, cropped to the bounding box of its true cells. Orientations whose
+ * cropped form is identical to that of an earlier orientation (in Orientation.values()
+ * order) are omitted, so a symmetric shape has 4, 2 or 1 entries rather than 8.
+ *
+ * A table is immutable once created.
+ *
+ * @author Phi Nguyen
+ * @version 18 October 2026
+ */
+public class OrientationTable {
+
+    /**
+     * One orientation of the shape, cropped to its bounding box.
+     */
+    public static final class Entry {
+
+        // the orientation that this entry represents
+        private final Orientation orientation;
+
+        // the cropped cells
+        private final boolean[][] cells;
+
+        // the cropped cells, bit-packed
+        private final BitGrid bits;
+
+        // position of the crop's top-left within the uncropped, oriented shape
+        private final int rowOffset;
+        private final int colOffset;
+
+        // the number of true cells
+        private final int cellCount;
+
+        // the number of true cells in each row and in each column
+        private final int[] rowCounts;
+        private final int[] colCounts;
+
+        /**
+         * constructor
+         *
+         * @param orientation the orientation
+         * @param cells the cropped cells (not copied)
+         * @param rowOffset row of the crop's top-left within the uncropped oriented shape
+         * @param colOffset column of the crop's top-left within the uncropped oriented shape
+         * @param cellCount the number of true cells
+         */
+        private Entry(Orientation orientation, boolean[][] cells, int rowOffset, int colOffset,
+                      int cellCount) {
+            this.orientation = orientation;
+            this.cells = cells;
+            this.bits = BitGrid.fromArray(cells);
+            this.rowOffset = rowOffset;
+            this.colOffset = colOffset;
+            this.cellCount = cellCount;
+
+            // compute the row and column projections
+            rowCounts = new int[cells.length];
+            colCounts = new int[cells[0].length];
+            for (int i = 0; i < cells.length; i++) {
+                for (int j = 0; j < cells[i].length; j++) {
+                    if (cells[i][j]) {
+                        rowCounts[i]++;
+                        colCounts[j]++;
+                    }
+                }
+            }
+        }
+
+        /**
+         * constructor, for an orientation whose cropped cells are the same as those of
+         * another entry; the tables built for that entry are shared
+         *
+         * @param orientation the orientation
+         * @param same the entry with the same cropped cells
+         * @param rowOffset row of the crop's top-left within the uncropped oriented shape
+         * @param colOffset column of the crop's top-left within the uncropped oriented shape
+         */
+        private Entry(Orientation orientation, Entry same, int rowOffset, int colOffset) {
+            this.orientation = orientation;
+            this.cells = same.cells;
+            this.bits = same.bits;
+            this.rowOffset = rowOffset;
+            this.colOffset = colOffset;
+            this.cellCount = same.cellCount;
+            this.rowCounts = same.rowCounts;
+            this.colCounts = same.colCounts;
+        }
+
+        /**
+         * @return the orientation that this entry represents
+         */
+        public Orientation getOrientation() {
+            return orientation;
+        }
+
+        /**
+         * @return the number of rows in the cropped shape
+         */
+        public int getRows() {
+            return cells.length;
+        }
+
+        /**
+         * @return the number of columns in the cropped shape
+         */
+        public int getCols() {
+            return cells[0].length;
+        }
+
+        /**
+         * @param row a row of the cropped shape
+         * @param col a column of the cropped shape
+         * @return whether the cell at that position is true
+         */
+        public boolean isSet(int row, int col) {
+            return cells[row][col];
+        }
+
+        /**
+         * @return a copy of the cropped cells
+         */
+        public boolean[][] getCells() {
+            boolean[][] rtnVal = new boolean[cells.length][];
+            for (int i = 0; i < cells.length; i++) {
+                rtnVal[i] = cells[i].clone();
+            }
+            return rtnVal;
+        }
+
+        /**
+         * @return the cropped cells, bit-packed; shared, so must not be modified
+         */
+        public BitGrid getBits() {
+            return bits;
+        }
+
+        /**
+         * @return the row of the crop's top-left within the uncropped, oriented shape; it is
+         * subtracted from a cropped position to get the position reported through display
+         */
+        public int getRowOffset() {
+            return rowOffset;
+        }
+
+        /**
+         * @return the column of the crop's top-left within the uncropped, oriented shape
+         */
+        public int getColOffset() {
+            return colOffset;
+        }
+
+        /**
+         * @return the number of true cells
+         */
+        public int getCellCount() {
+            return cellCount;
+        }
+
+        /**
+         * @param row a row of the cropped shape
+         * @return the number of true cells in that row
+         */
+        public int getRowCount(int row) {
+            return rowCounts[row];
+        }
+
+        /**
+         * @param col a column of the cropped shape
+         * @return the number of true cells in that column
+         */
+        public int getColCount(int col) {
+            return colCounts[col];
+        }
+    }
+
+    // the distinct entries, in Orientation.values() order
+    private final List<Entry> entries;
+
+    // an entry for every orientation, indexed by ordinal (all null for an empty shape)
+    private final Entry[] byOrientation = new Entry[Orientation.values().length];
+
+    // the number of true cells in the shape
+    private final int cellCount;
+
+    /**
+     * constructor; builds the table for a shape
+     *
+     * @param shape the shape, in its original orientation
+     */
+    public OrientationTable(boolean[][] shape) {
+        ArrayList<Entry> list = new ArrayList<Entry>();
+        int count = 0;
+
+        for (Orientation or : Orientation.values()) {
+            boolean[][] oriented = or.transform(shape);
+
+            // find the bounding box of the true cells
+            int top = Integer.MAX_VALUE, left = Integer.MAX_VALUE;
+            int bottom = -1, right = -1;
+            count = 0;
+            for (int i = 0; i < oriented.length; i++) {
+                for (int j = 0; j < oriented[i].length; j++) {
+                    if (oriented[i][j]) {
+                        top = Math.min(top, i);
+                        bottom = Math.max(bottom, i);
+                        left = Math.min(left, j);
+                        right = Math.max(right, j);
+                        count++;
+                    }
+                }
+            }
+
+            // an empty shape has no orientations
+            if (count == 0) break;
+
+            // crop
+            boolean[][] cropped = new boolean[bottom - top + 1][];
+            for (int i = 0; i < cropped.length; i++) {
+                cropped[i] = Arrays.copyOfRange(oriented[top + i], left, right + 1);
+            }
+
+            // keep the orientation only if no earlier one looks the same
+            Entry same = null;
+            for (Entry e : list) {
+                if (Arrays.deepEquals(e.cells, cropped)) {
+                    same = e;
+                    break;
+                }
+            }
+            if (same == null) {
+                byOrientation[or.ordinal()] = new Entry(or, cropped, top, left, count);
+                list.add(byOrientation[or.ordinal()]);
+            } else {
+                byOrientation[or.ordinal()] = new Entry(or, same, top, left);
+            }
+        }
+
+        entries = Collections.unmodifiableList(list);
+        cellCount = count;
+    }
+
+    /**
+     * @return the distinct entries, in Orientation.values() order
+     */
+    public List<Entry> getEntries() {
+        return entries;
+    }
+
+    /**
+     * Gets the entry for any orientation, including one omitted from the distinct entries
+     * because it looks the same as an earlier one: it then has that entry's cells, but its
+     * own orientation and offsets.
+     *
+     * @param or the orientation
+     * @return the entry, or null for an empty shape
+     */
+    public Entry getEntry(Orientation or) {
+        return byOrientation[or.ordinal()];
+    }
+
+    /**
+     * @return the number of distinct orientations (zero for an empty shape)
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return the number of true cells in the shape
+     */
+    public int getCellCount() {
+        return cellCount;
+    }
+
+    /**
+     * @param worldRows the number of rows in a world
+     * @param worldCols the number of columns in the world
+     * @return the number of positions, over all entries, at which the cropped shape lies
+     * within the world
+     */
+    public long getPositionCount(int worldRows, int worldCols) {
+        long total = 0;
+        for (Entry entry : entries) {
+            total += (long) Math.max(0, worldRows - entry.getRows() + 1) *
+                    Math.max(0, worldCols - entry.getCols() + 1);
+        }
+        return total;
+    }
+
+    /**
+     * @return the order of the shape's symmetry group: 8 divided by the number of distinct
+     * orientations (1 for an asymmetric shape, 8 for a square)
+     */
+    public int getSymmetryOrder() {
+        return entries.isEmpty() ? 8 : 8 / entries.size();
+    }
+}
@@ -0,0 +1,332 @@
+package edu.up.cs301.shapefitter;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Solver that splits the search over a ForkJoinPool: each distinct orientation's rows are
+ * divided into bands, and the bands are searched in parallel using the same tests as
+ * IntegralImageShapeSolver.
+ *
+ * The fit that is reported is always the one that the sequential search order
+ * (orientation, then row, then column) would find first, so results do not depend on
+ * timing or on the number of cores. To achieve this, the earliest fit found so far is kept
+ * in a shared variable; a task stops as soon as the rest of its band comes later in the
+ * search order than that fit, so finding a fit cancels the work that can no longer matter.
+ *
+ * @author Phi Nguyen
+ * @version 18 October 2026
+ */
+public class ParallelShapeSolver extends ShapeSolver {
+
+    // the number of rows at or below which a band is searched without further splitting
+    private static final int BAND_ROWS = 8;
+
+    // value of the shared search-order key when no fit has been found
+    private static final long NO_FIT = Long.MAX_VALUE;
+
+    // the pool used by default; its worker threads are daemons, so it never needs shutting
+    // down
+    private static ForkJoinPool defaultPool;
+
+    // the pool in which this solver runs its tasks
+    private final ForkJoinPool pool;
+
+    /**
+     * Creates a solver for a particular problem, using a pool shared by all solvers.
+     *
+     * @param parmShape the shape to fit
+     * @param parmWorld the world to fit it into
+     * @param acc       to send notification messages to
+     */
+    public ParallelShapeSolver(boolean[][] parmShape, boolean[][] parmWorld,
+                               ShapeSolutionAcceptor acc) {
+        this(parmShape, parmWorld, acc, getDefaultPool());
+    }
+
+    /**
+     * Creates a solver for a particular problem.
+     *
+     * @param parmShape the shape to fit
+     * @param parmWorld the world to fit it into
+     * @param acc       to send notification messages to
+     * @param pool      the pool in which to run the search
+     */
+    public ParallelShapeSolver(boolean[][] parmShape, boolean[][] parmWorld,
+                               ShapeSolutionAcceptor acc, ForkJoinPool pool) {
+        // invoke superclass constructor
+        super(parmShape, parmWorld, acc);
+        this.pool = pool;
+    }
+
+    /**
+     * @return the pool shared by solvers that are not given one, creating it if necessary
+     */
+    static synchronized ForkJoinPool getDefaultPool() {
+        if (defaultPool == null) {
+            defaultPool = new ForkJoinPool();
+        }
+        return defaultPool;
+    }
+
+    /**
+     * Solves the problem by finding a fit, if possible. The last call to display tells where
+     * the fit is. If there is no fit, undisplay is called.
+     */
+    public void solve() {
+        // build the world-side tables once; they are only read by the tasks
+        beginPreprocessing();
+        IntegralImage sums = new IntegralImage(world);
+        BitGrid worldBits = BitGrid.fromArray(world);
+        OrientationTable table = new OrientationTable(shape);
+        endPhase();
+
+        // search all orientations in parallel; each band's task times (and, if asked to,
+        // counts) its work apart, and merges it in when done
+        SolveMetrics metrics = getMetrics();
+        boolean counting = getSearchMetrics() != null;
+        AtomicLong best = new AtomicLong(NO_FIT);
+        if (sums.total() >= table.getCellCount()) {
+            pool.invoke(new BandTask(sums, worldBits, table.getEntries(), best, getToken(),
+                    getProbeAcceptor(), metrics, counting, -1, 0, 0));
+        } else if (counting) {
+            // too few true cells overall for anything to fit
+            long positions = table.getPositionCount(sums.getRows(), sums.getCols());
+            metrics.addCandidates(positions);
+            metrics.addPruned(SolveMetrics.Filter.TOTAL_COUNT, positions);
+        }
+        if (isStopped()) {
+            // cancelled or timed out: report nothing
+            return;
+        }
+
+        // report the earliest fit, if any
+        long key = best.get();
+        if (key == NO_FIT) {
+            undisplay();
+        } else {
+            OrientationTable.Entry entry = table.getEntries().get(entryOf(key));
+            display(rowOf(key) - entry.getRowOffset(), colOf(key) - entry.getColOffset(),
+                    entry.getOrientation());
+        }
+    }
+
+    /**
+     * encodes a position as a key that orders positions the way the sequential search does
+     *
+     * @param entry the index of the orientation-table entry
+     * @param row the row of the cropped shape's top-left
+     * @param col the column of the cropped shape's top-left
+     * @return the key
+     */
+    private static long key(int entry, int row, int col) {
+        return ((long) entry << 42) | ((long) row << 21) | col;
+    }
+
+    /**
+     * @param key a key made by the key method
+     * @return the entry index encoded in the key
+     */
+    private static int entryOf(long key) {
+        return (int) (key >>> 42);
+    }
+
+    /**
+     * @param key a key made by the key method
+     * @return the row encoded in the key
+     */
+    private static int rowOf(long key) {
+        return (int) (key >>> 21) & 0x1FFFFF;
+    }
+
+    /**
+     * @param key a key made by the key method
+     * @return the column encoded in the key
+     */
+    private static int colOf(long key) {
+        return (int) key & 0x1FFFFF;
+    }
+
+    /**
+     * Task that searches a band of rows for one orientation. The task with entry index -1 is
+     * the root, which creates one task per orientation.
+     */
+    private static class BandTask extends RecursiveAction {
+
+        // tasks are never serialized, but RecursiveAction is Serializable
+        private static final long serialVersionUID = 1L;
+
+        // the shared, read-only world tables
+        private final IntegralImage sums;
+        private final BitGrid worldBits;
+
+        // the orientations
+        private final List<OrientationTable.Entry> entries;
+
+        // key of the earliest fit found so far (NO_FIT if none)
+        private final AtomicLong best;
+
+        // the token through which the solve may be stopped, or null
+        private final SolveToken token;
+
+        // the acceptor to tell of probes at the checkpoints, or null
+        private final ShapeProbeAcceptor probes;
+
+        // the solve's metrics, into which each band's are merged, and whether bands count
+        // their candidates as well as timing their search
+        private final SolveMetrics metrics;
+        private final boolean counting;
+
+        // the orientation, and the band of rows [rowStart, rowEnd) to search
+        private final int entryIdx;
+        private final int rowStart;
+        private final int rowEnd;
+
+        /**
+         * constructor
+         *
+         * @param sums the world's summed-area table
+         * @param worldBits the packed world
+         * @param entries the orientations
+         * @param best the key of the earliest fit found so far
+         * @param token the token through which the solve may be stopped, or null
+         * @param probes the acceptor to tell of probes at the checkpoints, or null
+         * @param metrics the solve's metrics
+         * @param counting whether to count candidates
+         * @param entryIdx the index of the orientation to search, or -1 for all of them
+         * @param rowStart the first row to search
+         * @param rowEnd one past the last row to search
+         */
+        BandTask(IntegralImage sums, BitGrid worldBits, List<OrientationTable.Entry> entries,
+                 AtomicLong best, SolveToken token, ShapeProbeAcceptor probes,
+                 SolveMetrics metrics, boolean counting, int entryIdx, int rowStart,
+                 int rowEnd) {
+            this.sums = sums;
+            this.worldBits = worldBits;
+            this.entries = entries;
+            this.best = best;
+            this.token = token;
+            this.probes = probes;
+            this.metrics = metrics;
+            this.counting = counting;
+            this.entryIdx = entryIdx;
+            this.rowStart = rowStart;
+            this.rowEnd = rowEnd;
+        }
+
+        /**
+         * performs the search, splitting it into smaller tasks if it is large
+         */
+        @Override
+        protected void compute() {
+            if (entryIdx < 0) {
+                // the root: one task for each orientation
+                BandTask[] tasks = new BandTask[entries.size()];
+                for (int e = 0; e < tasks.length; e++) {
+                    OrientationTable.Entry entry = entries.get(e);
+                    int rows = Math.max(0, sums.getRows() - entry.getRows() + 1);
+                    tasks[e] = new BandTask(sums, worldBits, entries, best, token, probes,
+                            metrics, counting, e, 0, rows);
+                }
+                invokeAll(tasks);
+            } else if (rowEnd - rowStart > BAND_ROWS) {
+                // split the band in two
+                int mid = (rowStart + rowEnd) >>> 1;
+                invokeAll(new BandTask(sums, worldBits, entries, best, token, probes,
+                                metrics, counting, entryIdx, rowStart, mid),
+                        new BandTask(sums, worldBits, entries, best, token, probes,
+                                metrics, counting, entryIdx, mid, rowEnd));
+            } else {
+                searchBand();
+            }
+        }
+
+        /**
+         * searches the band directly, then merges what it did into the solve's metrics
+         */
+        private void searchBand() {
+            long start = System.nanoTime();
+            SolveMetrics band = new SolveMetrics();
+            searchBand(counting ? band : null);
+            band.addOrientationNanos(entries.get(entryIdx).getOrientation(),
+                    System.nanoTime() - start);
+            metrics.merge(band);
+        }
+
+        /**
+         * searches the band directly
+         *
+         * @param band the metrics to count the band's candidates in, or null to not count
+         *             them
+         */
+        private void searchBand(SolveMetrics band) {
+            OrientationTable.Entry entry = entries.get(entryIdx);
+            int h = entry.getRows();
+            int w = entry.getCols();
+            int numSquares = entry.getCellCount();
+            int rows = sums.getRows() - h + 1;
+
+            // the candidates, and those each filter rejects, counted for the metrics once
+            // the band is done
+            long candidates = 0;
+            long windowPruned = 0;
+            long projectionsPruned = 0;
+            long cellsPruned = 0;
+            try {
+                for (int wR = rowStart; wR < rowEnd; wR++) {
+                    // stop if the solve has been cancelled or has timed out
+                    if (token != null && token.checkpoint(entryIdx, entries.size(), wR, rows)) {
+                        return;
+                    }
+
+                    // stop if the rest of the band comes after a fit that has been found
+                    if (key(entryIdx, wR, 0) > best.get()) return;
+                    ShapeSolver.probe(probes, entry, wR, 0);
+
+                    for (int wC = 0; wC <= sums.getCols() - w; wC++) {
+                        candidates++;
+                        if (sums.count(wR, wC, h, w) < numSquares) {
+                            windowPruned++;
+                        } else if (!IntegralImageShapeSolver.coversProjections(sums, entry, wR,
+                                wC)) {
+                            projectionsPruned++;
+                        } else if (band == null
+                                ? !BitboardShapeSolver.fits(worldBits, entry.getBits(), wR, wC)
+                                : !BitboardShapeSolver.countingFits(worldBits,
+                                entry.getBits(), wR, wC, band)) {
+                            cellsPruned++;
+                        } else {
+                            // record the fit if it is the earliest so far; the rest of this
+                            // band comes after it
+                            long k = key(entryIdx, wR, wC);
+                            long cur = best.get();
+                            while (k < cur && !best.compareAndSet(cur, k)) {
+                                cur = best.get();
+                            }
+                            return;
+                        }
+                    }
+                }
+            }
+            finally {
+                if (band != null) {
+                    band.addCandidates(candidates);
+                    band.addPruned(SolveMetrics.Filter.WINDOW_COUNT, windowPruned);
+                    band.addPruned(SolveMetrics.Filter.PROJECTIONS, projectionsPruned);
+                    band.addPruned(SolveMetrics.Filter.CELLS, cellsPruned);
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks if the shape is well-formed: has at least one square, and has all squares connected.
+     *
+     * @return whether the shape is well-formed
+     */
+    public boolean check() {
+        return ShapeChecker.isWellFormed(shape);
+    }
+}
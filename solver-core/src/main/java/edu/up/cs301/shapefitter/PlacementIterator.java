@@ -0,0 +1,111 @@
+package edu.up.cs301.shapefitter;
+
+import java.util.NoSuchElementException;
+
+/**
+ * A lazy, pull-based sequence of every placement at which a shape fits into a world, as
+ * packed placements (see Placements). One placement is reported for each distinct
+ * orientation (see OrientationTable) and position, in the usual search order: orientation,
+ * then row, then column. Each placement is found only when it is asked for, and the
+ * iterator holds only its current position, so any number of placements can be consumed
+ * in constant memory, and the caller can stop at any point.
+ *
+ * @author Phi Nguyen
+ * @version 18 October 2026
+ */
+public class PlacementIterator {
+
+    // the world-side tables
+    private final IntegralImage sums;
+    private final BitGrid worldBits;
+
+    // the orientations of the shape
+    private final OrientationTable table;
+
+    // the position at which the search resumes
+    private int entryIdx = 0;
+    private int row = 0;
+    private int col = 0;
+
+    // the placement found by lookahead, or NONE if it has not been looked for yet
+    private long next = Placements.NONE;
+
+    // whether the search is over
+    private boolean done;
+
+    /**
+     * constructor
+     *
+     * @param shape the shape
+     * @param world the world
+     */
+    public PlacementIterator(boolean[][] shape, boolean[][] world) {
+        this(new OrientationTable(shape), new IntegralImage(world), BitGrid.fromArray(world));
+    }
+
+    /**
+     * constructor for a search over tables that have already been built
+     *
+     * @param table the orientations of the shape
+     * @param sums the world's summed-area table
+     * @param worldBits the packed world
+     */
+    public PlacementIterator(OrientationTable table, IntegralImage sums, BitGrid worldBits) {
+        this.table = table;
+        this.sums = sums;
+        this.worldBits = worldBits;
+        done = sums.total() < table.getCellCount();
+    }
+
+    /**
+     * @return whether there is another placement
+     */
+    public boolean hasNext() {
+        if (next == Placements.NONE && !done) {
+            next = advance();
+        }
+        return next != Placements.NONE;
+    }
+
+    /**
+     * @return the next placement
+     * @throws NoSuchElementException if there are no more placements
+     */
+    public long nextLong() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        long rtnVal = next;
+        next = Placements.NONE;
+        return rtnVal;
+    }
+
+    /**
+     * resumes the search from the current position
+     *
+     * @return the next placement, or NONE if there are no more
+     */
+    private long advance() {
+        for (; entryIdx < table.size(); entryIdx++, row = 0) {
+            OrientationTable.Entry entry = table.getEntries().get(entryIdx);
+            int h = entry.getRows();
+            int w = entry.getCols();
+            int numSquares = entry.getCellCount();
+            for (; row <= sums.getRows() - h; row++, col = 0) {
+                for (; col <= sums.getCols() - w; col++) {
+                    if (sums.count(row, col, h, w) >= numSquares &&
+                            IntegralImageShapeSolver.coversProjections(sums, entry, row, col) &&
+                            BitboardShapeSolver.fits(worldBits, entry.getBits(), row, col)) {
+                        // resume just after this position next time
+                        long rtnVal = Placements.pack(row - entry.getRowOffset(),
+                                col - entry.getColOffset(), entry.getOrientation());
+                        col++;
+                        return rtnVal;
+                    }
+                }
+            }
+        }
+        done = true;
+        return Placements.NONE;
+    }
+}
@@ -0,0 +1,29 @@
+package edu.up.cs301.shapefitter;
+
+/**
+ * The inner loop of VectorShapeSolver: tells whether a run of packed shape rows is covered
+ * by a run of packed world rows. Implementations may test several rows per instruction;
+ * see PlacementKernels for how one is chosen.
+ *
+ * @author Phi Nguyen
+ * @version 18 October 2026
+ */
+public interface PlacementKernel {
+
+    /**
+     * Tells whether every bit of shapeRows[0..n) is also set in the corresponding element
+     * of strip[offset..offset+n).
+     *
+     * @param shapeRows the shape's rows (one 64-column word of each)
+     * @param strip the world's rows (the matching 64-column word of each)
+     * @param offset the index in strip corresponding to shapeRows[0]
+     * @param n the number of rows
+     * @return whether the shape rows are covered
+     */
+    boolean covers(long[] shapeRows, long[] strip, int offset, int n);
+
+    /**
+     * @return a short name for the kernel, for reporting
+     */
+    String getName();
+}
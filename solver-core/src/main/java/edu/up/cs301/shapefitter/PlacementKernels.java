@@ -0,0 +1,74 @@
+package edu.up.cs301.shapefitter;
+
+/**
+ * Chooses the PlacementKernel to use. The SIMD kernel (in the solver-jvm module, built
+ * on the jdk.incubator.vector API) is loaded by name, so that this module neither
+ * depends on it nor needs that API; if it is not on the class path, or the JVM was not
+ * started with --add-modules jdk.incubator.vector, the scalar kernel is used instead.
+ *
+ * The system property "shapefitter.kernel" may be set to "scalar" to prevent the SIMD
+ * kernel from being used.
+ *
+ * @author Phi Nguyen
+ * @version 18 October 2026
+ */
+public final class PlacementKernels {
+
+    // class name of the SIMD kernel
+    private static final String VECTOR_KERNEL =
+            "edu.up.cs301.shapefitter.jvm.VectorPlacementKernel";
+
+    // the kernel to use, found when first needed
+    private static PlacementKernel best;
+
+    /**
+     * not instantiable
+     */
+    private PlacementKernels() {
+    }
+
+    /**
+     * @return the scalar kernel
+     */
+    public static PlacementKernel scalar() {
+        return new ScalarPlacementKernel();
+    }
+
+    /**
+     * @return the fastest kernel available in this JVM
+     */
+    public static synchronized PlacementKernel best() {
+        if (best == null) {
+            best = "scalar".equals(System.getProperty("shapefitter.kernel"))
+                    ? scalar() : load(VECTOR_KERNEL);
+        }
+        return best;
+    }
+
+    /**
+     * Creates a kernel by class name.
+     *
+     * @param className the name of a PlacementKernel class with a public no-argument
+     *                  constructor
+     * @return the kernel, or the scalar kernel if it cannot be created in this JVM
+     */
+    static PlacementKernel load(String className) {
+        try {
+            PlacementKernel kernel =
+                    (PlacementKernel) Class.forName(className).newInstance();
+
+            // make sure it actually works here (rather than failing on first use)
+            long[] probe = {1L, 3L};
+            if (kernel.covers(probe, probe, 0, probe.length)) {
+                return kernel;
+            }
+        }
+        catch (Exception e) {
+            // not there, or not usable
+        }
+        catch (LinkageError e) {
+            // the class is there, but the vector API is not
+        }
+        return scalar();
+    }
+}
@@ -0,0 +1,87 @@
+package edu.up.cs301.shapefitter;
+
+/**
+ * Helpers for placements packed into a single long, so that large numbers of them can be
+ * produced and stored without creating an object for each. A packed placement holds:
+ * - bits 32-63: the row (signed)
+ * - bits 4-31: the column (signed, 28 bits)
+ * - bits 0-3: the ordinal of the Orientation
+ * The row and column are those that would be passed to ShapeSolutionAcceptor.display.
+ *
+ * @author Phi Nguyen
+ * @version 18 October 2026
+ */
+public final class Placements {
+
+    // value denoting "no placement"; it cannot be a valid placement, because its
+    // orientation bits do not denote an Orientation
+    public static final long NONE = -1L;
+
+    // the orientations, indexed by ordinal
+    private static final Orientation[] ORIENTATIONS = Orientation.values();
+
+    /**
+     * not instantiable
+     */
+    private Placements() {
+    }
+
+    /**
+     * packs a placement
+     *
+     * @param row the row in the world corresponding to the top-left of the shape
+     * @param col the column in the world corresponding to the top-left of the shape
+     * @param or the orientation
+     * @return the packed placement
+     */
+    public static long pack(int row, int col, Orientation or) {
+        return ((long) row << 32) | (((long) col << 4) & 0xFFFFFFF0L) | or.ordinal();
+    }
+
+    /**
+     * @param placement a packed placement
+     * @return its row
+     */
+    public static int row(long placement) {
+        return (int) (placement >> 32);
+    }
+
+    /**
+     * @param placement a packed placement
+     * @return its column
+     */
+    public static int col(long placement) {
+        return ((int) placement) >> 4;
+    }
+
+    /**
+     * @param placement a packed placement
+     * @return its orientation
+     */
+    public static Orientation orientation(long placement) {
+        return ORIENTATIONS[(int) placement & 0xF];
+    }
+
+    /**
+     * reports a packed placement to an acceptor
+     *
+     * @param placement the placement, or NONE
+     * @param acc the acceptor; display is called for a placement, undisplay for NONE
+     */
+    public static void report(long placement, ShapeSolutionAcceptor acc) {
+        if (placement == NONE) {
+            acc.undisplay();
+        } else {
+            acc.display(row(placement), col(placement), orientation(placement));
+        }
+    }
+
+    /**
+     * @param placement a packed placement
+     * @return a readable description of the placement
+     */
+    public static String toString(long placement) {
+        if (placement == NONE) return "none";
+        return "(" + row(placement) + "," + col(placement) + "," + orientation(placement) + ")";
+    }
+}
@@ -0,0 +1,95 @@
+package edu.up.cs301.shapefitter;
+
+/**
+ * The world-side tables used by the solvers, built once so that they can be shared by
+ * the solves of many shapes: the bit-packed world, its summed-area table and the index
+ * of its true cells. A prepared world is never modified, so it may be used by several
+ * threads at once.
+ *
+ * @author Phi Nguyen
+ * @version 18 October 2026
+ */
+public class PreparedWorld {
+
+    // the tables
+    private final BitGrid bits;
+    private final IntegralImage sums;
+    private final TrueCellIndex index;
+
+    /**
+     * constructor; builds the tables for a world
+     *
+     * @param world the world
+     */
+    public PreparedWorld(boolean[][] world) {
+        bits = BitGrid.fromArray(world);
+        sums = new IntegralImage(world);
+        index = new TrueCellIndex(world);
+    }
+
+    /**
+     * @return the number of rows in the world
+     */
+    public int getRows() {
+        return sums.getRows();
+    }
+
+    /**
+     * @return the number of columns in the world
+     */
+    public int getCols() {
+        return sums.getCols();
+    }
+
+    /**
+     * @return the packed world; shared, so must not be modified
+     */
+    public BitGrid getBits() {
+        return bits;
+    }
+
+    /**
+     * @return the world's summed-area table
+     */
+    public IntegralImage getSums() {
+        return sums;
+    }
+
+    /**
+     * @return the index of the world's true cells
+     */
+    public TrueCellIndex getIndex() {
+        return index;
+    }
+
+    /**
+     * finds the first fit of a shape, in the usual search order (orientation, then row,
+     * then column)
+     *
+     * @param table the orientations of the shape
+     * @return the fit as a packed placement (see Placements), or Placements.NONE
+     */
+    public long firstFit(OrientationTable table) {
+        return firstFit(table, null);
+    }
+
+    /**
+     * finds the first fit of a shape, in the usual search order (orientation, then row,
+     * then column), stopping early if a token says to
+     *
+     * @param table the orientations of the shape
+     * @param token the token through which the search may be stopped, or null
+     * @return the fit as a packed placement (see Placements), or Placements.NONE (also if
+     * stopped by the token)
+     */
+    public long firstFit(OrientationTable table, SolveToken token) {
+        // if the world has too few true cells overall, nothing can fit
+        if (sums.total() < table.getCellCount()) return Placements.NONE;
+
+        for (int e = 0; e < table.size(); e++) {
+            long fit = AnchorShapeSolver.firstFit(table, e, this, token, null);
+            if (fit != Placements.NONE || (token != null && token.isStopped())) return fit;
+        }
+        return Placements.NONE;
+    }
+}
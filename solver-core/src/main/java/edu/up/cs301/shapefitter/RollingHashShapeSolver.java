@@ -0,0 +1,307 @@
+package edu.up.cs301.shapefitter;
+
+/**
+ * Solver that compares a fingerprint (two-dimensional Rabin-Karp hash) of each world
+ * window with that of the shape, and checks cell by cell only where the fingerprints
+ * agree.
+ *
+ * Two kinds of matching are supported:
+ * - exact: the world must match the shape, true and false alike, within the bounding box
+ *   of the shape's true cells. Each world row is first hashed along its length: the hash
+ *   of the w cells starting at a column is a polynomial over their bits, and sliding it
+ *   one column right removes the leftmost cell's term and adds the new rightmost cell's,
+ *   reading one bit of the packed row each (see BitGrid). A window's fingerprint is then
+ *   a polynomial over the row hashes of its rows, rolled down each column the same way.
+ *   Each step of either slide is a constant number of operations, so every position is
+ *   compared in O(1).
+ * - masked (the usual "fit"): only the shape's true cells must land on true world cells.
+ *   A rolling hash cannot express this: which world cells count depends on the shape
+ *   cell over them, so a window's fingerprint cannot be derived from its neighbor's.
+ *   Fingerprinting the masked rows of each window would cost as much as testing them, so
+ *   in this mode each position goes straight to the bitboard test of
+ *   BitboardShapeSolver, with no fingerprint. It is kept only so that the two can be
+ *   compared; for masked fits, use BitboardShapeSolver itself.
+ *
+ * Exact matching is the default.
+ *
+ * Orientations and positions are searched in the same order as BitboardShapeSolver.
+ *
+ * @author Phi Nguyen
+ * @version 18 October 2026
+ */
+public class RollingHashShapeSolver extends ShapeSolver {
+
+    // multiplier for combining row hashes into a window fingerprint; arithmetic is
+    // modulo 2^64
+    private static final long ROW_BASE = 0x9E3779B97F4A7C15L;
+
+    // multiplier for combining the cells of a row into a row hash
+    private static final long CELL_BASE = 0xC2B2AE3D27D4EB4FL;
+
+    // whether to match exactly (rather than masked)
+    private final boolean exact;
+
+    /**
+     * Creates a solver for a particular problem, using exact matching.
+     *
+     * @param parmShape the shape to fit
+     * @param parmWorld the world to fit it into
+     * @param acc       to send notification messages to
+     */
+    public RollingHashShapeSolver(boolean[][] parmShape, boolean[][] parmWorld,
+                                  ShapeSolutionAcceptor acc) {
+        this(parmShape, parmWorld, acc, true);
+    }
+
+    /**
+     * Creates a solver for a particular problem.
+     *
+     * @param parmShape the shape to fit
+     * @param parmWorld the world to fit it into
+     * @param acc       to send notification messages to
+     * @param exact     true for exact matching; false for masked matching
+     */
+    public RollingHashShapeSolver(boolean[][] parmShape, boolean[][] parmWorld,
+                                  ShapeSolutionAcceptor acc, boolean exact) {
+        // invoke superclass constructor
+        super(parmShape, parmWorld, acc);
+        this.exact = exact;
+    }
+
+    /**
+     * Solves the problem by finding a fit (or exact match), if possible. The last call to
+     * display tells where the fit is. If there is no fit, undisplay is called.
+     */
+    public void solve() {
+        beginPreprocessing();
+        BitGrid worldBits = BitGrid.fromArray(world);
+        OrientationTable table = new OrientationTable(shape);
+        for (int e = 0; e < table.size(); e++) {
+            beginSearch(table.getEntries().get(e).getOrientation());
+            long fit = exact ? firstExact(table, e, worldBits) : firstMasked(table, e, worldBits);
+            if (isStopped()) {
+                // cancelled or timed out: report nothing
+                return;
+            }
+            if (fit != Placements.NONE) {
+                report(fit);
+                return;
+            }
+        }
+
+        // no fit found
+        undisplay();
+    }
+
+    /**
+     * finds the first exact match of one orientation, rolling the row hashes along the
+     * rows of the world, and the fingerprints down its columns
+     *
+     * @param table the orientations
+     * @param e the index of the orientation to search
+     * @param worldBits the packed world
+     * @return the match as a packed placement, or Placements.NONE (also if stopped at a
+     * checkpoint)
+     */
+    private long firstExact(OrientationTable table, int e, BitGrid worldBits) {
+        OrientationTable.Entry entry = table.getEntries().get(e);
+        SolveMetrics metrics = getSearchMetrics();
+        BitGrid shapeBits = entry.getBits();
+        int h = entry.getRows();
+        int w = entry.getCols();
+        int rows = worldBits.getRows() - h + 1;
+        int cols = worldBits.getCols() - w + 1;
+        if (rows <= 0 || cols <= 0) return Placements.NONE;
+
+        // the weights of a row's leftmost cell, and of a window's top row
+        long leftWeight = power(CELL_BASE, w - 1);
+        long topWeight = power(ROW_BASE, h - 1);
+
+        // the shape's fingerprint
+        long target = 0;
+        for (int i = 0; i < h; i++) {
+            target = target * ROW_BASE + cellHash(shapeBits, i, 0, w);
+        }
+
+        // the row hashes of the h world rows under the current windows (world row r is in
+        // rowHashes[r % h]), and each column's fingerprint for the window with its top at
+        // the current row
+        long[][] rowHashes = new long[h][cols];
+        long[] hashes = new long[cols];
+        for (int i = 0; i < h; i++) {
+            rollRow(worldBits, i, w, leftWeight, rowHashes[i]);
+            for (int c = 0; c < cols; c++) {
+                hashes[c] = hashes[c] * ROW_BASE + rowHashes[i][c];
+            }
+        }
+        long[] spare = new long[cols];
+
+        for (int wR = 0; ; wR++) {
+            if (checkpoint(e, table.size(), wR, rows)) {
+                return Placements.NONE;
+            }
+            probe(entry, wR, 0);
+            // compare each position's fingerprint, checking only the hits (and counting
+            // them, for the metrics)
+            int hits = 0;
+            for (int wC = 0; wC < cols; wC++) {
+                if (hashes[wC] != target) continue;
+                if (matchesExactly(worldBits, shapeBits, wR, wC)) {
+                    if (metrics != null) {
+                        metrics.addCandidates(wC + 1);
+                        metrics.addPruned(SolveMetrics.Filter.FINGERPRINT, wC - hits);
+                        metrics.addPruned(SolveMetrics.Filter.CELLS, hits);
+                    }
+
+                    // report the top-left of the uncropped shape
+                    return Placements.pack(wR - entry.getRowOffset(),
+                            wC - entry.getColOffset(), entry.getOrientation());
+                }
+                hits++;
+            }
+            if (metrics != null) {
+                metrics.addCandidates(cols);
+                metrics.addPruned(SolveMetrics.Filter.FINGERPRINT, cols - hits);
+                metrics.addPruned(SolveMetrics.Filter.CELLS, hits);
+            }
+            if (wR + 1 >= rows) break;
+
+            // hash the row coming in at the bottom, and roll each column's window down
+            // one row, dropping the row going out at the top
+            long[] out = rowHashes[wR % h];
+            rollRow(worldBits, wR + h, w, leftWeight, spare);
+            for (int wC = 0; wC < cols; wC++) {
+                hashes[wC] = (hashes[wC] - topWeight * out[wC]) * ROW_BASE + spare[wC];
+            }
+            rowHashes[wR % h] = spare;
+            spare = out;
+        }
+        return Placements.NONE;
+    }
+
+    /**
+     * finds the first masked fit of one orientation, testing each position with the
+     * bitboard test (see the class comment for why there is no fingerprint)
+     *
+     * @param table the orientations
+     * @param e the index of the orientation to search
+     * @param worldBits the packed world
+     * @return the fit as a packed placement, or Placements.NONE (also if stopped at a
+     * checkpoint)
+     */
+    private long firstMasked(OrientationTable table, int e, BitGrid worldBits) {
+        OrientationTable.Entry entry = table.getEntries().get(e);
+        SolveMetrics metrics = getSearchMetrics();
+        BitGrid shapeBits = entry.getBits();
+        int rows = worldBits.getRows() - entry.getRows() + 1;
+        int cols = worldBits.getCols() - entry.getCols() + 1;
+
+        for (int wR = 0; wR < rows; wR++) {
+            if (checkpoint(e, table.size(), wR, rows)) {
+                return Placements.NONE;
+            }
+            probe(entry, wR, 0);
+            for (int wC = 0; wC < cols; wC++) {
+                if (BitboardShapeSolver.fits(worldBits, shapeBits, wR, wC)) {
+                    if (metrics != null) {
+                        metrics.addCandidates(wC + 1);
+                        metrics.addPruned(SolveMetrics.Filter.CELLS, wC);
+                    }
+
+                    // report the top-left of the uncropped shape
+                    return Placements.pack(wR - entry.getRowOffset(),
+                            wC - entry.getColOffset(), entry.getOrientation());
+                }
+            }
+            if (metrics != null) {
+                metrics.addCandidates(cols);
+                metrics.addPruned(SolveMetrics.Filter.CELLS, cols);
+            }
+        }
+        return Placements.NONE;
+    }
+
+    /**
+     * computes the hashes of every run of w cells in one row, sliding the run one column
+     * at a time
+     *
+     * @param grid the packed grid
+     * @param row the row
+     * @param w the number of cells in a run
+     * @param leftWeight CELL_BASE^(w-1), the weight of a run's leftmost cell
+     * @param out receives the hash of the run starting at each column; its length is the
+     *            number of runs
+     */
+    private static void rollRow(BitGrid grid, int row, int w, long leftWeight, long[] out) {
+        long hash = cellHash(grid, row, 0, w);
+        out[0] = hash;
+        for (int c = 1; c < out.length; c++) {
+            // drop the cell leaving at the left, and add the one entering at the right
+            if (grid.get(row, c - 1)) hash -= leftWeight;
+            hash = hash * CELL_BASE + (grid.get(row, c + w - 1) ? 1 : 0);
+            out[c] = hash;
+        }
+    }
+
+    /**
+     * computes the hash of a run of cells in one row directly
+     *
+     * @param grid the packed grid
+     * @param row the row
+     * @param col the first column of the run
+     * @param w the number of cells in the run
+     * @return the hash
+     */
+    private static long cellHash(BitGrid grid, int row, int col, int w) {
+        long rtnVal = 0;
+        for (int j = 0; j < w; j++) {
+            rtnVal = rtnVal * CELL_BASE + (grid.get(row, col + j) ? 1 : 0);
+        }
+        return rtnVal;
+    }
+
+    /**
+     * @param base a number
+     * @param n a non-negative exponent
+     * @return base^n, modulo 2^64
+     */
+    private static long power(long base, int n) {
+        long rtnVal = 1;
+        for (int i = 0; i < n; i++) {
+            rtnVal *= base;
+        }
+        return rtnVal;
+    }
+
+    /**
+     * tells whether the world matches a packed shape exactly, within the shape's bounds
+     *
+     * @param worldBits the packed world
+     * @param shapeBits the packed shape
+     * @param row the world row corresponding to the top row of the shape
+     * @param col the world column corresponding to the left column of the shape
+     * @return whether they match
+     */
+    private static boolean matchesExactly(BitGrid worldBits, BitGrid shapeBits, int row,
+                                          int col) {
+        int w = shapeBits.getCols();
+        for (int i = 0; i < shapeBits.getRows(); i++) {
+            for (int k = 0; k < shapeBits.getWordsPerRow(); k++) {
+                long word = worldBits.extract(row + i, col + (k << 6));
+                int bits = w - (k << 6);
+                if (bits < 64) word &= (1L << bits) - 1;
+                if (word != shapeBits.word(i, k)) return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks if the shape is well-formed: has at least one square, and has all squares connected.
+     *
+     * @return whether the shape is well-formed
+     */
+    public boolean check() {
+        return ShapeChecker.isWellFormed(shape);
+    }
+}
@@ -0,0 +1,79 @@
+package edu.up.cs301.shapefitter;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Reads square 2D boolean arrays, one at a time, from a stream in the format used for the
+ * saved shapes and worlds:
+ * - a 4-byte integer denoting the size, N, of one of the sides
+ * - N sequences of bytes denoting the values of each row of the array
+ *   - each byte denotes the values of 8 elements in the array (LSB corresponding to the
+ *     lowest index. If N is not a multiple of 8, the last byte is zero-padded.
+ * Only one array at a time needs to be held in memory.
+ *
+ * @author Phi Nguyen
+ * @version 18 October 2026
+ */
+public class SavedArrayReader implements Closeable {
+
+    // the stream from which we read ints and bytes
+    private final DataInputStream dis;
+
+    /**
+     * constructor
+     *
+     * @param in the stream to read from
+     */
+    public SavedArrayReader(InputStream in) {
+        dis = new DataInputStream(new BufferedInputStream(in));
+    }
+
+    /**
+     * reads the next array
+     *
+     * @return the array, or null if the end of the stream has been reached
+     * @throws IOException if the stream cannot be read, or ends in the middle of an array
+     */
+    public boolean[][] read() throws IOException {
+        // read the size of the boolean array; end-of-file here means there are no more
+        int size;
+        try {
+            size = dis.readInt();
+        } catch (EOFException eofx) {
+            return null;
+        }
+
+        // create a square array of the appropriate size
+        boolean[][] arrayReadingIn = new boolean[size][size];
+
+        // read the bytes, using them to initialize the array elements
+        for (int i = 0; i < size; i++) {
+            byte val = 0; // the current type
+            for (int j = 0; j < size; j++) {
+                if (j % 8 == 0) {
+                    // every 8th time, we read a new byte
+                    val = dis.readByte();
+                }
+                // initialize array element
+                arrayReadingIn[i][j] = (val & 0x1) != 0;
+                // shift byte
+                val >>= 1;
+            }
+        }
+        return arrayReadingIn;
+    }
+
+    /**
+     * closes the underlying stream
+     *
+     * @throws IOException if the stream cannot be closed
+     */
+    public void close() throws IOException {
+        dis.close();
+    }
+}
@@ -0,0 +1,74 @@
+package edu.up.cs301.shapefitter;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes square 2D boolean arrays, one at a time, to a stream in the format described in
+ * SavedArrayReader.
+ *
+ * @author Phi Nguyen
+ * @version 18 October 2026
+ */
+public class SavedArrayWriter implements Closeable {
+
+    // the stream to which we write ints and bytes
+    private final DataOutputStream dos;
+
+    /**
+     * constructor
+     *
+     * @param out the stream to write to
+     */
+    public SavedArrayWriter(OutputStream out) {
+        dos = new DataOutputStream(new BufferedOutputStream(out));
+    }
+
+    /**
+     * writes an array
+     *
+     * @param arr the (square) array
+     * @throws IOException if the stream cannot be written
+     */
+    public void write(boolean[][] arr) throws IOException {
+        // write the size out at a 32-bit int
+        int size = arr.length;
+        dos.writeInt(size);
+
+        // iterate over each row in the array
+        for (int i = 0; i < size; i++) {
+            byte val = 0; // the current byte value being built up
+            byte mask = 0x0; // mask containing a '1' in the current byte's bit position
+            for (int j = 0; j < size; j++) {
+                mask <<= 1; // shift mask into next position
+                if (mask == 0x0) {
+                    // if mask is 0, then we're done with the byte; write it out and
+                    // reset the byte-value and mask
+                    if (j != 0) {
+                        dos.writeByte(val);
+                    }
+                    val = 0;
+                    mask = 0x1;
+                }
+                if (arr[i][j]) {
+                    // if the array element is 'true', "or" the mask into the bit-position
+                    val |= mask;
+                }
+            }
+            // write out the last byte for the array row
+            dos.writeByte(val);
+        }
+    }
+
+    /**
+     * flushes and closes the underlying stream
+     *
+     * @throws IOException if the stream cannot be closed
+     */
+    public void close() throws IOException {
+        dos.close();
+    }
+}
@@ -0,0 +1,37 @@
+package edu.up.cs301.shapefitter;
+
+/**
+ * PlacementKernel that tests one row at a time. It is always available.
+ *
+ * @author Phi Nguyen
+ * @version 18 October 2026
+ */
+public final class ScalarPlacementKernel implements PlacementKernel {
+
+    /**
+     * Tells whether every bit of shapeRows[0..n) is also set in the corresponding element
+     * of strip[offset..offset+n).
+     *
+     * @param shapeRows the shape's rows (one 64-column word of each)
+     * @param strip the world's rows (the matching 64-column word of each)
+     * @param offset the index in strip corresponding to shapeRows[0]
+     * @param n the number of rows
+     * @return whether the shape rows are covered
+     */
+    public boolean covers(long[] shapeRows, long[] strip, int offset, int n) {
+        for (int i = 0; i < n; i++) {
+            // a shape bit on a false world bit means no fit
+            if ((shapeRows[i] & ~strip[offset + i]) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return a short name for the kernel, for reporting
+     */
+    public String getName() {
+        return "scalar";
+    }
+}
@@ -0,0 +1,69 @@
+package edu.up.cs301.shapefitter;
+
+/**
+ * Helper for the solvers' check methods: determines whether a shape is well-formed.
+ *
+ * @author Phi Nguyen
+ * @version 18 October 2026
+ */
+public final class ShapeChecker {
+
+    /**
+     * not instantiable
+     */
+    private ShapeChecker() {
+    }
+
+    /**
+     * Checks if the shape is well-formed: has at least one square, and has all squares
+     * connected (horizontally or vertically).
+     *
+     * @param shape the shape
+     * @return whether the shape is well-formed
+     */
+    public static boolean isWellFormed(boolean[][] shape) {
+        // count the squares, remembering where one of them is
+        int total = 0;
+        int startRow = -1;
+        int startCol = -1;
+        for (int i = 0; i < shape.length; i++) {
+            for (int j = 0; j < shape[i].length; j++) {
+                if (shape[i][j]) {
+                    total++;
+                    startRow = i;
+                    startCol = j;
+                }
+            }
+        }
+        if (total == 0) return false;
+
+        // flood-fill from that square, using an explicit stack of packed positions
+        boolean[][] seen = new boolean[shape.length][];
+        for (int i = 0; i < shape.length; i++) {
+            seen[i] = new boolean[shape[i].length];
+        }
+        int[] stack = new int[total];
+        int top = 0;
+        int reached = 1;
+        seen[startRow][startCol] = true;
+        stack[top++] = (startRow << 16) | startCol;
+        while (top > 0) {
+            int pos = stack[--top];
+            int row = pos >>> 16;
+            int col = pos & 0xFFFF;
+            for (int d = 0; d < 4; d++) {
+                int r = row + (d == 0 ? -1 : d == 1 ? 1 : 0);
+                int c = col + (d == 2 ? -1 : d == 3 ? 1 : 0);
+                if (r >= 0 && r < shape.length && c >= 0 && c < shape[r].length &&
+                        shape[r][c] && !seen[r][c]) {
+                    seen[r][c] = true;
+                    reached++;
+                    stack[top++] = (r << 16) | c;
+                }
+            }
+        }
+
+        // well-formed exactly when every square was reached
+        return reached == total;
+    }
+}
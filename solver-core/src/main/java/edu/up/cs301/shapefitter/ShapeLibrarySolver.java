@@ -0,0 +1,120 @@
+package edu.up.cs301.shapefitter;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Solves many shapes--for example, the whole list of saved shapes--against one world. The
+ * world-side tables (see PreparedWorld) are built once and shared by all of the shapes,
+ * and the shapes are solved in parallel on a ForkJoinPool.
+ *
+ * For each shape, the result is its first fit in the usual search order, as a packed
+ * placement (see Placements), or Placements.NONE if it does not fit.
+ *
+ * @author Phi Nguyen
+ * @version 18 October 2026
+ */
+public class ShapeLibrarySolver {
+
+    // the number of shapes at or below which a group of shapes is solved without further
+    // splitting
+    private static final int GROUP_SIZE = 4;
+
+    // the world, with its tables
+    private final PreparedWorld world;
+
+    // the pool in which the shapes are solved
+    private final ForkJoinPool pool;
+
+    /**
+     * constructor, using the pool that is shared by the parallel solvers
+     *
+     * @param parmWorld the world
+     */
+    public ShapeLibrarySolver(boolean[][] parmWorld) {
+        this(parmWorld, ParallelShapeSolver.getDefaultPool());
+    }
+
+    /**
+     * constructor
+     *
+     * @param parmWorld the world
+     * @param pool the pool in which to solve the shapes
+     */
+    public ShapeLibrarySolver(boolean[][] parmWorld, ForkJoinPool pool) {
+        this.world = new PreparedWorld(parmWorld);
+        this.pool = pool;
+    }
+
+    /**
+     * finds the first fit of one shape
+     *
+     * @param shape the shape
+     * @return the fit as a packed placement, or Placements.NONE
+     */
+    public long firstFit(boolean[][] shape) {
+        return world.firstFit(new OrientationTable(shape));
+    }
+
+    /**
+     * finds the first fit of each of a list of shapes
+     *
+     * @param shapes the shapes
+     * @return for each shape, in the same order, its fit as a packed placement, or
+     * Placements.NONE
+     */
+    public long[] solveAll(List<boolean[][]> shapes) {
+        long[] rtnVal = new long[shapes.size()];
+        pool.invoke(new GroupTask(shapes, rtnVal, 0, shapes.size()));
+        return rtnVal;
+    }
+
+    /**
+     * Task that solves a contiguous group of shapes, splitting it if it is large.
+     */
+    private class GroupTask extends RecursiveAction {
+
+        // tasks are never serialized, but RecursiveAction is Serializable
+        private static final long serialVersionUID = 1L;
+
+        // the shapes, and the array into which results are stored
+        private final List<boolean[][]> shapes;
+        private final long[] results;
+
+        // the group [start, end) of shapes to solve
+        private final int start;
+        private final int end;
+
+        /**
+         * constructor
+         *
+         * @param shapes the shapes
+         * @param results the array into which results are stored
+         * @param start the index of the first shape to solve
+         * @param end one past the index of the last shape to solve
+         */
+        GroupTask(List<boolean[][]> shapes, long[] results, int start, int end) {
+            this.shapes = shapes;
+            this.results = results;
+            this.start = start;
+            this.end = end;
+        }
+
+        /**
+         * solves the group
+         */
+        @Override
+        protected void compute() {
+            if (end - start > GROUP_SIZE) {
+                int mid = (start + end) >>> 1;
+                invokeAll(new GroupTask(shapes, results, start, mid),
+                        new GroupTask(shapes, results, mid, end));
+            } else {
+                for (int i = start; i < end; i++) {
+                    results[i] = firstFit(shapes.get(i));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package edu.up.cs301.shapefitter;
+
+/**
+ * An acceptor that is also told where the solver is searching, so that the search can be
+ * watched as it goes. Solvers report a probe at each of their checkpoints (see
+ * ShapeSolver.checkpoint)--about once per row of positions--rather than at every position
+ * tried; the probe is the first position of the row (or other unit) about to be searched.
+ * Probes come from the solver's threads, several at once for a parallel solver, and
+ * always before the solve's final display or undisplay.
+ *
+ * @author Phi Nguyen
+ * @version 18 October 2026
+ */
+public interface ShapeProbeAcceptor extends ShapeSolutionAcceptor {
+    /**
+     * reports a position about to be searched. As in display, the position is that of
+     * the top-left of the whole shape array.
+     * @param row row in world corresponding to top-left of the probe
+     * @param col column in world corresponding to top-left of the probe
+     * @param or orientation of the probe
+     */
+    public void probe(int row, int col, Orientation or);
+}
@@ -10,7 +10,9 @@ package edu.up.cs301.shapefitter;
  */
 public interface ShapeSolutionAcceptor {
     /**
-     * reports a proposed solution
+     * reports a proposed solution. The position is that of the top-left of the whole shape
+     * array, including any empty rows and columns around the shape's squares; so it may lie
+     * outside the world (even be negative) when only that padding does.
      * @param row row in world corresponding to top-left in proposed solution
      * @param col column in world corresponding to top-left in proposed solution
      * @param or orientation of proposed solution
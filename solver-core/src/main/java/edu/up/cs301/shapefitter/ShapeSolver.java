@@ -0,0 +1,391 @@
+package edu.up.cs301.shapefitter;
+
+/**
+ * Created by vegdahl on 7/29/16.
+ *
+ * An abstract class that represents a solver that finds a location in a world
+
+ * @author Steven R. Vegdahl
+ * @version 4 August 2016
+ *
+ * where a shape fits.
+ */
+public abstract class ShapeSolver {
+
+    // the shape
+    protected boolean[][] shape;
+
+    // the world
+    protected boolean[][] world;
+
+    // the acceptor, for reporting the result
+    private ShapeSolutionAcceptor acceptor;
+
+    // the acceptor, if it is also to be told of probes (null if not)
+    private final ShapeProbeAcceptor probeAcceptor;
+
+    // the token for the current solve, or null if it cannot be stopped
+    private SolveToken token;
+
+    // the placement last reported, or Placements.NONE
+    private long reported = Placements.NONE;
+
+    // what the current (or last) solve did
+    private SolveMetrics metrics = new SolveMetrics();
+
+    // whether solves count their candidates, prunes and cells tested
+    private boolean detailedMetrics;
+
+    // the listener for this solver, or null to use the default
+    private SolveListener listener;
+
+    // the phase in progress (null if none), the orientation it searches, when it began,
+    // and the listener told of it, with that listener's context
+    private String phase;
+    private Orientation phaseOrientation;
+    private long phaseStart;
+    private SolveListener phaseListener;
+    private Object phaseContext;
+
+    /**
+     * constructor
+     * @param parmShape that shape object that denotes object to be fit
+     * @param parmWorld the world object, into which the shape should be fit
+     * @param acc the acceptor, to which results are reported
+     */
+    public ShapeSolver(boolean[][] parmShape, boolean[][] parmWorld, ShapeSolutionAcceptor acc) {
+        // set the acceptor instance variables
+        acceptor = acc;
+        probeAcceptor = acc instanceof ShapeProbeAcceptor ? (ShapeProbeAcceptor) acc : null;
+
+        // make a copy of the shape instance variable
+        shape = new boolean[parmShape.length][];
+        for (int i = 0; i < shape.length; i++) {
+            shape[i] = new boolean[parmShape[i].length];
+            for (int j = 0; j < shape[i].length; j++) {
+                shape[i][j] = parmShape[i][j];
+            }
+        }
+
+        // make a copy of the world instance variable
+        world = new boolean[parmWorld.length][];
+        for (int i = 0; i < world.length; i++) {
+            world[i] = new boolean[parmWorld[i].length];
+            for (int j = 0; j < world[i].length; j++) {
+                world[i][j] = parmWorld[i][j];
+            }
+        }
+    }
+
+    /**
+     * reports a proposed solutin. The position is that of the top-left of the whole shape
+     * array, including its padding, so it may lie outside the world; solvers that search
+     * with cropped shapes (see OrientationTable) translate back to it.
+     * @param row row in world corresponding to top-left in proposed solution
+     * @param col column in world corresponding to top-left in proposed solution
+     * @param orientation orientation of proposed solution
+     */
+    public void display(int row, int col, Orientation orientation) {
+        endPhase();
+        metrics.addPlacementsFound(1);
+        reported = Placements.pack(row, col, orientation);
+        acceptor.display(row, col, orientation);
+    }
+
+    /**
+     * reports that there is no solution
+     */
+    public void undisplay() {
+        endPhase();
+        reported = Placements.NONE;
+        acceptor.undisplay();
+    }
+
+    /**
+     * reports a packed placement (see Placements): calls display for a placement, or
+     * undisplay for Placements.NONE
+     * @param placement the placement
+     */
+    public void report(long placement) {
+        if (placement == Placements.NONE) {
+            undisplay();
+        } else {
+            display(Placements.row(placement), Placements.col(placement),
+                    Placements.orientation(placement));
+        }
+    }
+
+    /**
+     * Solves the problem by finding a fit, if possible. The last call to display tells where
+     * the fit is. If there is no fit, no call to display should be made--alternatively, a call to
+     * undisplay can be made.
+     */
+    public abstract void solve();
+
+    /**
+     * Solves the problem as solve does, but stopping early if the token is cancelled or
+     * its deadline passes. A solve that is stopped reports nothing through display or
+     * undisplay.
+     *
+     * @param token the token through which the solve may be stopped, or null if it may
+     *              not be
+     * @return the outcome of the solve
+     */
+    public SolveResult solve(SolveToken token) {
+        SolveListener l = getListener();
+        Object context = l == null ? null : l.solveBegun(this);
+        this.token = token;
+        try {
+            metrics = new SolveMetrics();
+            reported = Placements.NONE;
+            solve();
+        }
+        finally {
+            endPhase();
+            this.token = null;
+        }
+
+        SolveResult result;
+        if (token != null && token.isStopped()) {
+            result = new SolveResult(token.getStopStatus(), Placements.NONE,
+                    token.getProgress(), metrics);
+        } else if (reported == Placements.NONE) {
+            result = new SolveResult(SolveResult.Status.NOT_FOUND, Placements.NONE, 1, metrics);
+        } else {
+            result = new SolveResult(SolveResult.Status.FOUND, reported,
+                    token == null ? 1 : token.getProgress(), metrics);
+        }
+        if (l != null) {
+            l.solveEnded(context, result);
+        }
+        return result;
+    }
+
+    /**
+     * @return what the current (or last) solve did; each call of solve(SolveToken) starts
+     * a new set of metrics
+     */
+    public SolveMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Sets whether solves count their candidates, prunes and cells tested, as well as
+     * timing their phases and counting the placements found. Counting costs time in the
+     * search itself, so it is off unless asked for.
+     *
+     * @param detailed whether to count
+     */
+    public void setDetailedMetrics(boolean detailed) {
+        detailedMetrics = detailed;
+    }
+
+    /**
+     * @return the metrics in which the search should count its candidates, prunes and cells
+     * tested, or null if they are not to be counted (see setDetailedMetrics). Solvers
+     * count into them a row or band of positions at a time, not at each position.
+     */
+    protected SolveMetrics getSearchMetrics() {
+        return detailedMetrics ? metrics : null;
+    }
+
+    /**
+     * Sets the listener to tell of this solver's solves and their phases.
+     *
+     * @param listener the listener, or null to use the default listener
+     */
+    public void setListener(SolveListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Sets the listener to tell of solves and their phases, for solvers without their own.
+     * Unless it is set, it is the JFR listener of the solver-jvm module, when that is on
+     * the class path (and the system property "shapefitter.jfr" is not "false").
+     *
+     * @param listener the listener, or null for none
+     */
+    public static void setDefaultListener(SolveListener listener) {
+        DefaultListener.listener = listener;
+    }
+
+    /**
+     * @return the listener to tell of this solver's solves, or null if none
+     */
+    private SolveListener getListener() {
+        return listener != null ? listener : DefaultListener.listener;
+    }
+
+    /**
+     * Begins the preprocessing phase, ending any phase in progress. Solvers call this
+     * before building their world- and shape-side tables.
+     */
+    protected void beginPreprocessing() {
+        beginPhase(SolveListener.PREPROCESSING, null);
+    }
+
+    /**
+     * Begins the search of an orientation, ending any phase in progress. The phase ends
+     * when another begins, or when the solve ends.
+     *
+     * @param orientation the orientation
+     */
+    protected void beginSearch(Orientation orientation) {
+        beginPhase(SolveListener.SEARCH, orientation);
+    }
+
+    /**
+     * Begins a phase, ending any phase in progress.
+     *
+     * @param name the phase
+     * @param orientation the orientation it searches, or null
+     */
+    private void beginPhase(String name, Orientation orientation) {
+        endPhase();
+        phase = name;
+        phaseOrientation = orientation;
+        phaseListener = getListener();
+        phaseContext = phaseListener == null ? null
+                : phaseListener.phaseBegun(this, name, orientation);
+        phaseStart = System.nanoTime();
+    }
+
+    /**
+     * Ends the phase in progress, if any, adding its time to the metrics. Solvers that
+     * search their orientations at the same time, rather than one after another, call this
+     * after preprocessing instead of beginSearch, and add each orientation's time to the
+     * metrics themselves.
+     */
+    protected void endPhase() {
+        if (phase == null) return;
+        long nanos = System.nanoTime() - phaseStart;
+        if (phaseOrientation == null) {
+            metrics.addPreprocessingNanos(nanos);
+        } else {
+            metrics.addOrientationNanos(phaseOrientation, nanos);
+        }
+        if (phaseListener != null) {
+            phaseListener.phaseEnded(phaseContext);
+        }
+        phase = null;
+        phaseListener = null;
+        phaseContext = null;
+    }
+
+    /**
+     * @return the token for the current solve, or null if it cannot be stopped; solvers
+     * that search with static helpers pass this on to them
+     */
+    protected SolveToken getToken() {
+        return token;
+    }
+
+    /**
+     * A checkpoint in the search: records the progress made, and tells whether to stop.
+     * Solvers call this often (for instance, at the start of each row of positions), and
+     * return at once, reporting nothing, when it returns true.
+     *
+     * @param entry the index of the orientation being searched
+     * @param entries the number of orientations
+     * @param row the row (or other unit) about to be searched
+     * @param rows the number of rows (or other units)
+     * @return whether to stop
+     */
+    protected boolean checkpoint(int entry, int entries, int row, int rows) {
+        return token != null && token.checkpoint(entry, entries, row, rows);
+    }
+
+    /**
+     * Reports a probe (see ShapeProbeAcceptor), if the acceptor is to be told of them.
+     * Solvers call this at their checkpoints, with the first position about to be searched.
+     *
+     * @param entry the oriented shape being searched
+     * @param row the world row of the cropped shape's top
+     * @param col the world column of the cropped shape's left
+     */
+    protected void probe(OrientationTable.Entry entry, int row, int col) {
+        probe(probeAcceptor, entry, row, col);
+    }
+
+    /**
+     * @return the acceptor, if it is to be told of probes, or null; solvers that search
+     * with static helpers pass this on to them
+     */
+    protected ShapeProbeAcceptor getProbeAcceptor() {
+        return probeAcceptor;
+    }
+
+    /**
+     * Reports a probe to an acceptor, translating the cropped shape's position to that of
+     * the top-left of the uncropped shape.
+     *
+     * @param probes the acceptor, or null for none
+     * @param entry the oriented shape being searched
+     * @param row the world row of the cropped shape's top
+     * @param col the world column of the cropped shape's left
+     */
+    static void probe(ShapeProbeAcceptor probes, OrientationTable.Entry entry, int row,
+                      int col) {
+        if (probes != null) {
+            probes.probe(row - entry.getRowOffset(), col - entry.getColOffset(),
+                    entry.getOrientation());
+        }
+    }
+
+    /**
+     * @return whether a checkpoint has stopped the current solve
+     */
+    protected boolean isStopped() {
+        return token != null && token.isStopped();
+    }
+
+    /**
+     * Finds every fit, rather than just the first: returns a lazy sequence of all
+     * placements at which the shape fits, one for each distinct orientation and position.
+     * Nothing is reported through display or undisplay.
+     *
+     * @return the placements, as packed longs (see Placements)
+     */
+    public PlacementIterator placements() {
+        return new PlacementIterator(shape, world);
+    }
+
+    /**
+     * Checks if the shape is well-formed: has at least one square, and has all squares connected.
+     *
+     * @return whether the shape is well-formed
+     */
+    public abstract boolean check();
+
+    /**
+     * Holds the default listener, so that it is looked for when first needed.
+     */
+    private static class DefaultListener {
+
+        // class name of the listener that emits Java Flight Recorder events
+        private static final String JFR_LISTENER =
+                "edu.up.cs301.shapefitter.jvm.JfrSolveListener";
+
+        // the default listener, or null for none
+        static volatile SolveListener listener = load();
+
+        /**
+         * @return the JFR listener, or null if it is not available or has been turned off
+         */
+        private static SolveListener load() {
+            if ("false".equals(System.getProperty("shapefitter.jfr"))) {
+                return null;
+            }
+            try {
+                return (SolveListener) Class.forName(JFR_LISTENER).newInstance();
+            }
+            catch (Exception e) {
+                // not on the class path
+            }
+            catch (LinkageError e) {
+                // on the class path, but this JVM has no flight recorder
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package edu.up.cs301.shapefitter;
+
+/**
+ * Creates the solver that a SolverCostModel expects to be fastest for a problem. The
+ * choice, with the estimates it was based on, is available for inspection.
+ *
+ * VECTOR is only considered when a SIMD kernel is available (see PlacementKernels), and
+ * PARALLEL only when there is more than one processor.
+ *
+ * @author Phi Nguyen
+ * @version 18 October 2026
+ */
+public class ShapeSolverFactory {
+
+    /**
+     * The strategy chosen for a problem, with what the choice was based on.
+     */
+    public static final class Choice {
+
+        // the strategy chosen
+        private final SolverStrategy strategy;
+
+        // the problem's features
+        private final SolverFeatures features;
+
+        // the estimated time of each strategy (ns), indexed by ordinal; NaN for those
+        // not considered
+        private final double[] estimates;
+
+        /**
+         * constructor
+         *
+         * @param strategy the strategy chosen
+         * @param features the problem's features
+         * @param estimates the estimated time of each strategy (not copied)
+         */
+        private Choice(SolverStrategy strategy, SolverFeatures features, double[] estimates) {
+            this.strategy = strategy;
+            this.features = features;
+            this.estimates = estimates;
+        }
+
+        /**
+         * @return the strategy chosen
+         */
+        public SolverStrategy getStrategy() {
+            return strategy;
+        }
+
+        /**
+         * @return the features of the problem
+         */
+        public SolverFeatures getFeatures() {
+            return features;
+        }
+
+        /**
+         * @return the estimated time of the chosen strategy, in nanoseconds
+         */
+        public double getEstimatedCost() {
+            return estimates[strategy.ordinal()];
+        }
+
+        /**
+         * @param other a strategy
+         * @return its estimated time, in nanoseconds, or NaN if it was not considered
+         */
+        public double getEstimatedCost(SolverStrategy other) {
+            return estimates[other.ordinal()];
+        }
+
+        /**
+         * Creates a solver that uses the chosen strategy.
+         *
+         * @param shape the shape to fit
+         * @param world the world to fit it into
+         * @param acc to send notification messages to
+         * @return the solver
+         */
+        public ShapeSolver createSolver(boolean[][] shape, boolean[][] world,
+                                        ShapeSolutionAcceptor acc) {
+            return strategy.create(shape, world, acc);
+        }
+
+        /**
+         * @return a description of the choice, for logging
+         */
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder();
+            sb.append(strategy).append(" for ").append(features).append(":");
+            for (SolverStrategy s : SolverStrategy.values()) {
+                if (!Double.isNaN(estimates[s.ordinal()])) {
+                    sb.append(' ').append(s).append('=')
+                            .append(Math.round(estimates[s.ordinal()] / 1000)).append("us");
+                }
+            }
+            return sb.toString();
+        }
+    }
+
+    // the cost model
+    private final SolverCostModel model;
+
+    // the number of threads that a parallel solver would use
+    private final int threads;
+
+    /**
+     * Creates a factory with the default cost model.
+     */
+    public ShapeSolverFactory() {
+        this(new SolverCostModel());
+    }
+
+    /**
+     * Creates a factory with a given cost model.
+     *
+     * @param model the cost model
+     */
+    public ShapeSolverFactory(SolverCostModel model) {
+        this.model = model;
+        this.threads = Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Chooses a strategy for a problem.
+     *
+     * @param shape the shape to fit
+     * @param world the world to fit it into
+     * @return the choice
+     */
+    public Choice choose(boolean[][] shape, boolean[][] world) {
+        SolverFeatures features = new SolverFeatures(shape, world);
+        boolean simd = !(PlacementKernels.best() instanceof ScalarPlacementKernel);
+
+        SolverStrategy best = SolverStrategy.BRUTE_FORCE;
+        double[] estimates = new double[SolverStrategy.values().length];
+        for (SolverStrategy strategy : SolverStrategy.values()) {
+            if ((strategy == SolverStrategy.VECTOR && !simd) ||
+                    (strategy == SolverStrategy.PARALLEL && threads < 2)) {
+                estimates[strategy.ordinal()] = Double.NaN;
+                continue;
+            }
+            estimates[strategy.ordinal()] = model.estimate(strategy, features, threads);
+            if (estimates[strategy.ordinal()] < estimates[best.ordinal()]) {
+                best = strategy;
+            }
+        }
+        return new Choice(best, features, estimates);
+    }
+
+    /**
+     * Creates the solver expected to be fastest for a problem.
+     *
+     * @param shape the shape to fit
+     * @param world the world to fit it into
+     * @param acc to send notification messages to
+     * @return the solver
+     */
+    public ShapeSolver create(boolean[][] shape, boolean[][] world, ShapeSolutionAcceptor acc) {
+        return choose(shape, world).createSolver(shape, world, acc);
+    }
+}
@@ -0,0 +1,56 @@
+package edu.up.cs301.shapefitter;
+
+/**
+ * Is told as solves, and the phases within them, begin and end: for tracing and
+ * profiling (see, for example, JfrSolveListener in the solver-jvm module). A listener is
+ * called on the thread doing the solve, so it should be quick; each "begun" method
+ * returns an object that is passed back to the matching "ended" method.
+ *
+ * Listeners are set with ShapeSolver.setListener, or for all solvers with
+ * ShapeSolver.setDefaultListener. Whole solves are only reported for
+ * ShapeSolver.solve(SolveToken).
+ *
+ * @author Phi Nguyen
+ * @version 18 October 2026
+ */
+public interface SolveListener {
+
+    // the phase of building the world- and shape-side tables
+    String PREPROCESSING = "preprocessing";
+
+    // the phase of searching one orientation
+    String SEARCH = "search";
+
+    /**
+     * Called as a solve begins.
+     *
+     * @param solver the solver
+     * @return an object to pass to solveEnded (may be null)
+     */
+    Object solveBegun(ShapeSolver solver);
+
+    /**
+     * Called as a solve ends.
+     *
+     * @param context the object returned by solveBegun
+     * @param result the outcome of the solve, with its metrics
+     */
+    void solveEnded(Object context, SolveResult result);
+
+    /**
+     * Called as a phase of a solve begins.
+     *
+     * @param solver the solver
+     * @param phase the phase (PREPROCESSING or SEARCH)
+     * @param orientation the orientation being searched, or null if not SEARCH
+     * @return an object to pass to phaseEnded (may be null)
+     */
+    Object phaseBegun(ShapeSolver solver, String phase, Orientation orientation);
+
+    /**
+     * Called as a phase of a solve ends.
+     *
+     * @param context the object returned by phaseBegun
+     */
+    void phaseEnded(Object context);
+}
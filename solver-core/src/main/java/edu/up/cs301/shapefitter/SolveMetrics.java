@@ -0,0 +1,194 @@
+package edu.up.cs301.shapefitter;
+
+/**
+ * Counts and times what a solver did during a solve:
+ * - candidates: the positions it considered (in every orientation)
+ * - pruned: the candidates it rejected, by the filter that rejected them (see Filter)
+ * - cells tested: the shape cells it compared with world cells, one at a time or a row
+ *   word at a time (solvers that compare in other ways, such as by correlation or SIMD
+ *   kernel, count none)
+ * - preprocessing time: building the world- and shape-side tables
+ * - orientation time: searching each orientation (summed over threads, for solvers that
+ *   search on several)
+ * - placements found: fits reported through display
+ *
+ * A solver's metrics are available from ShapeSolver.getMetrics, and from the SolveResult
+ * of ShapeSolver.solve(SolveToken). The times and placements found are always recorded;
+ * the candidates, prunes and cells tested only if the solver is asked to count them (see
+ * ShapeSolver.setDetailedMetrics). The counting methods are not thread-safe; solvers
+ * that search on several threads count separately on each and then merge.
+ *
+ * @author Phi Nguyen
+ * @version 18 October 2026
+ */
+public final class SolveMetrics {
+
+    /**
+     * The filters by which candidates are rejected.
+     */
+    public enum Filter {
+        TOTAL_COUNT, // the whole world has fewer true cells than the shape
+        WINDOW_COUNT, // the window under the shape has fewer true cells than the shape
+        PROJECTIONS, // a row or column segment under the shape has too few true cells
+        ANCHOR, // the world cell under the shape's anchor cell is false
+        FINGERPRINT, // the window's fingerprint differs from the shape's
+        CORRELATION, // the correlation of the window and the shape is too small
+        ROW_MATCH, // the window's rows do not match the shape's (exact matching)
+        CELLS // a shape cell (or row word) lands on a false world cell
+    }
+
+    // the number of candidates considered
+    private long candidates;
+
+    // the number rejected by each filter, indexed by ordinal
+    private final long[] pruned = new long[Filter.values().length];
+
+    // the number of shape cells compared with world cells
+    private long cellsTested;
+
+    // time spent preprocessing (ns)
+    private long preprocessingNanos;
+
+    // time spent searching each orientation (ns), indexed by ordinal
+    private final long[] orientationNanos = new long[Orientation.values().length];
+
+    // the number of placements reported
+    private long placementsFound;
+
+    /**
+     * @param n the number of candidates to add
+     */
+    public void addCandidates(long n) {
+        candidates += n;
+    }
+
+    /**
+     * @param filter a filter
+     * @param n the number of candidates that it rejected
+     */
+    public void addPruned(Filter filter, long n) {
+        pruned[filter.ordinal()] += n;
+    }
+
+    /**
+     * @param n the number of cells tested to add
+     */
+    public void addCellsTested(long n) {
+        cellsTested += n;
+    }
+
+    /**
+     * @param nanos the preprocessing time to add
+     */
+    public void addPreprocessingNanos(long nanos) {
+        preprocessingNanos += nanos;
+    }
+
+    /**
+     * @param or an orientation
+     * @param nanos the time spent searching it to add
+     */
+    public void addOrientationNanos(Orientation or, long nanos) {
+        orientationNanos[or.ordinal()] += nanos;
+    }
+
+    /**
+     * @param n the number of placements found to add
+     */
+    public void addPlacementsFound(long n) {
+        placementsFound += n;
+    }
+
+    /**
+     * Adds another set of metrics to this one. Of the methods of this class, only this
+     * one may be called from several threads at once.
+     *
+     * @param other the metrics to add
+     */
+    public synchronized void merge(SolveMetrics other) {
+        candidates += other.candidates;
+        for (int i = 0; i < pruned.length; i++) {
+            pruned[i] += other.pruned[i];
+        }
+        cellsTested += other.cellsTested;
+        preprocessingNanos += other.preprocessingNanos;
+        for (int i = 0; i < orientationNanos.length; i++) {
+            orientationNanos[i] += other.orientationNanos[i];
+        }
+        placementsFound += other.placementsFound;
+    }
+
+    /**
+     * @return the number of candidates considered
+     */
+    public long getCandidates() {
+        return candidates;
+    }
+
+    /**
+     * @param filter a filter
+     * @return the number of candidates it rejected
+     */
+    public long getPruned(Filter filter) {
+        return pruned[filter.ordinal()];
+    }
+
+    /**
+     * @return the number of shape cells compared with world cells
+     */
+    public long getCellsTested() {
+        return cellsTested;
+    }
+
+    /**
+     * @return the time spent preprocessing, in nanoseconds
+     */
+    public long getPreprocessingNanos() {
+        return preprocessingNanos;
+    }
+
+    /**
+     * @param or an orientation
+     * @return the time spent searching it, in nanoseconds
+     */
+    public long getOrientationNanos(Orientation or) {
+        return orientationNanos[or.ordinal()];
+    }
+
+    /**
+     * @return the time spent searching all orientations, in nanoseconds
+     */
+    public long getSearchNanos() {
+        long sum = 0;
+        for (long nanos : orientationNanos) {
+            sum += nanos;
+        }
+        return sum;
+    }
+
+    /**
+     * @return the number of placements found
+     */
+    public long getPlacementsFound() {
+        return placementsFound;
+    }
+
+    /**
+     * @return a description of the metrics, for logging
+     */
+    @Override
+    public synchronized String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(candidates).append(" candidates, pruned");
+        for (Filter filter : Filter.values()) {
+            if (pruned[filter.ordinal()] != 0) {
+                sb.append(' ').append(filter).append('=').append(pruned[filter.ordinal()]);
+            }
+        }
+        sb.append(", ").append(cellsTested).append(" cells tested, ")
+                .append(placementsFound).append(" found; preprocessing ")
+                .append(preprocessingNanos / 1000).append("us, search ")
+                .append(getSearchNanos() / 1000).append("us");
+        return sb.toString();
+    }
+}
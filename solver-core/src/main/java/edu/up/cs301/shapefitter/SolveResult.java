@@ -0,0 +1,100 @@
+package edu.up.cs301.shapefitter;
+
+/**
+ * The outcome of ShapeSolver.solve(SolveToken): a placement, the absence of one, or an
+ * early stop with the progress that had been made.
+ *
+ * @author Phi Nguyen
+ * @version 18 October 2026
+ */
+public final class SolveResult {
+
+    /**
+     * How a solve ended.
+     */
+    public enum Status {
+        FOUND, // a fit was found
+        NOT_FOUND, // the search finished without finding a fit
+        CANCELLED, // the token was cancelled before the search finished
+        TIMED_OUT // the token's deadline passed before the search finished
+    }
+
+    // how the solve ended
+    private final Status status;
+
+    // the placement found, or Placements.NONE
+    private final long placement;
+
+    // the proportion (0 to 1) of the search done
+    private final double progress;
+
+    // what the solver did
+    private final SolveMetrics metrics;
+
+    /**
+     * constructor
+     *
+     * @param status how the solve ended
+     * @param placement the placement found (see Placements), or Placements.NONE
+     * @param progress the proportion (0 to 1) of the search done
+     * @param metrics what the solver did
+     */
+    public SolveResult(Status status, long placement, double progress, SolveMetrics metrics) {
+        this.status = status;
+        this.placement = placement;
+        this.progress = progress;
+        this.metrics = metrics;
+    }
+
+    /**
+     * @return how the solve ended
+     */
+    public Status getStatus() {
+        return status;
+    }
+
+    /**
+     * @return whether the solve finished, rather than being stopped
+     */
+    public boolean isComplete() {
+        return status == Status.FOUND || status == Status.NOT_FOUND;
+    }
+
+    /**
+     * @return the placement found (see Placements), or Placements.NONE
+     */
+    public long getPlacement() {
+        return placement;
+    }
+
+    /**
+     * @return the proportion (0 to 1) of the search done: 1 for a search that finished
+     * without a fit; otherwise, as of the last checkpoint
+     */
+    public double getProgress() {
+        return progress;
+    }
+
+    /**
+     * @return what the solver did
+     */
+    public SolveMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * @return a description of the result, for logging
+     */
+    @Override
+    public String toString() {
+        switch (status) {
+            case FOUND:
+                return "found " + Placements.toString(placement);
+            case NOT_FOUND:
+                return "not found";
+            default:
+                return status.name().toLowerCase() + " after " +
+                        Math.round(progress * 100) + "%";
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package edu.up.cs301.shapefitter;
+
+import java.util.Arrays;
+
+/**
+ * A persistent solve for one shape in a world that is being edited. For every distinct
+ * orientation and position, the session keeps the number of shape cells that land on
+ * true world cells, together with a packed bitset of the positions where that number
+ * equals the size of the shape (i.e., the fits). Changing one world cell only updates
+ * the positions whose window covers that cell--at most one per shape cell per
+ * orientation--so after an edit, the fits are available again without searching.
+ *
+ * The counts are built when first needed (by the first edit or query), or when prepare
+ * is called, not when the session is created. A caller that edits the session on a
+ * thread that must stay responsive (such as a UI thread) should call prepare on another
+ * thread before handing the session over, so that no edit pays for the full count.
+ *
+ * A session is thread-safe: its public methods are synchronized, so an edit made while
+ * the counts are being built waits for them, then applies.
+ *
+ * @author Phi Nguyen
+ * @version 18 October 2026
+ */
+public class SolveSession {
+
+    // the shape, as given
+    private final boolean[][] shape;
+
+    // our own copy of the world, kept up to date with edits
+    private final boolean[][] world;
+
+    // the orientations of the shape
+    private final OrientationTable table;
+
+    // for each orientation: the match count for each position (row-major), and the
+    // positions that fit (null until built)
+    private int[][] counts;
+    private BitGrid[] fits;
+
+    // for each orientation, the positions of its true cells, packed as (row << 16) | col
+    private int[][] cellPositions;
+
+    // the total number of fits
+    private int fitCount;
+
+    /**
+     * constructor; copies the shape and world, leaving the initial (full) solve until the
+     * session is first edited or queried
+     *
+     * @param parmShape the shape
+     * @param parmWorld the world
+     */
+    public SolveSession(boolean[][] parmShape, boolean[][] parmWorld) {
+        // make our own copies
+        shape = copy(parmShape);
+        world = copy(parmWorld);
+        table = new OrientationTable(shape);
+    }
+
+    /**
+     * does the initial (full) solve now, if it has not been done, so that later edits and
+     * queries only update or read the counts
+     */
+    public synchronized void prepare() {
+        build();
+    }
+
+    /**
+     * does the initial (full) solve, if it has not been done
+     */
+    private void build() {
+        if (counts != null) return;
+
+        int worldRows = world.length;
+        int worldCols = worldRows == 0 ? 0 : world[0].length;
+        BitGrid worldBits = BitGrid.fromArray(world);
+
+        counts = new int[table.size()][];
+        fits = new BitGrid[table.size()];
+        cellPositions = new int[table.size()][];
+        for (int e = 0; e < table.size(); e++) {
+            OrientationTable.Entry entry = table.getEntries().get(e);
+            BitGrid shapeBits = entry.getBits();
+
+            // remember where the true cells are
+            cellPositions[e] = new int[entry.getCellCount()];
+            int n = 0;
+            for (int i = 0; i < entry.getRows(); i++) {
+                for (int j = 0; j < entry.getCols(); j++) {
+                    if (entry.isSet(i, j)) cellPositions[e][n++] = (i << 16) | j;
+                }
+            }
+
+            // count the matches at each position, a word at a time
+            int rows = Math.max(0, worldRows - entry.getRows() + 1);
+            int cols = Math.max(0, worldCols - entry.getCols() + 1);
+            counts[e] = new int[rows * cols];
+            fits[e] = new BitGrid(rows, cols);
+            for (int r = 0; r < rows; r++) {
+                for (int c = 0; c < cols; c++) {
+                    int count = 0;
+                    for (int i = 0; i < shapeBits.getRows(); i++) {
+                        for (int k = 0; k < shapeBits.getWordsPerRow(); k++) {
+                            count += Long.bitCount(shapeBits.word(i, k) &
+                                    worldBits.extract(r + i, c + (k << 6)));
+                        }
+                    }
+                    counts[e][r * cols + c] = count;
+                    if (count == entry.getCellCount()) {
+                        fits[e].set(r, c, true);
+                        fitCount++;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * makes a copy of a 2D array
+     *
+     * @param arr the array
+     * @return the copy
+     */
+    private static boolean[][] copy(boolean[][] arr) {
+        boolean[][] rtnVal = new boolean[arr.length][];
+        for (int i = 0; i < arr.length; i++) {
+            rtnVal[i] = arr[i].clone();
+        }
+        return rtnVal;
+    }
+
+    /**
+     * tells whether this session is for a given shape and world, and so can answer for
+     * them without a new solve
+     *
+     * @param parmShape the shape
+     * @param parmWorld the world
+     * @return whether the session's shape and world equal those given
+     */
+    public synchronized boolean matches(boolean[][] parmShape, boolean[][] parmWorld) {
+        return Arrays.deepEquals(shape, parmShape) && Arrays.deepEquals(world, parmWorld);
+    }
+
+    /**
+     * changes one cell of the world, updating the fits
+     *
+     * @param row the row of the cell
+     * @param col the column of the cell
+     * @param val the new value of the cell
+     */
+    public synchronized void setCell(int row, int col, boolean val) {
+        // ignore positions outside the world, and cells that do not change
+        if (row < 0 || row >= world.length || col < 0 || col >= world[row].length ||
+                world[row][col] == val) {
+            return;
+        }
+        build();
+        world[row][col] = val;
+        int delta = val ? 1 : -1;
+
+        for (int e = 0; e < counts.length; e++) {
+            int numSquares = table.getEntries().get(e).getCellCount();
+            BitGrid fitBits = fits[e];
+            int cols = fitBits.getCols();
+
+            // each true shape cell that could cover the changed cell gives one position
+            for (int pos : cellPositions[e]) {
+                int r = row - (pos >>> 16);
+                int c = col - (pos & 0xFFFF);
+                if (r < 0 || r >= fitBits.getRows() || c < 0 || c >= cols) continue;
+                int idx = r * cols + c;
+                boolean wasFit = counts[e][idx] == numSquares;
+                counts[e][idx] += delta;
+                boolean isFit = counts[e][idx] == numSquares;
+                if (wasFit != isFit) {
+                    fitBits.set(r, c, isFit);
+                    fitCount += isFit ? 1 : -1;
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the number of placements at which the shape fits
+     */
+    public synchronized int getFitCount() {
+        build();
+        return fitCount;
+    }
+
+    /**
+     * finds the first fit, in the usual search order (orientation, then row, then column)
+     *
+     * @return the fit as a packed placement (see Placements), or Placements.NONE
+     */
+    public synchronized long firstFit() {
+        build();
+        if (fitCount == 0) return Placements.NONE;
+        for (int e = 0; e < fits.length; e++) {
+            BitGrid fitBits = fits[e];
+            for (int r = 0; r < fitBits.getRows(); r++) {
+                for (int k = 0; k < fitBits.getWordsPerRow(); k++) {
+                    long word = fitBits.word(r, k);
+                    if (word != 0) {
+                        // report the top-left of the uncropped shape
+                        OrientationTable.Entry entry = table.getEntries().get(e);
+                        int c = (k << 6) + Long.numberOfTrailingZeros(word);
+                        return Placements.pack(r - entry.getRowOffset(),
+                                c - entry.getColOffset(), entry.getOrientation());
+                    }
+                }
+            }
+        }
+        return Placements.NONE;
+    }
+
+    /**
+     * reports every fit, in the usual search order
+     *
+     * @return the fits, as packed placements (see Placements)
+     */
+    public synchronized long[] allFits() {
+        build();
+        long[] rtnVal = new long[fitCount];
+        int n = 0;
+        for (int e = 0; e < fits.length; e++) {
+            OrientationTable.Entry entry = table.getEntries().get(e);
+            BitGrid fitBits = fits[e];
+            for (int r = 0; r < fitBits.getRows(); r++) {
+                for (int k = 0; k < fitBits.getWordsPerRow(); k++) {
+                    // visit each set bit of the word
+                    for (long word = fitBits.word(r, k); word != 0; word &= word - 1) {
+                        int c = (k << 6) + Long.numberOfTrailingZeros(word);
+                        rtnVal[n++] = Placements.pack(r - entry.getRowOffset(),
+                                c - entry.getColOffset(), entry.getOrientation());
+                    }
+                }
+            }
+        }
+        return rtnVal;
+    }
+}
@@ -0,0 +1,166 @@
+package edu.up.cs301.shapefitter;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lets a solve be stopped early: by a call to cancel (from any thread), or when an
+ * optional deadline passes. Solvers look at the token at checkpoints that are cheap and
+ * frequent--typically at the start of each row of positions--and stop at the first one
+ * after a cancellation or the deadline; see ShapeSolver.solve(SolveToken).
+ *
+ * The deadline's clock can be stopped while the solve is held up on purpose--for
+ * example, while the user has paused it--by calls to pause and resume, so that only the
+ * time the solve could have been running counts against it.
+ *
+ * A token also records how far the search had got at its last checkpoint (or at the one
+ * that stopped it). It should therefore be used for only one solve; for solvers that
+ * search on several threads, it is that of whichever thread reached a checkpoint last.
+ *
+ * @author Phi Nguyen
+ * @version 18 October 2026
+ */
+public class SolveToken {
+
+    // whether cancel has been called
+    private volatile boolean cancelled;
+
+    // the deadline (in System.nanoTime terms), if there is one; moved later by the time
+    // spent paused
+    private final boolean hasDeadline;
+    private volatile long deadline;
+
+    // the number of calls to pause not yet matched by a call to resume, and when the
+    // first of them was made (in System.nanoTime terms); changed only while synchronized,
+    // but read without locking at every checkpoint
+    private volatile int pauses;
+    private long pausedAt;
+
+    // the result status with which the solve was stopped, or null if it has not been
+    private volatile SolveResult.Status stopStatus;
+
+    // the proportion of the search done, as of the last checkpoint
+    private volatile double progress;
+
+    /**
+     * Creates a token without a deadline.
+     */
+    public SolveToken() {
+        hasDeadline = false;
+        deadline = 0;
+    }
+
+    /**
+     * Creates a token whose deadline is some time from now.
+     *
+     * @param timeout the time after which to stop
+     * @param unit the unit of timeout
+     */
+    public SolveToken(long timeout, TimeUnit unit) {
+        hasDeadline = true;
+        deadline = System.nanoTime() + unit.toNanos(timeout);
+    }
+
+    /**
+     * Asks the solve to stop at its next checkpoint.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * @return whether cancel has been called
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Stops the deadline's clock until a matching call to resume. Calls may be nested (for
+     * example, by several threads of one solve): the clock runs again when each has been
+     * matched.
+     */
+    public synchronized void pause() {
+        if (pauses == 0) {
+            pausedAt = System.nanoTime();
+        }
+        pauses++;
+    }
+
+    /**
+     * Restarts the deadline's clock, stopped by pause; the deadline is moved later by the
+     * time for which it was stopped. A call without a matching pause is ignored.
+     */
+    public synchronized void resume() {
+        if (pauses == 0) return;
+
+        // move the deadline before restarting the clock, so that a checkpoint in between
+        // does not find it passed
+        if (pauses == 1) {
+            deadline += System.nanoTime() - pausedAt;
+        }
+        pauses--;
+    }
+
+    /**
+     * @return whether the deadline's clock is stopped
+     */
+    public boolean isPaused() {
+        return pauses > 0;
+    }
+
+    /**
+     * @return whether the token has a deadline, and it has passed; never while the
+     * deadline's clock is stopped
+     */
+    public boolean isExpired() {
+        return hasDeadline && !isPaused() && System.nanoTime() - deadline >= 0;
+    }
+
+    /**
+     * Records progress, and tells whether to stop. The progress is that of a search of
+     * several orientations, each over a number of rows (or other units) of positions.
+     *
+     * @param entry the index of the orientation being searched
+     * @param entries the number of orientations
+     * @param row the row (or other unit) about to be searched
+     * @param rows the number of rows (or other units)
+     * @return whether the solve should stop, without reporting a result
+     */
+    public boolean checkpoint(int entry, int entries, int row, int rows) {
+        // once stopped, the progress stays as it was at the checkpoint that stopped it
+        if (stopStatus != null) {
+            return true;
+        }
+        if (entries > 0) {
+            progress = (entry + (rows > 0 ? (double) row / rows : 0)) / entries;
+        }
+        if (cancelled) {
+            stopStatus = SolveResult.Status.CANCELLED;
+        } else if (isExpired()) {
+            stopStatus = SolveResult.Status.TIMED_OUT;
+        }
+        return stopStatus != null;
+    }
+
+    /**
+     * @return whether a checkpoint has stopped the solve
+     */
+    public boolean isStopped() {
+        return stopStatus != null;
+    }
+
+    /**
+     * @return the status with which a checkpoint stopped the solve (CANCELLED or
+     * TIMED_OUT), or null if none has
+     */
+    public SolveResult.Status getStopStatus() {
+        return stopStatus;
+    }
+
+    /**
+     * @return the proportion (0 to 1) of the search done, as of the last checkpoint
+     */
+    public double getProgress() {
+        return progress;
+    }
+}
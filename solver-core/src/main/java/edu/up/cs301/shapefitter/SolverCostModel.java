@@ -0,0 +1,224 @@
+package edu.up.cs301.shapefitter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Properties;
+
+/**
+ * Estimates how long each SolverStrategy would take on a problem, from its SolverFeatures.
+ * Each estimate is a weighted sum of terms that describe the work the strategy does
+ * (cells to preprocess, positions to search, rows to test at each, and so on); the
+ * weights--the coefficients--are in nanoseconds per unit of each term, and are fitted to
+ * benchmark results (see CostModelCalibration in the solver-bench module).
+ *
+ * The terms assume that the world's true cells are scattered at random:
+ * - a position fits with probability fill^cells, so a search that stops at the first fit
+ *   examines about min(positions, fill^-cells) of them
+ * - a test that stops at the first false cell examines (1 - fill^n) / (1 - fill) of n
+ *   cells, and likewise for rows (a row passing with probability fill^(cells/rows))
+ * - a window passes the count filter of IntegralImageShapeSolver with probability
+ *   exp(-2 (cells - fill * area)^2 / area), when fewer than the needed cells are
+ *   expected (Hoeffding's bound)
+ *
+ * Coefficients can be loaded from, and stored to, a properties file with one entry per
+ * strategy, whose value is its comma-separated coefficients.
+ *
+ * @author Phi Nguyen
+ * @version 18 October 2026
+ */
+public final class SolverCostModel {
+
+    // coefficients (ns per unit of each term) fitted to SolverBenchmark results from a
+    // desktop JVM, indexed by strategy ordinal; see terms for what each one weights
+    private static final double[][] DEFAULTS = {
+            {3.9, 4.1}, // BRUTE_FORCE
+            {8.6, 8.6}, // BITBOARD
+            {8.5, 2.8, 21.0}, // INTEGRAL_IMAGE
+            {34.0, 9.6}, // FFT
+            {17500.0, 8.4, 3.2}, // PARALLEL
+            {9.8, 14.7}, // ANCHOR
+            {3.0, 2.6, 6.1}, // VECTOR
+    };
+
+    // the coefficients, indexed by strategy ordinal
+    private final double[][] coefficients;
+
+    /**
+     * Creates a model with the default coefficients.
+     */
+    public SolverCostModel() {
+        coefficients = new double[DEFAULTS.length][];
+        for (int i = 0; i < DEFAULTS.length; i++) {
+            coefficients[i] = DEFAULTS[i].clone();
+        }
+    }
+
+    /**
+     * Creates a model with the default coefficients, but with those given for some
+     * strategies.
+     *
+     * @param props properties as written by store
+     * @throws IllegalArgumentException if a property does not have the right number of
+     *                                  coefficients for its strategy
+     */
+    public SolverCostModel(Properties props) {
+        this();
+        for (SolverStrategy strategy : SolverStrategy.values()) {
+            String value = props.getProperty(strategy.name());
+            if (value != null) {
+                String[] parts = value.split(",");
+                double[] coeffs = new double[parts.length];
+                for (int i = 0; i < parts.length; i++) {
+                    coeffs[i] = Double.parseDouble(parts[i].trim());
+                }
+                setCoefficients(strategy, coeffs);
+            }
+        }
+    }
+
+    /**
+     * Loads a model from a properties file.
+     *
+     * @param in the stream to read the properties from
+     * @return the model
+     * @throws IOException if the properties cannot be read
+     */
+    public static SolverCostModel load(InputStream in) throws IOException {
+        Properties props = new Properties();
+        props.load(in);
+        return new SolverCostModel(props);
+    }
+
+    /**
+     * Stores the model's coefficients as a properties file.
+     *
+     * @param out the stream to write the properties to
+     * @param comments a comment for the top of the file, or null for none
+     * @throws IOException if the properties cannot be written
+     */
+    public void store(OutputStream out, String comments) throws IOException {
+        Properties props = new Properties();
+        for (SolverStrategy strategy : SolverStrategy.values()) {
+            StringBuilder sb = new StringBuilder();
+            for (double coeff : coefficients[strategy.ordinal()]) {
+                if (sb.length() > 0) sb.append(',');
+                sb.append(coeff);
+            }
+            props.setProperty(strategy.name(), sb.toString());
+        }
+        props.store(out, comments);
+    }
+
+    /**
+     * @param strategy a strategy
+     * @return a copy of the strategy's coefficients
+     */
+    public double[] getCoefficients(SolverStrategy strategy) {
+        return coefficients[strategy.ordinal()].clone();
+    }
+
+    /**
+     * Sets a strategy's coefficients.
+     *
+     * @param strategy the strategy
+     * @param coeffs the coefficients, one per term
+     * @throws IllegalArgumentException if there is not one coefficient per term
+     */
+    public void setCoefficients(SolverStrategy strategy, double[] coeffs) {
+        if (coeffs.length != DEFAULTS[strategy.ordinal()].length) {
+            throw new IllegalArgumentException(strategy + " needs " +
+                    DEFAULTS[strategy.ordinal()].length + " coefficients");
+        }
+        coefficients[strategy.ordinal()] = coeffs.clone();
+    }
+
+    /**
+     * Estimates the time that a strategy would take on a problem.
+     *
+     * @param strategy the strategy
+     * @param features the features of the problem
+     * @param threads the number of threads a parallel strategy would run on
+     * @return the estimated time, in nanoseconds
+     */
+    public double estimate(SolverStrategy strategy, SolverFeatures features, int threads) {
+        double[] t = terms(strategy, features, threads);
+        double[] coeffs = coefficients[strategy.ordinal()];
+        double sum = 0;
+        for (int i = 0; i < t.length; i++) {
+            sum += coeffs[i] * t[i];
+        }
+        return sum;
+    }
+
+    /**
+     * Computes the terms whose weighted sum estimates a strategy's time.
+     *
+     * @param strategy the strategy
+     * @param features the features of the problem
+     * @param threads the number of threads a parallel strategy would run on
+     * @return the terms, one per coefficient
+     */
+    public static double[] terms(SolverStrategy strategy, SolverFeatures features,
+                                 int threads) {
+        double fill = Math.min(1, Math.max(0, features.getFill()));
+        int cells = features.getShapeCells();
+        int rows = Math.max(1, features.getBoxRows());
+        double area = (double) features.getBoxRows() * features.getBoxCols();
+        double worldCells = features.getWorldCells();
+        double positions = features.getPositions();
+        int words = (Math.max(features.getBoxRows(), features.getBoxCols()) + 63) >> 6;
+
+        // the positions examined before the first fit, and the orientations they span
+        double fitChance = Math.pow(fill, cells);
+        double searched = fitChance > 0 ? Math.min(positions, 1 / fitChance) : positions;
+        double entries = positions == 0 ? features.getOrientations()
+                : Math.max(1, features.getOrientations() * searched / positions);
+
+        // the cells, and the rows, tested at each position examined
+        double cellTests = expectedTests(fill, cells);
+        double rowTests = expectedTests(Math.pow(fill, (double) cells / rows), rows) * words;
+
+        switch (strategy) {
+            case BITBOARD:
+                return new double[]{worldCells, searched * rowTests};
+            case INTEGRAL_IMAGE: {
+                double expected = fill * area;
+                double pass = expected >= cells || area == 0 ? 1
+                        : Math.exp(-2 * (cells - expected) * (cells - expected) / area);
+                return new double[]{worldCells, searched, searched * pass * rowTests};
+            }
+            case FFT: {
+                double n = (double) Fft.nextPowerOfTwo(features.getWorldRows()) *
+                        Fft.nextPowerOfTwo(features.getWorldCols());
+                double logN = n <= 1 ? 1 : Math.log(n) / Math.log(2);
+                return new double[]{worldCells, (1 + entries) * n * logN};
+            }
+            case PARALLEL:
+                return new double[]{1, worldCells, searched * rowTests / Math.max(1, threads)};
+            case ANCHOR: {
+                double anchors = Math.min(searched,
+                        (double) features.getOrientations() * features.getWorldTrue());
+                return new double[]{worldCells, anchors * rowTests};
+            }
+            case VECTOR: {
+                double columns = Math.max(0, features.getWorldCols() -
+                        Math.min(features.getBoxRows(), features.getBoxCols()) + 1);
+                return new double[]{worldCells,
+                        entries * columns * features.getWorldRows() * words,
+                        searched * rowTests};
+            }
+            default:
+                return new double[]{worldCells, searched * cellTests};
+        }
+    }
+
+    /**
+     * @param pass the probability that a single test passes
+     * @param n the number of tests
+     * @return the expected number of tests made, stopping at the first that fails
+     */
+    private static double expectedTests(double pass, int n) {
+        return pass >= 1 ? n : (1 - Math.pow(pass, n)) / (1 - pass);
+    }
+}
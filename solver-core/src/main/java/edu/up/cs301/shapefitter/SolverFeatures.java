@@ -0,0 +1,154 @@
+package edu.up.cs301.shapefitter;
+
+/**
+ * The cheap-to-compute properties of a problem on which SolverCostModel bases its
+ * estimates. Computing them takes one pass over the world and the building of an
+ * OrientationTable for the shape, which is small next to any solve.
+ *
+ * @author Phi Nguyen
+ * @version 18 October 2026
+ */
+public final class SolverFeatures {
+
+    // the world's dimensions, and its number of true cells
+    private final int worldRows;
+    private final int worldCols;
+    private final int worldTrue;
+
+    // the shape's number of true cells, and the dimensions of their bounding box
+    private final int shapeCells;
+    private final int boxRows;
+    private final int boxCols;
+
+    // the number of distinct orientations of the shape
+    private final int orientations;
+
+    // the number of positions, over all distinct orientations, at which the shape lies
+    // within the world
+    private final long positions;
+
+    /**
+     * Computes the features of a problem.
+     *
+     * @param shape the shape
+     * @param world the world
+     */
+    public SolverFeatures(boolean[][] shape, boolean[][] world) {
+        this(new OrientationTable(shape), world);
+    }
+
+    /**
+     * Computes the features of a problem whose shape's orientation table has been built.
+     *
+     * @param table the shape's orientation table
+     * @param world the world
+     */
+    public SolverFeatures(OrientationTable table, boolean[][] world) {
+        worldRows = world.length;
+        worldCols = worldRows == 0 ? 0 : world[0].length;
+        int count = 0;
+        for (boolean[] row : world) {
+            for (boolean cell : row) {
+                if (cell) count++;
+            }
+        }
+        worldTrue = count;
+
+        shapeCells = table.getCellCount();
+        orientations = table.size();
+        // the first entry is the unrotated shape
+        boxRows = orientations == 0 ? 0 : table.getEntries().get(0).getRows();
+        boxCols = orientations == 0 ? 0 : table.getEntries().get(0).getCols();
+        positions = table.getPositionCount(worldRows, worldCols);
+    }
+
+    /**
+     * @return the number of rows in the world
+     */
+    public int getWorldRows() {
+        return worldRows;
+    }
+
+    /**
+     * @return the number of columns in the world
+     */
+    public int getWorldCols() {
+        return worldCols;
+    }
+
+    /**
+     * @return the number of cells in the world
+     */
+    public long getWorldCells() {
+        return (long) worldRows * worldCols;
+    }
+
+    /**
+     * @return the number of true cells in the world
+     */
+    public int getWorldTrue() {
+        return worldTrue;
+    }
+
+    /**
+     * @return the proportion of the world's cells that are true (0 for an empty world)
+     */
+    public double getFill() {
+        long cells = getWorldCells();
+        return cells == 0 ? 0 : (double) worldTrue / cells;
+    }
+
+    /**
+     * @return the number of true cells in the shape
+     */
+    public int getShapeCells() {
+        return shapeCells;
+    }
+
+    /**
+     * @return the number of rows in the bounding box of the shape's true cells
+     */
+    public int getBoxRows() {
+        return boxRows;
+    }
+
+    /**
+     * @return the number of columns in the bounding box of the shape's true cells
+     */
+    public int getBoxCols() {
+        return boxCols;
+    }
+
+    /**
+     * @return the number of distinct orientations of the shape (0 for an empty shape)
+     */
+    public int getOrientations() {
+        return orientations;
+    }
+
+    /**
+     * @return the order of the shape's symmetry group (see OrientationTable)
+     */
+    public int getSymmetryOrder() {
+        return orientations == 0 ? 8 : 8 / orientations;
+    }
+
+    /**
+     * @return the number of positions, over all distinct orientations, at which the
+     * shape lies within the world
+     */
+    public long getPositions() {
+        return positions;
+    }
+
+    /**
+     * @return a description of the features, for logging
+     */
+    @Override
+    public String toString() {
+        return "world " + worldRows + "x" + worldCols + " (fill " +
+                Math.round(getFill() * 100) + "%), shape " + shapeCells + " cells in " +
+                boxRows + "x" + boxCols + ", symmetry " + getSymmetryOrder() + ", " +
+                positions + " positions";
+    }
+}
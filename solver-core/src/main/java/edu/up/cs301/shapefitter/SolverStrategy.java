@@ -0,0 +1,82 @@
+package edu.up.cs301.shapefitter;
+
+/**
+ * The solving strategies that ShapeSolverFactory chooses among. Each is a ShapeSolver
+ * that finds the first fit in the usual search order, so they differ only in speed.
+ *
+ * @author Phi Nguyen
+ * @version 18 October 2026
+ */
+public enum SolverStrategy {
+    BRUTE_FORCE, // MyShapeSolver: cell by cell
+    BITBOARD, // BitboardShapeSolver: row words
+    INTEGRAL_IMAGE, // IntegralImageShapeSolver: count filter, then row words
+    FFT, // FftShapeSolver: correlation by Fourier transform
+    PARALLEL, // ParallelShapeSolver: row words, on several threads
+    ANCHOR, // AnchorShapeSolver: placements through the rarest shape cell
+    VECTOR; // VectorShapeSolver: row words, several rows per instruction
+
+    /**
+     * Creates a solver that uses this strategy.
+     *
+     * @param shape the shape to fit
+     * @param world the world to fit it into
+     * @param acc to send notification messages to
+     * @return the solver
+     */
+    public ShapeSolver create(boolean[][] shape, boolean[][] world, ShapeSolutionAcceptor acc) {
+        switch (this) {
+            case BITBOARD:
+                return new BitboardShapeSolver(shape, world, acc);
+            case INTEGRAL_IMAGE:
+                return new IntegralImageShapeSolver(shape, world, acc);
+            case FFT:
+                return new FftShapeSolver(shape, world, acc);
+            case PARALLEL:
+                return new ParallelShapeSolver(shape, world, acc);
+            case ANCHOR:
+                return new AnchorShapeSolver(shape, world, acc);
+            case VECTOR:
+                return new VectorShapeSolver(shape, world, acc);
+            default:
+                return new MyShapeSolver(shape, world, acc);
+        }
+    }
+
+    /**
+     * @return the simple name of the class of this strategy's solvers
+     */
+    public String getSolverName() {
+        switch (this) {
+            case BITBOARD:
+                return "BitboardShapeSolver";
+            case INTEGRAL_IMAGE:
+                return "IntegralImageShapeSolver";
+            case FFT:
+                return "FftShapeSolver";
+            case PARALLEL:
+                return "ParallelShapeSolver";
+            case ANCHOR:
+                return "AnchorShapeSolver";
+            case VECTOR:
+                return "VectorShapeSolver";
+            default:
+                return "MyShapeSolver";
+        }
+    }
+
+    /**
+     * Finds the strategy whose solvers have a given class name.
+     *
+     * @param name the simple name of a solver class
+     * @return the strategy, or null if no strategy uses that class
+     */
+    public static SolverStrategy forSolverName(String name) {
+        for (SolverStrategy strategy : values()) {
+            if (strategy.getSolverName().equals(name)) {
+                return strategy;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,74 @@
+package edu.up.cs301.shapefitter;
+
+import java.util.Arrays;
+
+/**
+ * An index of the true cells of a 2D boolean array: for each row, the columns that hold
+ * true, in increasing order.
+ *
+ * @author Phi Nguyen
+ * @version 18 October 2026
+ */
+public class TrueCellIndex {
+
+    // for each row, the sorted columns of its true cells
+    private final int[][] columns;
+
+    /**
+     * constructor; builds the index for an array
+     *
+     * @param arr the array
+     */
+    public TrueCellIndex(boolean[][] arr) {
+        columns = new int[arr.length][];
+        int[] buffer = new int[0];
+        for (int r = 0; r < arr.length; r++) {
+            // collect the row's true columns into the (reusable) buffer
+            if (buffer.length < arr[r].length) buffer = new int[arr[r].length];
+            int n = 0;
+            for (int c = 0; c < arr[r].length; c++) {
+                if (arr[r][c]) buffer[n++] = c;
+            }
+            columns[r] = Arrays.copyOf(buffer, n);
+        }
+    }
+
+    /**
+     * @return the number of rows
+     */
+    public int getRows() {
+        return columns.length;
+    }
+
+    /**
+     * gets the true columns of a row
+     *
+     * @param row the row
+     * @return the columns, in increasing order; shared, so must not be modified
+     */
+    public int[] columns(int row) {
+        return columns[row];
+    }
+
+    /**
+     * finds where a column would go in a row's list of true columns
+     *
+     * @param row the row
+     * @param col the column
+     * @return the index of the first true column in the row that is at least col
+     */
+    public int firstAtOrAfter(int row, int col) {
+        int[] cols = columns[row];
+        int lo = 0;
+        int hi = cols.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (cols[mid] < col) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+}
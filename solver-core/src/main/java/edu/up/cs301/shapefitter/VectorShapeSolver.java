@@ -0,0 +1,159 @@
+package edu.up.cs301.shapefitter;
+
+/**
+ * Solver that tests placements with a PlacementKernel, which may compare several packed
+ * rows in one (SIMD) instruction. For each column position, the world's packed rows are
+ * extracted once into a strip (one word per world row, for each 64 columns of the shape),
+ * so that the rows of every placement in that column are consecutive in memory; each
+ * placement is then a single kernel call per 64 columns of the shape.
+ *
+ * Since the strips are made column by column, positions are searched column-major; the
+ * search of a column stops at the best row found so far, so that the placement reported
+ * is the same as that found by BitboardShapeSolver, which searches row-major.
+ *
+ * @author Phi Nguyen
+ * @version 18 October 2026
+ */
+public class VectorShapeSolver extends ShapeSolver {
+
+    // the kernel
+    private final PlacementKernel kernel;
+
+    /**
+     * Creates a solver for a particular problem, using the fastest kernel available (see
+     * PlacementKernels).
+     *
+     * @param parmShape the shape to fit
+     * @param parmWorld the world to fit it into
+     * @param acc       to send notification messages to
+     */
+    public VectorShapeSolver(boolean[][] parmShape, boolean[][] parmWorld,
+                             ShapeSolutionAcceptor acc) {
+        this(parmShape, parmWorld, acc, PlacementKernels.best());
+    }
+
+    /**
+     * Creates a solver for a particular problem, using a given kernel.
+     *
+     * @param parmShape the shape to fit
+     * @param parmWorld the world to fit it into
+     * @param acc       to send notification messages to
+     * @param kernel    the kernel
+     */
+    public VectorShapeSolver(boolean[][] parmShape, boolean[][] parmWorld,
+                             ShapeSolutionAcceptor acc, PlacementKernel kernel) {
+        // invoke superclass constructor
+        super(parmShape, parmWorld, acc);
+        this.kernel = kernel;
+    }
+
+    /**
+     * @return the kernel that this solver uses
+     */
+    public PlacementKernel getKernel() {
+        return kernel;
+    }
+
+    /**
+     * Solves the problem by finding a fit, if possible. The last call to display tells where
+     * the fit is. If there is no fit, undisplay is called.
+     */
+    public void solve() {
+        // pack the world once
+        beginPreprocessing();
+        SolveMetrics metrics = getSearchMetrics();
+        BitGrid worldBits = BitGrid.fromArray(world);
+        int worldRows = worldBits.getRows();
+
+        OrientationTable table = new OrientationTable(shape);
+        for (int e = 0; e < table.size(); e++) {
+            OrientationTable.Entry entry = table.getEntries().get(e);
+            beginSearch(entry.getOrientation());
+            BitGrid shapeBits = entry.getBits();
+            int rows = shapeBits.getRows();
+            int words = shapeBits.getWordsPerRow();
+            int rowLimit = worldRows - rows;
+            int colLimit = worldBits.getCols() - shapeBits.getCols();
+            if (rowLimit < 0 || colLimit < 0) {
+                continue;
+            }
+
+            // the shape's words, grouped by which 64 columns they hold
+            long[][] shapeWords = new long[words][rows];
+            for (int k = 0; k < words; k++) {
+                for (int sR = 0; sR < rows; sR++) {
+                    shapeWords[k][sR] = shapeBits.word(sR, k);
+                }
+            }
+
+            // search each column, down to the best row found so far
+            long[][] strips = new long[words][worldRows];
+            int bestRow = rowLimit + 1;
+            int bestCol = -1;
+            for (int wC = 0; wC <= colLimit && bestRow > 0; wC++) {
+                // stop if the solve has been cancelled or has timed out
+                if (checkpoint(e, table.size(), wC, colLimit + 1)) {
+                    return;
+                }
+                probe(entry, 0, wC);
+                int rowEnd = bestRow - 1;
+                for (int k = 0; k < words; k++) {
+                    for (int wR = 0; wR < rowEnd + rows; wR++) {
+                        strips[k][wR] = worldBits.extract(wR, wC + (k << 6));
+                    }
+                }
+                int tried = rowEnd + 1;
+                for (int wR = 0; wR <= rowEnd; wR++) {
+                    if (fits(shapeWords, strips, wR, rows)) {
+                        bestRow = wR;
+                        bestCol = wC;
+                        tried = wR + 1;
+                        break;
+                    }
+                }
+                if (metrics != null) {
+                    metrics.addCandidates(tried);
+                    metrics.addPruned(SolveMetrics.Filter.CELLS,
+                            bestCol == wC ? tried - 1 : tried);
+                }
+            }
+
+            if (bestCol >= 0) {
+                // report the top-left of the uncropped shape
+                display(bestRow - entry.getRowOffset(), bestCol - entry.getColOffset(),
+                        entry.getOrientation());
+                return;
+            }
+        }
+
+        // no fit found
+        undisplay();
+    }
+
+    /**
+     * Tells whether the shape fits at a given row of the current strips.
+     *
+     * @param shapeWords the shape's words, grouped by which 64 columns they hold
+     * @param strips the world's words for the current column, grouped likewise
+     * @param row the world row corresponding to the top row of the shape
+     * @param rows the number of rows in the shape
+     * @return whether the shape fits
+     */
+    private boolean fits(long[][] shapeWords, long[][] strips, int row, int rows) {
+        for (int k = 0; k < shapeWords.length; k++) {
+            if (!kernel.covers(shapeWords[k], strips[k], row, rows)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks if the shape is well-formed: has at least one square, and has all squares connected.
+     *
+     * @return whether the shape is well-formed
+     */
+    public boolean check() {
+        return ShapeChecker.isWellFormed(shape);
+    }
+}
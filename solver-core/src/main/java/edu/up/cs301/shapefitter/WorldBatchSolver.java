@@ -0,0 +1,236 @@
+package edu.up.cs301.shapefitter;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Solves one shape against many worlds--for example, the saved worlds--in parallel. The
+ * shape's orientations are built once and shared by all of the worlds. Worlds are
+ * streamed in: each one is read, solved and dropped, and no more than a fixed number are
+ * held in memory at once, so a file of any size can be processed.
+ *
+ * For each world, the result is the shape's first fit in the usual search order, as a
+ * packed placement (see Placements), or Placements.NONE if it does not fit.
+ *
+ * @author Phi Nguyen
+ * @version 18 October 2026
+ */
+public class WorldBatchSolver {
+
+    /**
+     * Receives the result for each world. Results are delivered from the pool's threads,
+     * in no particular order, so implementations must be thread-safe.
+     */
+    public interface ResultListener {
+        /**
+         * reports the result for one world
+         *
+         * @param index the position of the world in the sequence (0 for the first)
+         * @param placement the shape's first fit, or Placements.NONE
+         */
+        void worldSolved(int index, long placement);
+    }
+
+    // the orientations of the shape, shared by all of the worlds
+    private final OrientationTable table;
+
+    // the pool in which the worlds are solved
+    private final ForkJoinPool pool;
+
+    // the most worlds that may be held in memory at once
+    private final int maxInFlight;
+
+    /**
+     * constructor, using the pool that is shared by the parallel solvers, and holding up to
+     * two worlds per thread in memory
+     *
+     * @param shape the shape
+     */
+    public WorldBatchSolver(boolean[][] shape) {
+        this(shape, ParallelShapeSolver.getDefaultPool(),
+                2 * ParallelShapeSolver.getDefaultPool().getParallelism());
+    }
+
+    /**
+     * constructor
+     *
+     * @param shape the shape
+     * @param pool the pool in which to solve the worlds
+     * @param maxInFlight the most worlds that may be held in memory at once
+     */
+    public WorldBatchSolver(boolean[][] shape, ForkJoinPool pool, int maxInFlight) {
+        this.table = new OrientationTable(shape);
+        this.pool = pool;
+        this.maxInFlight = Math.max(1, maxInFlight);
+    }
+
+    /**
+     * finds the first fit of the shape in one world
+     *
+     * @param world the world
+     * @return the fit as a packed placement, or Placements.NONE
+     */
+    public long firstFit(boolean[][] world) {
+        return new PreparedWorld(world).firstFit(table);
+    }
+
+    /**
+     * finds the first fit of the shape in each of a list of worlds
+     *
+     * @param worlds the worlds
+     * @return for each world, in the same order, the fit as a packed placement, or
+     * Placements.NONE
+     * @throws RuntimeException (or Error) the first failure thrown while solving a world,
+     * once every other world has been solved; any further failures are suppressed in it
+     */
+    public long[] solveAll(List<boolean[][]> worlds) {
+        // a world is only marked as fitting once it has been solved
+        final long[] rtnVal = new long[worlds.size()];
+        Arrays.fill(rtnVal, Placements.NONE);
+        ResultListener listener = new ResultListener() {
+            public void worldSolved(int index, long placement) {
+                rtnVal[index] = placement;
+            }
+        };
+        Batch batch = new Batch();
+        for (int i = 0; i < worlds.size(); i++) {
+            batch.acquire(1);
+            submit(i, worlds.get(i), batch, listener);
+        }
+        batch.finish();
+        return rtnVal;
+    }
+
+    /**
+     * finds the first fit of the shape in each world read from a reader, reading the
+     * next world only when there is room for it. Returns once every world has been
+     * solved.
+     *
+     * @param worlds the reader from which to read the worlds
+     * @param listener receives the result for each world
+     * @return the number of worlds read
+     * @throws IOException if the worlds cannot be read; worlds already read are still solved
+     * @throws RuntimeException (or Error) the first failure thrown while solving a world,
+     * or by the listener, once every other world has been solved
+     */
+    public int solveAll(SavedArrayReader worlds, ResultListener listener) throws IOException {
+        Batch batch = new Batch();
+        int count = 0;
+        boolean read = false;
+        try {
+            for (;;) {
+                // wait for room before reading, so that unread worlds stay on disk
+                batch.acquire(1);
+                boolean[][] world = null;
+                try {
+                    world = worlds.read();
+                } finally {
+                    // if there is no world to solve, give back its permit
+                    if (world == null) batch.permits.release();
+                }
+                if (world == null) break;
+                submit(count++, world, batch, listener);
+            }
+            read = true;
+        } finally {
+            // a failure in reading takes precedence over one in solving
+            if (read) batch.finish();
+            else batch.acquire(maxInFlight);
+        }
+        return count;
+    }
+
+    /**
+     * hands a world to the pool; a permit must already be held for it, and is released
+     * once the world has been solved, or has failed
+     *
+     * @param index the position of the world in the sequence
+     * @param world the world
+     * @param batch the batch to which the world belongs
+     * @param listener receives the result
+     */
+    private void submit(final int index, final boolean[][] world, final Batch batch,
+                        final ResultListener listener) {
+        pool.execute(new Runnable() {
+            public void run() {
+                try {
+                    listener.worldSolved(index, firstFit(world));
+                } catch (RuntimeException | Error e) {
+                    batch.failed(e);
+                } finally {
+                    batch.permits.release();
+                }
+            }
+        });
+    }
+
+    /**
+     * The worlds of one call to solveAll that are held in memory, and the first failure
+     * in solving any of them. Waiting for room is done through the pool's managed
+     * blocking, so that a caller that is itself one of the pool's threads does not leave
+     * the pool a thread short while it waits.
+     */
+    private final class Batch {
+
+        // a permit for each world that may yet be held in memory
+        final Semaphore permits = new Semaphore(maxInFlight);
+
+        // the first failure, with any others suppressed in it
+        private Throwable failure;
+
+        /**
+         * waits for permits
+         *
+         * @param count the number of permits to wait for
+         */
+        void acquire(final int count) {
+            ForkJoinPool.ManagedBlocker blocker = new ForkJoinPool.ManagedBlocker() {
+                private boolean acquired;
+
+                public boolean isReleasable() {
+                    if (!acquired) acquired = permits.tryAcquire(count);
+                    return acquired;
+                }
+
+                public boolean block() {
+                    if (!acquired) permits.acquireUninterruptibly(count);
+                    acquired = true;
+                    return true;
+                }
+            };
+            try {
+                ForkJoinPool.managedBlock(blocker);
+            } catch (InterruptedException e) {
+                // cannot happen: the blocker waits uninterruptibly
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        /**
+         * records a failure in solving a world
+         *
+         * @param t the failure
+         */
+        synchronized void failed(Throwable t) {
+            if (failure == null) failure = t;
+            else failure.addSuppressed(t);
+        }
+
+        /**
+         * waits until every world handed to the pool has been solved, then rethrows the
+         * first failure, if there was one
+         */
+        void finish() {
+            acquire(maxInFlight);
+            Throwable t;
+            synchronized (this) {
+                t = failure;
+            }
+            if (t instanceof RuntimeException) throw (RuntimeException) t;
+            if (t instanceof Error) throw (Error) t;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package edu.up.cs301.shapefitter;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks the initial orders that AdaptiveCellOrder derives from the world's density, and
+ * its re-ranking by rejections.
+ *
+ * @author Phi Nguyen
+ * @version 18 October 2026
+ */
+public class AdaptiveCellOrderTest {
+
+    // the number of rejections between re-rankings (see AdaptiveCellOrder)
+    private static final int RERANK_INTERVAL = 256;
+
+    /**
+     * @param order an order
+     * @return its probes, in order
+     */
+    private static long[] probes(AdaptiveCellOrder order) {
+        long[] rtnVal = new long[order.size()];
+        for (int k = 0; k < rtnVal.length; k++) {
+            rtnVal[k] = order.get(k);
+        }
+        return rtnVal;
+    }
+
+    /**
+     * the order only changes every so many rejections, then puts the probes that caused
+     * the most first, keeping the previous order among equals; the counts are halved at
+     * each re-ranking, so a probe must keep failing to stay ahead
+     */
+    @Test
+    public void rerankingFollowsRejections() {
+        AdaptiveCellOrder order = new AdaptiveCellOrder(new int[] { 0, 1, 2, 3 });
+        for (int i = 0; i < RERANK_INTERVAL - 1; i++) {
+            order.recordFailure(3);
+        }
+        assertArrayEquals(new long[] { 0, 1, 2, 3 }, probes(order));
+
+        // the rejection that completes the interval re-ranks: 3 (255), 2 (1), then 0 and
+        // 1 (none) in their old order
+        order.recordFailure(2);
+        assertArrayEquals(new long[] { 3, 2, 0, 1 }, probes(order));
+
+        // 3's count is now 127, so 129 rejections by 1 overtake it, while 127 by 0 only
+        // draw level with it
+        for (int i = 0; i < 129; i++) {
+            order.recordFailure(1);
+        }
+        for (int i = 0; i < RERANK_INTERVAL - 129; i++) {
+            order.recordFailure(0);
+        }
+        assertArrayEquals(new long[] { 1, 3, 0, 2 }, probes(order));
+    }
+
+    /**
+     * the order for cells holds each true cell once, those whose landing area in the
+     * world holds the fewest true cells first
+     */
+    @Test
+    public void cellsStartWithSparsestArea() {
+        Random rnd = new Random(14);
+        for (int t = 0; t < 100; t++) {
+            int n = 1 + rnd.nextInt(5);
+            int size = n + rnd.nextInt(10);
+            OrientationTable.Entry entry = new OrientationTable(
+                    BruteForce.randomGrid(rnd, n, n, 0.6)).getEntry(Orientation.ROTATE_NONE);
+            if (entry == null) continue;
+            IntegralImage sums = new IntegralImage(
+                    BruteForce.randomGrid(rnd, size, size, rnd.nextDouble()));
+            AdaptiveCellOrder order = AdaptiveCellOrder.forCells(entry, sums);
+            assertEquals(entry.getCellCount(), order.size());
+
+            int rows = size - entry.getRows() + 1;
+            int cols = size - entry.getCols() + 1;
+            boolean[] seen = new boolean[entry.getRows() * entry.getCols()];
+            int last = -1;
+            for (int k = 0; k < order.size(); k++) {
+                int probe = order.get(k);
+                int i = probe / entry.getCols();
+                int j = probe % entry.getCols();
+                assertTrue(entry.isSet(i, j) && !seen[probe]);
+                seen[probe] = true;
+                int area = sums.count(i, j, rows, cols);
+                assertTrue("trial " + t, area >= last);
+                last = area;
+            }
+        }
+    }
+
+    /**
+     * the order for rows puts a row with no true cells last, since it can never fail
+     */
+    @Test
+    public void emptyRowsGoLast() {
+        OrientationTable.Entry entry = new OrientationTable(new boolean[][] {
+                { true, false, true },
+                { false, false, false },
+                { true, false, false },
+        }).getEntry(Orientation.ROTATE_NONE);
+        boolean[][] world = BruteForce.fullGrid(6, 6);
+        for (boolean[] row : world) {
+            Arrays.fill(row, 0, 3, false);
+        }
+        AdaptiveCellOrder order = AdaptiveCellOrder.forRows(entry,
+                new IntegralImage(world));
+        assertEquals(3, order.size());
+        assertEquals(1, order.get(2));
+    }
+}
@@ -0,0 +1,52 @@
+package edu.up.cs301.shapefitter;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Checks AnchorShapeSolver against the reference search (see ShapeSolverTest), and the
+ * index of true cells that it draws its candidates from.
+ *
+ * @author Phi Nguyen
+ * @version 18 October 2026
+ */
+public class AnchorShapeSolverTest extends ShapeSolverTest {
+
+    @Override
+    protected ShapeSolver newSolver(boolean[][] shape, boolean[][] world,
+                                    ShapeSolutionAcceptor acc) {
+        return new AnchorShapeSolver(shape, world, acc);
+    }
+
+    /**
+     * each row's list holds exactly its true columns, in order, and the search of a list
+     * finds the first column at or after any column
+     */
+    @Test
+    public void trueCellIndex() {
+        Random rnd = new Random(8);
+        for (int t = 0; t < 50; t++) {
+            int rows = 1 + rnd.nextInt(6);
+            int cols = 1 + rnd.nextInt(70);
+            boolean[][] arr = BruteForce.randomGrid(rnd, rows, cols, rnd.nextDouble());
+            TrueCellIndex index = new TrueCellIndex(arr);
+            assertEquals(rows, index.getRows());
+            for (int r = 0; r < rows; r++) {
+                int[] columns = index.columns(r);
+                int n = 0;
+                for (int c = 0; c <= cols; c++) {
+                    // n is the number of true columns before c
+                    assertEquals(n, index.firstAtOrAfter(r, c));
+                    if (c < cols && arr[r][c]) {
+                        assertEquals(c, columns[n]);
+                        n++;
+                    }
+                }
+                assertEquals(n, columns.length);
+            }
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package edu.up.cs301.shapefitter;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Checks that arrays written by ArrayLibraryWriter read back from ArrayLibrary, and that
+ * damaged libraries are rejected.
+ *
+ * @author Phi Nguyen
+ * @version 18 October 2026
+ */
+public class ArrayLibraryTest {
+
+    // offset of the first record's words: the header, then the record's own header
+    private static final int FIRST_WORDS = 8 + 16;
+
+    /**
+     * @return arrays of assorted sizes, including ones spanning several words per row
+     */
+    private static boolean[][][] arrays() {
+        Random rnd = new Random(25);
+        return new boolean[][][] {
+                BruteForce.randomGrid(rnd, 1, 1, 0.5),
+                BruteForce.randomGrid(rnd, 40, 40, 0.5),
+                BruteForce.randomGrid(rnd, 3, 70, 0.5),
+                BruteForce.fullGrid(64, 64),
+                new boolean[5][5],
+                BruteForce.randomGrid(rnd, 65, 130, 0.3),
+        };
+    }
+
+    /**
+     * @param arrays the arrays
+     * @return a library holding them, as bytes
+     * @throws IOException never
+     */
+    private static byte[] write(boolean[][][] arrays) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ArrayLibraryWriter writer = new ArrayLibraryWriter(bytes);
+        for (boolean[][] arr : arrays) {
+            writer.write(arr);
+        }
+        writer.close();
+        return bytes.toByteArray();
+    }
+
+    /**
+     * checks that a library holds the given arrays
+     *
+     * @param arrays the arrays
+     * @param lib the library
+     * @throws IOException if the library is damaged
+     */
+    private static void checkHolds(boolean[][][] arrays, ArrayLibrary lib) throws IOException {
+        assertEquals(arrays.length, lib.size());
+        for (int i = 0; i < arrays.length; i++) {
+            assertEquals(arrays[i].length, lib.getRows(i));
+            assertEquals(arrays[i][0].length, lib.getCols(i));
+            assertTrue("array " + i, Arrays.deepEquals(arrays[i], lib.get(i)));
+
+            // the unchecked view holds the same words as a packed copy
+            BitGrid grid = BitGrid.fromArray(arrays[i]);
+            LongBuffer words = lib.getWords(i);
+            assertEquals(grid.getRows() * grid.getWordsPerRow(), words.remaining());
+            for (int r = 0; r < grid.getRows(); r++) {
+                for (int k = 0; k < grid.getWordsPerRow(); k++) {
+                    assertEquals(grid.word(r, k), words.get());
+                }
+            }
+        }
+    }
+
+    /**
+     * arrays written to a library read back the same, from a buffer and from a mapped file
+     */
+    @Test
+    public void roundTrip() throws IOException {
+        boolean[][][] arrays = arrays();
+        byte[] bytes = write(arrays);
+        checkHolds(arrays, new ArrayLibrary(ByteBuffer.wrap(bytes)));
+
+        File file = File.createTempFile("library", ".sfal");
+        try {
+            FileOutputStream out = new FileOutputStream(file);
+            out.write(bytes);
+            out.close();
+            assertTrue(ArrayLibrary.isLibrary(file));
+            checkHolds(arrays, ArrayLibrary.open(file));
+        }
+        finally {
+            file.delete();
+        }
+
+        // an empty library
+        assertEquals(0, new ArrayLibrary(ByteBuffer.wrap(write(new boolean[0][][]))).size());
+    }
+
+    /**
+     * arrays in the older format are told apart from a library, and convert to one
+     */
+    @Test
+    public void convertsOlderFormat() throws IOException {
+        boolean[][][] arrays = { arrays()[1], arrays()[3], arrays()[4] };
+        ByteArrayOutputStream legacy = new ByteArrayOutputStream();
+        SavedArrayWriter legacyWriter = new SavedArrayWriter(legacy);
+        for (boolean[][] arr : arrays) {
+            legacyWriter.write(arr);
+        }
+        legacyWriter.close();
+
+        File file = File.createTempFile("legacy", ".dat");
+        try {
+            FileOutputStream out = new FileOutputStream(file);
+            out.write(legacy.toByteArray());
+            out.close();
+            assertFalse(ArrayLibrary.isLibrary(file));
+        }
+        finally {
+            file.delete();
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ArrayLibraryWriter writer = new ArrayLibraryWriter(bytes);
+        assertEquals(arrays.length, writer.writeAll(
+                new SavedArrayReader(new ByteArrayInputStream(legacy.toByteArray()))));
+        writer.close();
+        checkHolds(arrays, new ArrayLibrary(ByteBuffer.wrap(bytes.toByteArray())));
+    }
+
+    /**
+     * a library cut short at any point is rejected when it is opened
+     */
+    @Test
+    public void rejectsTruncatedLibrary() throws IOException {
+        byte[] bytes = write(arrays());
+        for (int len = bytes.length - 1; len >= 0; len -= 7) {
+            try {
+                new ArrayLibrary(ByteBuffer.wrap(Arrays.copyOf(bytes, len)));
+                fail("accepted a library cut to " + len + " of " + bytes.length + " bytes");
+            }
+            catch (IOException e) {
+                // expected
+            }
+        }
+    }
+
+    /**
+     * a damaged record fails its checksum, while the other records still read
+     */
+    @Test
+    public void rejectsBadRecordChecksum() throws IOException {
+        boolean[][][] arrays = arrays();
+        byte[] bytes = write(arrays);
+        bytes[FIRST_WORDS] ^= 1;
+        ArrayLibrary lib = new ArrayLibrary(ByteBuffer.wrap(bytes));
+        try {
+            lib.get(0);
+            fail("read a damaged record");
+        }
+        catch (IOException e) {
+            // expected
+        }
+        for (int i = 1; i < arrays.length; i++) {
+            assertTrue(Arrays.deepEquals(arrays[i], lib.get(i)));
+        }
+    }
+
+    /**
+     * a damaged index fails its checksum when the library is opened
+     */
+    @Test(expected = IOException.class)
+    public void rejectsBadIndexChecksum() throws IOException {
+        byte[] bytes = write(arrays());
+
+        // the index ends where the 16-byte trailer begins; damage its last offset
+        bytes[bytes.length - 16 - 8] ^= 8;
+        new ArrayLibrary(ByteBuffer.wrap(bytes));
+    }
+
+    /**
+     * a file that is not a library is rejected
+     */
+    @Test(expected = IOException.class)
+    public void rejectsOtherData() throws IOException {
+        byte[] bytes = write(arrays());
+        bytes[0] = 'X';
+        new ArrayLibrary(ByteBuffer.wrap(bytes));
+    }
+}
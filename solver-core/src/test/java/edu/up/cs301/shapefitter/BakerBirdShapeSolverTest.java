@@ -0,0 +1,44 @@
+package edu.up.cs301.shapefitter;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+
+/**
+ * Checks BakerBirdShapeSolver, which finds exact matches, against the reference search
+ * (see ShapeSolverTest).
+ *
+ * @author Phi Nguyen
+ * @version 18 October 2026
+ */
+public class BakerBirdShapeSolverTest extends ShapeSolverTest {
+
+    @Override
+    protected ShapeSolver newSolver(boolean[][] shape, boolean[][] world,
+                                    ShapeSolutionAcceptor acc) {
+        return new BakerBirdShapeSolver(shape, world, acc);
+    }
+
+    @Override
+    protected boolean isExact() {
+        return true;
+    }
+
+    /**
+     * every exact match is found, in the same order as the reference, on random problems,
+     * half of which have the shape planted in them
+     */
+    @Test
+    public void allMatchesMatchReference() {
+        Random rnd = new Random(7);
+        for (int t = 0; t < TRIALS; t++) {
+            boolean[][][] problem = randomProblem(rnd);
+            if (t % 2 == 0) plant(rnd, problem[0], problem[1]);
+            assertArrayEquals("trial " + t, BruteForce.allFits(problem[0], problem[1], true),
+                    new BakerBirdShapeSolver(problem[0], problem[1], new Recorder())
+                            .allMatches());
+        }
+    }
+}
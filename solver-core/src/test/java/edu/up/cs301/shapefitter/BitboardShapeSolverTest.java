@@ -0,0 +1,16 @@
+package edu.up.cs301.shapefitter;
+
+/**
+ * Checks BitboardShapeSolver, the bit-packed search against the reference search (see ShapeSolverTest).
+ *
+ * @author Phi Nguyen
+ * @version 18 October 2026
+ */
+public class BitboardShapeSolverTest extends ShapeSolverTest {
+
+    @Override
+    protected ShapeSolver newSolver(boolean[][] shape, boolean[][] world,
+                                    ShapeSolutionAcceptor acc) {
+        return new BitboardShapeSolver(shape, world, acc);
+    }
+}
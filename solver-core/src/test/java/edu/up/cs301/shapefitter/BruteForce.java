@@ -0,0 +1,168 @@
+package edu.up.cs301.shapefitter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Reference searches for the tests, written as plainly as possible and without any of the
+ * solvers' tables: each orientation is transformed and cropped here, and every position
+ * is tried cell by cell. Orientations whose cropped cells are the same as those of an
+ * earlier one are skipped, and positions are reported as the solvers report them (the
+ * top-left of the uncropped shape), in the same order.
+ *
+ * @author Phi Nguyen
+ * @version 18 October 2026
+ */
+final class BruteForce {
+
+    /**
+     * not instantiable
+     */
+    private BruteForce() {
+    }
+
+    /**
+     * finds the first fit (or exact match)
+     *
+     * @param shape the shape
+     * @param world the world
+     * @param exact whether the shape's false cells must also land on false world cells
+     * @return the fit as a packed placement, or Placements.NONE
+     */
+    static long firstFit(boolean[][] shape, boolean[][] world, boolean exact) {
+        long[] all = search(shape, world, exact, true);
+        return all.length == 0 ? Placements.NONE : all[0];
+    }
+
+    /**
+     * finds every fit (or exact match)
+     *
+     * @param shape the shape
+     * @param world the world
+     * @param exact whether the shape's false cells must also land on false world cells
+     * @return the fits as packed placements, in search order
+     */
+    static long[] allFits(boolean[][] shape, boolean[][] world, boolean exact) {
+        return search(shape, world, exact, false);
+    }
+
+    /**
+     * searches every distinct orientation, in order
+     *
+     * @param shape the shape
+     * @param world the world
+     * @param exact whether to match exactly
+     * @param firstOnly whether to stop at the first fit
+     * @return the fits as packed placements
+     */
+    private static long[] search(boolean[][] shape, boolean[][] world, boolean exact,
+                                 boolean firstOnly) {
+        List<Long> found = new ArrayList<Long>();
+        List<boolean[][]> seen = new ArrayList<boolean[][]>();
+        for (Orientation or : Orientation.values()) {
+            boolean[][] oriented = or.transform(shape);
+
+            // the bounding box of the true cells; an empty shape fits nowhere
+            int top = Integer.MAX_VALUE, left = Integer.MAX_VALUE, bottom = -1, right = -1;
+            for (int i = 0; i < oriented.length; i++) {
+                for (int j = 0; j < oriented[i].length; j++) {
+                    if (oriented[i][j]) {
+                        top = Math.min(top, i);
+                        left = Math.min(left, j);
+                        bottom = Math.max(bottom, i);
+                        right = Math.max(right, j);
+                    }
+                }
+            }
+            if (bottom < 0) break;
+            boolean[][] cropped = new boolean[bottom - top + 1][];
+            for (int i = 0; i < cropped.length; i++) {
+                cropped[i] = Arrays.copyOfRange(oriented[top + i], left, right + 1);
+            }
+
+            // skip an orientation that looks the same as an earlier one
+            boolean duplicate = false;
+            for (boolean[][] s : seen) {
+                duplicate |= Arrays.deepEquals(s, cropped);
+            }
+            if (duplicate) continue;
+            seen.add(cropped);
+
+            // try every position at which the crop lies within the world
+            for (int r = 0; r + cropped.length <= world.length; r++) {
+                for (int c = 0; c + cropped[0].length <= world[r].length; c++) {
+                    if (matches(cropped, world, r, c, exact)) {
+                        found.add(Placements.pack(r - top, c - left, or));
+                        if (firstOnly) return toArray(found);
+                    }
+                }
+            }
+        }
+        return toArray(found);
+    }
+
+    /**
+     * @param cropped the cropped, oriented shape
+     * @param world the world
+     * @param row the world row of the crop's top
+     * @param col the world column of the crop's left
+     * @param exact whether to match exactly
+     * @return whether the crop fits (or matches) there
+     */
+    private static boolean matches(boolean[][] cropped, boolean[][] world, int row, int col,
+                                   boolean exact) {
+        for (int i = 0; i < cropped.length; i++) {
+            for (int j = 0; j < cropped[i].length; j++) {
+                boolean w = world[row + i][col + j];
+                if (cropped[i][j] ? !w : exact && w) return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param list a list of placements
+     * @return them as an array
+     */
+    private static long[] toArray(List<Long> list) {
+        long[] rtnVal = new long[list.size()];
+        for (int i = 0; i < rtnVal.length; i++) {
+            rtnVal[i] = list.get(i);
+        }
+        return rtnVal;
+    }
+
+    /**
+     * makes a random grid
+     *
+     * @param rnd the source of randomness
+     * @param rows the number of rows
+     * @param cols the number of columns
+     * @param density the chance of each cell being true
+     * @return the grid
+     */
+    static boolean[][] randomGrid(Random rnd, int rows, int cols, double density) {
+        boolean[][] rtnVal = new boolean[rows][cols];
+        for (boolean[] row : rtnVal) {
+            for (int j = 0; j < cols; j++) {
+                row[j] = rnd.nextDouble() < density;
+            }
+        }
+        return rtnVal;
+    }
+
+    /**
+     * @param rows the number of rows
+     * @param cols the number of columns
+     * @return a grid with every cell true
+     */
+    static boolean[][] fullGrid(int rows, int cols) {
+        boolean[][] rtnVal = new boolean[rows][cols];
+        for (boolean[] row : rtnVal) {
+            Arrays.fill(row, true);
+        }
+        return rtnVal;
+    }
+}
@@ -0,0 +1,66 @@
+package edu.up.cs301.shapefitter;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Checks FftShapeSolver against the reference search (see ShapeSolverTest), and the
+ * transforms that it correlates with.
+ *
+ * @author Phi Nguyen
+ * @version 18 October 2026
+ */
+public class FftShapeSolverTest extends ShapeSolverTest {
+
+    // the largest rounding error allowed in a transformed value
+    private static final double EPSILON = 1e-9;
+
+    @Override
+    protected ShapeSolver newSolver(boolean[][] shape, boolean[][] world,
+                                    ShapeSolutionAcceptor acc) {
+        return new FftShapeSolver(shape, world, acc);
+    }
+
+    /**
+     * the transform agrees with the discrete Fourier transform computed from its
+     * definition, and the inverse transform gives back the original values
+     */
+    @Test
+    public void transformMatchesDefinition() {
+        Random rnd = new Random(4);
+        for (int n = 1; n <= 64; n <<= 1) {
+            double[] re = new double[n];
+            double[] im = new double[n];
+            for (int i = 0; i < n; i++) {
+                re[i] = rnd.nextDouble();
+                im[i] = rnd.nextDouble();
+            }
+            double[] fre = re.clone();
+            double[] fim = im.clone();
+            Fft.transform(fre, fim, 0, 1, n, false);
+
+            for (int k = 0; k < n; k++) {
+                double sumRe = 0, sumIm = 0;
+                for (int i = 0; i < n; i++) {
+                    double a = -2 * Math.PI * i * k / n;
+                    sumRe += re[i] * Math.cos(a) - im[i] * Math.sin(a);
+                    sumIm += re[i] * Math.sin(a) + im[i] * Math.cos(a);
+                }
+                assertEquals(sumRe, fre[k], EPSILON);
+                assertEquals(sumIm, fim[k], EPSILON);
+            }
+
+            Fft.transform(fre, fim, 0, 1, n, true);
+            for (int i = 0; i < n; i++) {
+                assertEquals(re[i], fre[i], EPSILON);
+                assertEquals(im[i], fim[i], EPSILON);
+            }
+        }
+        assertEquals(1, Fft.nextPowerOfTwo(1));
+        assertEquals(64, Fft.nextPowerOfTwo(33));
+        assertEquals(64, Fft.nextPowerOfTwo(64));
+    }
+}
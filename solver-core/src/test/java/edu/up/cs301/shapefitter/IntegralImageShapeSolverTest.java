@@ -0,0 +1,56 @@
+package edu.up.cs301.shapefitter;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Checks IntegralImageShapeSolver against the reference search (see ShapeSolverTest), and
+ * the summed-area table that it prefilters with.
+ *
+ * @author Phi Nguyen
+ * @version 18 October 2026
+ */
+public class IntegralImageShapeSolverTest extends ShapeSolverTest {
+
+    @Override
+    protected ShapeSolver newSolver(boolean[][] shape, boolean[][] world,
+                                    ShapeSolutionAcceptor acc) {
+        return new IntegralImageShapeSolver(shape, world, acc);
+    }
+
+    /**
+     * the table counts the true elements of every rectangle the same as counting them
+     * one by one
+     */
+    @Test
+    public void countsMatchDirectCount() {
+        Random rnd = new Random(3);
+        for (int t = 0; t < 20; t++) {
+            int rows = 1 + rnd.nextInt(9);
+            int cols = 1 + rnd.nextInt(9);
+            boolean[][] arr = BruteForce.randomGrid(rnd, rows, cols, rnd.nextDouble());
+            IntegralImage sums = new IntegralImage(arr);
+            assertEquals(rows, sums.getRows());
+            assertEquals(cols, sums.getCols());
+            for (int r = 0; r < rows; r++) {
+                for (int c = 0; c < cols; c++) {
+                    for (int h = 0; r + h <= rows; h++) {
+                        for (int w = 0; c + w <= cols; w++) {
+                            int expected = 0;
+                            for (int i = r; i < r + h; i++) {
+                                for (int j = c; j < c + w; j++) {
+                                    if (arr[i][j]) expected++;
+                                }
+                            }
+                            assertEquals(expected, sums.count(r, c, h, w));
+                        }
+                    }
+                }
+            }
+            assertEquals(sums.count(0, 0, rows, cols), sums.total());
+        }
+    }
+}
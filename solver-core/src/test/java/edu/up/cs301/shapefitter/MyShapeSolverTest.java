@@ -0,0 +1,47 @@
+package edu.up.cs301.shapefitter;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks MyShapeSolver, the cell-by-cell search against the reference search (see ShapeSolverTest).
+ *
+ * @author Phi Nguyen
+ * @version 18 October 2026
+ */
+public class MyShapeSolverTest extends ShapeSolverTest {
+
+    @Override
+    protected ShapeSolver newSolver(boolean[][] shape, boolean[][] world,
+                                    ShapeSolutionAcceptor acc) {
+        return new MyShapeSolver(shape, world, acc);
+    }
+
+    /**
+     * a shape is well-formed when its squares are connected, wherever they lie in its
+     * array, even when the array is not square
+     */
+    @Test
+    public void checkNeedsConnectedSquares() {
+        boolean[][] world = new boolean[4][4];
+
+        // a 2-by-3 array with its last column set
+        boolean[][] edge = new boolean[2][3];
+        edge[0][2] = edge[1][2] = true;
+        assertTrue(newSolver(edge, world, null).check());
+
+        // two squares touching only at a corner
+        boolean[][] diagonal = new boolean[3][3];
+        diagonal[0][0] = diagonal[1][1] = true;
+        assertFalse(newSolver(diagonal, world, null).check());
+
+        // two pieces, each with more than one square
+        boolean[][] split = new boolean[3][4];
+        split[0][0] = split[0][1] = split[2][2] = split[2][3] = true;
+        assertFalse(newSolver(split, world, null).check());
+
+        assertFalse(newSolver(new boolean[3][3], world, null).check());
+    }
+}
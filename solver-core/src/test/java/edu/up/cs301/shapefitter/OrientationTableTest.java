@@ -0,0 +1,146 @@
+package edu.up.cs301.shapefitter;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks that OrientationTable keeps one entry per distinct orientation, and that each
+ * entry's cells and offsets describe the crop of the oriented shape.
+ *
+ * @author Phi Nguyen
+ * @version 18 October 2026
+ */
+public class OrientationTableTest {
+
+    /**
+     * @param rows the rows of a shape, as strings of '#' (true) and '.' (false)
+     * @return the shape
+     */
+    private static boolean[][] shape(String... rows) {
+        boolean[][] rtnVal = new boolean[rows.length][];
+        for (int i = 0; i < rows.length; i++) {
+            rtnVal[i] = new boolean[rows[i].length()];
+            for (int j = 0; j < rows[i].length(); j++) {
+                rtnVal[i][j] = rows[i].charAt(j) == '#';
+            }
+        }
+        return rtnVal;
+    }
+
+    /**
+     * symmetric shapes have fewer distinct orientations, and each kept entry is the first
+     * of its kind
+     */
+    @Test
+    public void duplicateOrientationsAreDropped() {
+        // an asymmetric pentomino: all 8
+        assertEquals(8, new OrientationTable(shape("##.", ".##", ".#.")).size());
+
+        // an L: a rotation never gives a reflection of itself, so all 8
+        assertEquals(8, new OrientationTable(shape("#..", "#..", "##.")).size());
+
+        // a T: 4 rotations, each the same as a reflection
+        assertEquals(4, new OrientationTable(shape("###", ".#.", "...")).size());
+
+        // a bar: horizontal and vertical
+        OrientationTable bar = new OrientationTable(shape("...", "###", "..."));
+        assertEquals(2, bar.size());
+        assertEquals(Orientation.ROTATE_NONE, bar.getEntries().get(0).getOrientation());
+        assertEquals(Orientation.ROTATE_CLOCKWISE, bar.getEntries().get(1).getOrientation());
+        assertEquals(4, bar.getSymmetryOrder());
+
+        // a square block: 1
+        OrientationTable block = new OrientationTable(shape("##", "##"));
+        assertEquals(1, block.size());
+        assertEquals(8, block.getSymmetryOrder());
+    }
+
+    /**
+     * every entry (and the entry for every orientation) holds exactly the oriented shape's
+     * true cells, cropped, with the crop's position as its offsets
+     */
+    @Test
+    public void entriesAreCroppedOrientations() {
+        Random rnd = new Random(18);
+        for (int t = 0; t < 200; t++) {
+            int n = 1 + rnd.nextInt(6);
+            boolean[][] shape = BruteForce.randomGrid(rnd, n, n, 0.4);
+            OrientationTable table = new OrientationTable(shape);
+            for (Orientation or : Orientation.values()) {
+                OrientationTable.Entry entry = table.getEntry(or);
+                if (table.getCellCount() == 0) {
+                    assertNull(entry);
+                    continue;
+                }
+                assertEquals(or, entry.getOrientation());
+                boolean[][] oriented = or.transform(shape);
+
+                // every true cell of the oriented shape is in the crop, at the offsets
+                int count = 0;
+                for (int i = 0; i < oriented.length; i++) {
+                    for (int j = 0; j < oriented[i].length; j++) {
+                        int r = i - entry.getRowOffset();
+                        int c = j - entry.getColOffset();
+                        boolean inCrop = r >= 0 && r < entry.getRows() && c >= 0 &&
+                                c < entry.getCols();
+                        if (oriented[i][j]) {
+                            assertTrue("trial " + t, inCrop && entry.isSet(r, c));
+                            count++;
+                        } else if (inCrop) {
+                            assertTrue("trial " + t, !entry.isSet(r, c));
+                        }
+                    }
+                }
+                assertEquals(table.getCellCount(), count);
+                assertEquals(count, entry.getCellCount());
+                assertEquals(count, entry.getBits().count());
+
+                // the crop is tight: its edges each hold a true cell
+                assertTrue(entry.getRowCount(0) > 0);
+                assertTrue(entry.getRowCount(entry.getRows() - 1) > 0);
+                assertTrue(entry.getColCount(0) > 0);
+                assertTrue(entry.getColCount(entry.getCols() - 1) > 0);
+            }
+        }
+    }
+
+    /**
+     * an orientation dropped as a duplicate still has an entry, with its own offsets
+     */
+    @Test
+    public void droppedOrientationKeepsItsOffsets() {
+        // a vertical bar at the left of its array, so that rotating it moves the crop
+        OrientationTable table = new OrientationTable(shape("#..", "#..", "#.."));
+        assertEquals(2, table.size());
+        OrientationTable.Entry kept = table.getEntries().get(0);
+        assertSame(kept, table.getEntry(Orientation.ROTATE_NONE));
+        assertEquals(0, kept.getRowOffset());
+        assertEquals(0, kept.getColOffset());
+
+        // turned 180 degrees it looks the same, but lies at the right of the array
+        OrientationTable.Entry turned = table.getEntry(Orientation.ROTATE_180);
+        assertEquals(Orientation.ROTATE_180, turned.getOrientation());
+        assertEquals(0, turned.getRowOffset());
+        assertEquals(2, turned.getColOffset());
+        assertSame(kept.getBits(), turned.getBits());
+    }
+
+    /**
+     * the number of positions counts each distinct orientation's positions within the
+     * world
+     */
+    @Test
+    public void positionCount() {
+        OrientationTable bar = new OrientationTable(shape("###"));
+        // horizontal: 3 rows of 3; vertical: 1 row of 5
+        assertEquals(3 * 3 + 1 * 5, bar.getPositionCount(3, 5));
+        assertEquals(0, bar.getPositionCount(2, 2));
+        assertEquals(0, new OrientationTable(shape("...")).getPositionCount(5, 5));
+    }
+}
@@ -0,0 +1,54 @@
+package edu.up.cs301.shapefitter;
+
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Checks ParallelShapeSolver against the reference search (see ShapeSolverTest), and that
+ * the fit it reports does not depend on the number of threads searching.
+ *
+ * @author Phi Nguyen
+ * @version 18 October 2026
+ */
+public class ParallelShapeSolverTest extends ShapeSolverTest {
+
+    @Override
+    protected ShapeSolver newSolver(boolean[][] shape, boolean[][] world,
+                                    ShapeSolutionAcceptor acc) {
+        return new ParallelShapeSolver(shape, world, acc);
+    }
+
+    /**
+     * worlds tall enough to be split into many bands, most with many fits, give the first
+     * fit in search order whatever the size of the pool
+     */
+    @Test
+    public void sameFitInAnyPool() {
+        Random rnd = new Random(5);
+        for (int threads = 1; threads <= 4; threads++) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            try {
+                for (int t = 0; t < 40; t++) {
+                    int n = 1 + rnd.nextInt(4);
+                    boolean[][] shape = BruteForce.randomGrid(rnd, n, n, 0.6);
+                    boolean[][] world = BruteForce.randomGrid(rnd, 20 + rnd.nextInt(60),
+                            20 + rnd.nextInt(60), 0.6 + 0.4 * rnd.nextDouble());
+                    Recorder acc = new Recorder();
+                    SolveResult result = new ParallelShapeSolver(shape, world, acc, pool)
+                            .solve((SolveToken) null);
+                    String trial = threads + " threads, trial " + t;
+                    long expected = BruteForce.firstFit(shape, world, false);
+                    assertEquals(trial, expected, result.getPlacement());
+                    assertEquals(trial, expected, acc.reported);
+                }
+            }
+            finally {
+                pool.shutdown();
+            }
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package edu.up.cs301.shapefitter;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Checks that a PlacementIterator gives every fit, in the same order as the reference
+ * search (see BruteForce).
+ *
+ * @author Phi Nguyen
+ * @version 18 October 2026
+ */
+public class PlacementIteratorTest {
+
+    /**
+     * @param it an iterator
+     * @return the rest of its placements
+     */
+    private static long[] drain(PlacementIterator it) {
+        List<Long> found = new ArrayList<Long>();
+        while (it.hasNext()) {
+            found.add(it.nextLong());
+        }
+        long[] rtnVal = new long[found.size()];
+        for (int i = 0; i < rtnVal.length; i++) {
+            rtnVal[i] = found.get(i);
+        }
+        return rtnVal;
+    }
+
+    /**
+     * a solver's placements are every fit, in search order, on random problems
+     */
+    @Test
+    public void allFitsMatchReference() {
+        Random rnd = new Random(7);
+        for (int t = 0; t < ShapeSolverTest.TRIALS; t++) {
+            boolean[][][] problem = ShapeSolverTest.randomProblem(rnd);
+            if (t % 4 == 1) ShapeSolverTest.plant(rnd, problem[0], problem[1]);
+            ShapeSolver solver = new BitboardShapeSolver(problem[0], problem[1],
+                    new ShapeSolverTest.Recorder());
+            assertArrayEquals("trial " + t, BruteForce.allFits(problem[0], problem[1], false),
+                    drain(solver.placements()));
+        }
+    }
+
+    /**
+     * asking whether there is another placement does not skip one, and asking for one
+     * past the end fails
+     */
+    @Test
+    public void hasNextIsIdempotent() {
+        boolean[][] shape = { { true } };
+        PlacementIterator it = new PlacementIterator(shape, BruteForce.fullGrid(2, 3));
+        assertTrue(it.hasNext());
+        assertTrue(it.hasNext());
+        assertEquals(Placements.pack(0, 0, Orientation.ROTATE_NONE), it.nextLong());
+        assertEquals(Placements.pack(0, 1, Orientation.ROTATE_NONE), it.nextLong());
+        assertEquals(4, drain(it).length);
+        assertFalse(it.hasNext());
+        try {
+            it.nextLong();
+            fail("read past the end");
+        }
+        catch (NoSuchElementException e) {
+            // expected
+        }
+    }
+
+    /**
+     * an empty shape, or one with more squares than the world, has no placements
+     */
+    @Test
+    public void noPlacements() {
+        assertFalse(new PlacementIterator(new boolean[3][3], BruteForce.fullGrid(8, 8))
+                .hasNext());
+        assertFalse(new PlacementIterator(BruteForce.fullGrid(3, 3), BruteForce.fullGrid(2, 8))
+                .hasNext());
+    }
+}
@@ -0,0 +1,77 @@
+package edu.up.cs301.shapefitter;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks the packing of placements into longs.
+ *
+ * @author Phi Nguyen
+ * @version 18 October 2026
+ */
+public class PlacementsTest {
+
+    /**
+     * every orientation, with rows and columns of either sign, unpacks to what was packed
+     */
+    @Test
+    public void packRoundTrips() {
+        int[] values = { 0, 1, -1, 5, -5, 255, -255, 1 << 20, -(1 << 20), (1 << 27) - 1,
+                -(1 << 27) };
+        for (Orientation or : Orientation.values()) {
+            for (int row : values) {
+                for (int col : values) {
+                    long p = Placements.pack(row, col, or);
+                    assertEquals(row, Placements.row(p));
+                    assertEquals(col, Placements.col(p));
+                    assertEquals(or, Placements.orientation(p));
+                    assertNotEquals(Placements.NONE, p);
+                }
+            }
+        }
+        // the extreme rows, too
+        long p = Placements.pack(Integer.MIN_VALUE, 3, Orientation.ROTATE_180_REV);
+        assertEquals(Integer.MIN_VALUE, Placements.row(p));
+        p = Placements.pack(Integer.MAX_VALUE, -3, Orientation.ROTATE_180_REV);
+        assertEquals(Integer.MAX_VALUE, Placements.row(p));
+        assertEquals(-3, Placements.col(p));
+    }
+
+    /**
+     * placements compare in search order for a single orientation: by row, then column
+     */
+    @Test
+    public void packPreservesRowOrder() {
+        Orientation or = Orientation.ROTATE_CLOCKWISE;
+        assertTrue(Placements.pack(1, 0, or) > Placements.pack(0, 100, or));
+        assertTrue(Placements.pack(3, 7, or) > Placements.pack(3, 6, or));
+    }
+
+    /**
+     * NONE is reported as undisplay, and any other placement as display
+     */
+    @Test
+    public void reportAndNone() {
+        final long[] seen = { 0 };
+        ShapeSolutionAcceptor acc = new ShapeSolutionAcceptor() {
+            public void display(int row, int col, Orientation or) {
+                seen[0] = Placements.pack(row, col, or);
+            }
+
+            public void undisplay() {
+                seen[0] = Placements.NONE;
+            }
+        };
+        long p = Placements.pack(-2, 9, Orientation.ROTATE_NONE_REV);
+        Placements.report(p, acc);
+        assertEquals(p, seen[0]);
+        Placements.report(Placements.NONE, acc);
+        assertEquals(Placements.NONE, seen[0]);
+
+        assertEquals("none", Placements.toString(Placements.NONE));
+        assertEquals("(-2,9,ROTATE_NONE_REV)", Placements.toString(p));
+    }
+}
@@ -0,0 +1,46 @@
+package edu.up.cs301.shapefitter;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Checks RollingHashShapeSolver against the reference search (see ShapeSolverTest): its
+ * fingerprinted exact matching through the shared checks, and its masked matching
+ * separately.
+ *
+ * @author Phi Nguyen
+ * @version 18 October 2026
+ */
+public class RollingHashShapeSolverTest extends ShapeSolverTest {
+
+    @Override
+    protected ShapeSolver newSolver(boolean[][] shape, boolean[][] world,
+                                    ShapeSolutionAcceptor acc) {
+        return new RollingHashShapeSolver(shape, world, acc);
+    }
+
+    @Override
+    protected boolean isExact() {
+        return true;
+    }
+
+    /**
+     * in masked mode, the first fit is the same as the reference's, on random problems
+     */
+    @Test
+    public void maskedFirstFitMatchesReference() {
+        Random rnd = new Random(12);
+        for (int t = 0; t < TRIALS; t++) {
+            boolean[][][] problem = randomProblem(rnd);
+            if (t % 4 == 1) plant(rnd, problem[0], problem[1]);
+            Recorder acc = new Recorder();
+            new RollingHashShapeSolver(problem[0], problem[1], acc, false)
+                    .solve((SolveToken) null);
+            assertEquals("trial " + t, BruteForce.firstFit(problem[0], problem[1], false),
+                    acc.reported);
+        }
+    }
+}
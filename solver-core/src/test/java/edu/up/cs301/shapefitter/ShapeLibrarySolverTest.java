@@ -0,0 +1,87 @@
+package edu.up.cs301.shapefitter;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Checks that ShapeLibrarySolver finds, for each shape of a library, the same first fit as
+ * the reference search (see BruteForce).
+ *
+ * @author Phi Nguyen
+ * @version 18 October 2026
+ */
+public class ShapeLibrarySolverTest {
+
+    /**
+     * makes a library of random shapes, some of them planted in the world
+     *
+     * @param rnd the source of randomness
+     * @param world the world (changed)
+     * @param count the number of shapes
+     * @return the shapes
+     */
+    private static List<boolean[][]> library(Random rnd, boolean[][] world, int count) {
+        List<boolean[][]> rtnVal = new ArrayList<boolean[][]>();
+        for (int i = 0; i < count; i++) {
+            int n = 1 + rnd.nextInt(5);
+            boolean[][] shape = BruteForce.randomGrid(rnd, n, n, 0.3 + 0.5 * rnd.nextDouble());
+            if (i % 3 == 0) ShapeSolverTest.plant(rnd, shape, world);
+            rtnVal.add(shape);
+        }
+        return rtnVal;
+    }
+
+    /**
+     * every shape of a library gets its own first fit, in the library's order, whether
+     * solved together or one at a time, and in a pool of any size
+     */
+    @Test
+    public void solveAllMatchesReference() {
+        Random rnd = new Random(9);
+        for (int threads = 1; threads <= 3; threads++) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            try {
+                for (int t = 0; t < 10; t++) {
+                    int size = 1 + rnd.nextInt(30);
+                    boolean[][] world = BruteForce.randomGrid(rnd, size, size, rnd.nextDouble());
+                    List<boolean[][]> shapes = library(rnd, world, rnd.nextInt(40));
+                    ShapeLibrarySolver solver = new ShapeLibrarySolver(world, pool);
+                    long[] fits = solver.solveAll(shapes);
+                    assertEquals(shapes.size(), fits.length);
+                    for (int i = 0; i < fits.length; i++) {
+                        String trial = threads + " threads, trial " + t + ", shape " + i;
+                        long expected = BruteForce.firstFit(shapes.get(i), world, false);
+                        assertEquals(trial, expected, fits[i]);
+                        assertEquals(trial, expected, solver.firstFit(shapes.get(i)));
+                    }
+                }
+            }
+            finally {
+                pool.shutdown();
+            }
+        }
+    }
+
+    /**
+     * an empty library has no results, and the solver's world is not shared with the
+     * caller
+     */
+    @Test
+    public void emptyLibraryAndCopiedWorld() {
+        boolean[][] world = BruteForce.fullGrid(3, 3);
+        ShapeLibrarySolver solver = new ShapeLibrarySolver(world);
+        assertEquals(0, solver.solveAll(Collections.<boolean[][]>emptyList()).length);
+
+        boolean[][] dot = { { true } };
+        world[0][0] = false;
+        assertEquals(Placements.pack(0, 0, Orientation.ROTATE_NONE), solver.firstFit(dot));
+        assertEquals(Placements.NONE, solver.firstFit(new boolean[2][2]));
+    }
+}
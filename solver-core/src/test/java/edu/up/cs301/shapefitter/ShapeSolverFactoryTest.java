@@ -0,0 +1,82 @@
+package edu.up.cs301.shapefitter;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks that ShapeSolverFactory chooses the strategy that its cost model expects to be
+ * fastest, and that whatever it chooses finds the same fit as the reference search (see
+ * BruteForce).
+ *
+ * @author Phi Nguyen
+ * @version 18 October 2026
+ */
+public class ShapeSolverFactoryTest {
+
+    /**
+     * the choice is the cheapest of the strategies considered, and the solver it creates
+     * finds the reference's first fit
+     */
+    @Test
+    public void choosesCheapestAndSolves() {
+        ShapeSolverFactory factory = new ShapeSolverFactory();
+        Random rnd = new Random(180);
+        for (int t = 0; t < ShapeSolverTest.TRIALS; t++) {
+            boolean[][][] problem = ShapeSolverTest.randomProblem(rnd);
+            if (t % 4 == 1) ShapeSolverTest.plant(rnd, problem[0], problem[1]);
+            ShapeSolverFactory.Choice choice = factory.choose(problem[0], problem[1]);
+            for (SolverStrategy strategy : SolverStrategy.values()) {
+                double cost = choice.getEstimatedCost(strategy);
+                assertTrue(choice.toString(), Double.isNaN(cost) ||
+                        choice.getEstimatedCost() <= cost);
+            }
+
+            ShapeSolverTest.Recorder acc = new ShapeSolverTest.Recorder();
+            ShapeSolver solver = choice.createSolver(problem[0], problem[1], acc);
+            assertEquals(choice.getStrategy(),
+                    SolverStrategy.forSolverName(solver.getClass().getSimpleName()));
+            solver.solve((SolveToken) null);
+            assertEquals("trial " + t, BruteForce.firstFit(problem[0], problem[1], false),
+                    acc.reported);
+        }
+    }
+
+    /**
+     * the choice follows the model's coefficients
+     */
+    @Test
+    public void choiceFollowsModel() {
+        SolverCostModel model = new SolverCostModel();
+        for (SolverStrategy strategy : SolverStrategy.values()) {
+            double[] coeffs = model.getCoefficients(strategy);
+            for (int i = 0; i < coeffs.length; i++) {
+                coeffs[i] = strategy == SolverStrategy.ANCHOR ? 0 : 1e6;
+            }
+            model.setCoefficients(strategy, coeffs);
+        }
+        ShapeSolverFactory.Choice choice = new ShapeSolverFactory(model).choose(
+                new boolean[][] { { true, true } }, BruteForce.fullGrid(9, 9));
+        assertSame(SolverStrategy.ANCHOR, choice.getStrategy());
+        assertEquals(0.0, choice.getEstimatedCost(), 0);
+    }
+
+    /**
+     * each strategy's solver name finds the strategy again, and other names find none
+     */
+    @Test
+    public void solverNamesRoundTrip() {
+        for (SolverStrategy strategy : SolverStrategy.values()) {
+            assertSame(strategy, SolverStrategy.forSolverName(strategy.getSolverName()));
+            assertEquals(strategy.getSolverName(), strategy.create(new boolean[1][1],
+                    new boolean[1][1], new ShapeSolverTest.Recorder()).getClass()
+                    .getSimpleName());
+        }
+        assertNull(SolverStrategy.forSolverName("BakerBirdShapeSolver"));
+    }
+}
@@ -0,0 +1,231 @@
+package edu.up.cs301.shapefitter;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks a solver against the reference search (see BruteForce) on random grids and on
+ * the edge cases. Each engine's test extends this, saying how to make the engine and
+ * whether it matches exactly.
+ *
+ * @author Phi Nguyen
+ * @version 18 October 2026
+ */
+public abstract class ShapeSolverTest {
+
+    // the number of random problems to try in each test
+    protected static final int TRIALS = 300;
+
+    // world widths on either side of the 64-bit words that the packed grids are made of
+    private static final int[] WIDE_COLS = { 63, 64, 65, 130 };
+
+    /**
+     * Records what a solver reports.
+     */
+    static final class Recorder implements ShapeSolutionAcceptor {
+
+        // the placement last reported, or Placements.NONE
+        long reported = Placements.NONE;
+
+        // whether anything has been reported
+        boolean called;
+
+        public void display(int row, int col, Orientation or) {
+            reported = Placements.pack(row, col, or);
+            called = true;
+        }
+
+        public void undisplay() {
+            reported = Placements.NONE;
+            called = true;
+        }
+    }
+
+    /**
+     * @param shape the shape
+     * @param world the world
+     * @param acc the acceptor
+     * @return the solver under test, for the problem
+     */
+    protected abstract ShapeSolver newSolver(boolean[][] shape, boolean[][] world,
+                                             ShapeSolutionAcceptor acc);
+
+    /**
+     * @return whether the solver under test finds exact matches, rather than masked fits
+     */
+    protected boolean isExact() {
+        return false;
+    }
+
+    /**
+     * solves a problem with the solver under test, checking the result and the report
+     * against the reference
+     *
+     * @param shape the shape
+     * @param world the world
+     * @param trial a description of the problem, for failure messages
+     */
+    protected void checkFirstFit(boolean[][] shape, boolean[][] world, String trial) {
+        String expected = Placements.toString(BruteForce.firstFit(shape, world, isExact()));
+        Recorder acc = new Recorder();
+        SolveResult result = newSolver(shape, world, acc).solve((SolveToken) null);
+
+        // the result and the report must both agree with the reference
+        assertEquals(trial, expected, Placements.toString(result.getPlacement()));
+        assertEquals(trial, expected, Placements.toString(acc.reported));
+        assertTrue(trial, acc.called);
+        assertTrue(trial, result.isComplete());
+    }
+
+    /**
+     * makes a random problem. Most have a shape no bigger than 5 by 5 in a world no bigger
+     * than 14 by 14; the rest have a world whose rows span a 64-bit word boundary, and
+     * some of those a shape that is wider than a word itself.
+     *
+     * @param rnd the source of randomness
+     * @return the shape and the world
+     */
+    static boolean[][][] randomProblem(Random rnd) {
+        boolean[][] shape, world;
+        if (rnd.nextInt(5) != 0) {
+            int n = 1 + rnd.nextInt(5);
+            int size = 1 + rnd.nextInt(14);
+            shape = BruteForce.randomGrid(rnd, n, n, 0.3 + 0.5 * rnd.nextDouble());
+            world = BruteForce.randomGrid(rnd, size, size, rnd.nextDouble());
+        } else {
+            int cols = WIDE_COLS[rnd.nextInt(WIDE_COLS.length)];
+            world = BruteForce.randomGrid(rnd, 1 + rnd.nextInt(6), cols,
+                    0.5 + 0.5 * rnd.nextDouble());
+            if (rnd.nextBoolean()) {
+                int n = 1 + rnd.nextInt(5);
+                shape = BruteForce.randomGrid(rnd, n, n, 0.3 + 0.5 * rnd.nextDouble());
+            } else {
+                shape = BruteForce.randomGrid(rnd, 1 + rnd.nextInt(2), 60 + rnd.nextInt(10),
+                        0.3 + 0.5 * rnd.nextDouble());
+            }
+        }
+        return new boolean[][][] { shape, world };
+    }
+
+    /**
+     * copies the shape, in some orientation, into the world at a random position where it
+     * lies within the world, so that it matches exactly there
+     *
+     * @param rnd the source of randomness
+     * @param shape the shape
+     * @param world the world (changed)
+     */
+    static void plant(Random rnd, boolean[][] shape, boolean[][] world) {
+        Orientation or = Orientation.values()[rnd.nextInt(Orientation.values().length)];
+        boolean[][] oriented = or.transform(shape);
+        if (oriented.length > world.length || oriented[0].length > world[0].length) return;
+        int top = rnd.nextInt(world.length - oriented.length + 1);
+        int left = rnd.nextInt(world[0].length - oriented[0].length + 1);
+        for (int i = 0; i < oriented.length; i++) {
+            System.arraycopy(oriented[i], 0, world[top + i], left, oriented[i].length);
+        }
+    }
+
+    /**
+     * the solver finds the same first fit as the reference, on random problems, some of
+     * which (most, for an exact solver) have the shape planted in them
+     */
+    @Test
+    public void firstFitMatchesReference() {
+        Random rnd = new Random(isExact() ? 2016 : 301);
+        for (int t = 0; t < TRIALS; t++) {
+            boolean[][][] problem = randomProblem(rnd);
+            if (isExact() ? t % 4 != 0 : t % 4 == 1) plant(rnd, problem[0], problem[1]);
+            checkFirstFit(problem[0], problem[1], "trial " + t);
+        }
+    }
+
+    /**
+     * shapes and worlds whose rows end on either side of a word boundary, or span several
+     * words, are solved the same as the reference
+     */
+    @Test
+    public void wordBoundaries() {
+        Random rnd = new Random(64);
+        for (int cols : WIDE_COLS) {
+            for (int shapeCols = cols - 2; shapeCols <= cols; shapeCols++) {
+                // a bar as wide as the world, or nearly, which crosses every word boundary
+                boolean[][] world = BruteForce.randomGrid(rnd, 4, cols, 0.9);
+                boolean[][] bar = BruteForce.fullGrid(1, shapeCols);
+                String trial = shapeCols + " in " + cols;
+                checkFirstFit(bar, world, trial);
+                plant(rnd, bar, world);
+                checkFirstFit(bar, world, trial + ", planted");
+
+                // a shape with holes, so that the words of a row differ
+                boolean[][] holes = BruteForce.randomGrid(rnd, 2, shapeCols, 0.6);
+                world = BruteForce.randomGrid(rnd, 5, cols, 0.95);
+                plant(rnd, holes, world);
+                checkFirstFit(holes, world, trial + ", with holes");
+            }
+        }
+    }
+
+    /**
+     * a shape with no squares fits nowhere, even in a world that is all true
+     */
+    @Test
+    public void emptyShapeNeverFits() {
+        checkFirstFit(new boolean[3][3], BruteForce.fullGrid(8, 8), "empty shape");
+        checkFirstFit(new boolean[2][70], BruteForce.fullGrid(3, 130), "wide empty shape");
+    }
+
+    /**
+     * a shape whose squares span more than the world fits nowhere, while one whose array
+     * is bigger than the world, but whose squares are not, fits with its array partly
+     * outside the world, and is reported at a negative position
+     */
+    @Test
+    public void shapeLargerThanWorld() {
+        boolean[][] world = BruteForce.fullGrid(4, 4);
+        boolean[][] wide = new boolean[6][6];
+        for (int j = 0; j < 5; j++) {
+            wide[2][j] = true;
+        }
+        checkFirstFit(wide, world, "wide shape");
+        assertEquals(Placements.NONE, BruteForce.firstFit(wide, world, isExact()));
+
+        // a 2-by-2 block in the corner of a 6-by-6 array
+        boolean[][] padded = new boolean[6][6];
+        padded[4][4] = padded[4][5] = padded[5][4] = padded[5][5] = true;
+        boolean[][] corner = new boolean[4][4];
+        corner[0][0] = corner[0][1] = corner[1][0] = corner[1][1] = true;
+        checkFirstFit(padded, corner, "padded shape");
+        assertEquals(Placements.pack(-4, -4, Orientation.ROTATE_NONE),
+                BruteForce.firstFit(padded, corner, isExact()));
+
+        // the same block, reaching the bottom-right corner of the world
+        boolean[][] far = new boolean[4][4];
+        far[2][2] = far[2][3] = far[3][2] = far[3][3] = true;
+        checkFirstFit(padded, far, "padded shape, far corner");
+        assertEquals(Placements.pack(-2, -2, Orientation.ROTATE_NONE),
+                BruteForce.firstFit(padded, far, isExact()));
+    }
+
+    /**
+     * a shape that looks the same in every orientation is searched once, and is reported
+     * in its original orientation
+     */
+    @Test
+    public void fullySymmetricShape() {
+        // a plus sign, off-center in its array
+        boolean[][] plus = new boolean[5][5];
+        plus[1][2] = plus[2][1] = plus[2][2] = plus[2][3] = plus[3][2] = true;
+        assertEquals(1, new OrientationTable(plus).size());
+
+        boolean[][] world = new boolean[7][7];
+        world[4][5] = world[5][4] = world[5][5] = world[5][6] = world[6][5] = true;
+        checkFirstFit(plus, world, "plus");
+        assertEquals(Placements.pack(3, 3, Orientation.ROTATE_NONE),
+                BruteForce.firstFit(plus, world, isExact()));
+    }
+}
@@ -0,0 +1,161 @@
+package edu.up.cs301.shapefitter;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks SolveMetrics, and what the solvers count in them: nothing but the timings and
+ * placements unless detailed metrics are asked for, and otherwise a count of candidates
+ * that agrees with the prunes and the placement found.
+ *
+ * @author Phi Nguyen
+ * @version 18 October 2026
+ */
+public class SolveMetricsTest {
+
+    /**
+     * @param shape the shape
+     * @param world the world
+     * @param acc the acceptor
+     * @return a solver of each kind, with each kind of matching that it does
+     */
+    private static List<ShapeSolver> solvers(boolean[][] shape, boolean[][] world,
+                                             ShapeSolutionAcceptor acc) {
+        List<ShapeSolver> rtnVal = new ArrayList<ShapeSolver>();
+        for (SolverStrategy strategy : SolverStrategy.values()) {
+            rtnVal.add(strategy.create(shape, world, acc));
+        }
+        rtnVal.add(new RollingHashShapeSolver(shape, world, acc, true));
+        rtnVal.add(new BakerBirdShapeSolver(shape, world, acc));
+        return rtnVal;
+    }
+
+    /**
+     * @param metrics some metrics
+     * @return the candidates pruned by all of the filters
+     */
+    private static long totalPruned(SolveMetrics metrics) {
+        long rtnVal = 0;
+        for (SolveMetrics.Filter filter : SolveMetrics.Filter.values()) {
+            rtnVal += metrics.getPruned(filter);
+        }
+        return rtnVal;
+    }
+
+    /**
+     * merging adds every count, and the description names only the filters that pruned
+     * something
+     */
+    @Test
+    public void mergeAndToString() {
+        SolveMetrics a = new SolveMetrics();
+        a.addCandidates(10);
+        a.addPruned(SolveMetrics.Filter.CELLS, 7);
+        a.addCellsTested(20);
+        a.addPreprocessingNanos(3000);
+        a.addOrientationNanos(Orientation.ROTATE_NONE, 5000);
+        SolveMetrics b = new SolveMetrics();
+        b.addCandidates(5);
+        b.addPruned(SolveMetrics.Filter.WINDOW_COUNT, 4);
+        b.addPruned(SolveMetrics.Filter.CELLS, 1);
+        b.addOrientationNanos(Orientation.ROTATE_180, 2000);
+        b.addPlacementsFound(1);
+
+        a.merge(b);
+        assertEquals(15, a.getCandidates());
+        assertEquals(8, a.getPruned(SolveMetrics.Filter.CELLS));
+        assertEquals(4, a.getPruned(SolveMetrics.Filter.WINDOW_COUNT));
+        assertEquals(0, a.getPruned(SolveMetrics.Filter.ANCHOR));
+        assertEquals(20, a.getCellsTested());
+        assertEquals(3000, a.getPreprocessingNanos());
+        assertEquals(2000, a.getOrientationNanos(Orientation.ROTATE_180));
+        assertEquals(7000, a.getSearchNanos());
+        assertEquals(1, a.getPlacementsFound());
+        assertEquals("15 candidates, pruned WINDOW_COUNT=4 CELLS=8, 20 cells tested, " +
+                "1 found; preprocessing 3us, search 7us", a.toString());
+    }
+
+    /**
+     * without detailed metrics, a solver counts only the placements it reports; with
+     * them, it finds the same placement, counts no more candidates than there are
+     * positions, and counts each candidate pruned at most once. (A candidate need not be
+     * pruned or found: a solver that searches out of order may pass over a fit for an
+     * earlier one.)
+     */
+    @Test
+    public void detailedCountsAreOptIn() {
+        Random rnd = new Random(20);
+        for (int t = 0; t < 100; t++) {
+            boolean[][][] problem = ShapeSolverTest.randomProblem(rnd);
+            ShapeSolverTest.plant(rnd, problem[0], problem[1]);
+            ShapeSolverTest.Recorder acc = new ShapeSolverTest.Recorder();
+            long positions = new OrientationTable(problem[0]).getPositionCount(
+                    problem[1].length, problem[1][0].length);
+            for (ShapeSolver solver : solvers(problem[0], problem[1], acc)) {
+                String name = solver.getClass().getSimpleName() + " trial " + t;
+                SolveResult plain = solver.solve((SolveToken) null);
+                SolveMetrics metrics = plain.getMetrics();
+                assertEquals(name, 0, metrics.getCandidates());
+                assertEquals(name, 0, totalPruned(metrics));
+                assertEquals(name, 0, metrics.getCellsTested());
+                assertEquals(name, plain.getPlacement() == Placements.NONE ? 0 : 1,
+                        metrics.getPlacementsFound());
+
+                solver.setDetailedMetrics(true);
+                SolveResult detailed = solver.solve(new SolveToken());
+                solver.setDetailedMetrics(false);
+                metrics = detailed.getMetrics();
+                assertEquals(name, plain.getPlacement(), detailed.getPlacement());
+                assertTrue(name, totalPruned(metrics) + metrics.getPlacementsFound() <=
+                        metrics.getCandidates());
+                assertTrue(name, metrics.getCandidates() <= positions);
+            }
+        }
+    }
+
+    /**
+     * a listener hears of each solve, and of each phase, in matching pairs
+     */
+    @Test
+    public void listenerHearsEachPhase() {
+        final List<String> heard = new ArrayList<String>();
+        SolveListener listener = new SolveListener() {
+            public Object solveBegun(ShapeSolver solver) {
+                heard.add("solve");
+                return "solve";
+            }
+
+            public void solveEnded(Object context, SolveResult result) {
+                heard.add("/" + context + " " + result.getStatus());
+            }
+
+            public Object phaseBegun(ShapeSolver solver, String phase,
+                                     Orientation orientation) {
+                heard.add(phase);
+                return phase;
+            }
+
+            public void phaseEnded(Object context) {
+                heard.add("/" + context);
+            }
+        };
+        boolean[][] shape = { { true, true } };
+        ShapeSolver solver = new BitboardShapeSolver(shape, new boolean[3][3],
+                new ShapeSolverTest.Recorder());
+        solver.setListener(listener);
+        solver.solve(new SolveToken());
+
+        // preprocessing, then the search of the two distinct orientations
+        assertEquals("[solve, preprocessing, /preprocessing, search, /search, search, " +
+                "/search, /solve NOT_FOUND]", heard.toString());
+        assertFalse(heard.isEmpty());
+        assertTrue(solver.getMetrics().getSearchNanos() >= 0);
+    }
+}
@@ -0,0 +1,130 @@
+package edu.up.cs301.shapefitter;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks that a SolveSession, after any sequence of edits, gives the same answers as a
+ * session started afresh on the edited world, and as the reference search.
+ *
+ * @author Phi Nguyen
+ * @version 18 October 2026
+ */
+public class SolveSessionTest {
+
+    /**
+     * checks a session against a fresh one and the reference
+     *
+     * @param session the session
+     * @param shape the shape
+     * @param world the world, as edited
+     * @param step a description of the edits, for failure messages
+     */
+    private static void checkSession(SolveSession session, boolean[][] shape,
+                                     boolean[][] world, String step) {
+        SolveSession fresh = new SolveSession(shape, world);
+        long[] expected = BruteForce.allFits(shape, world, false);
+        assertArrayEquals(step, fresh.allFits(), session.allFits());
+        assertArrayEquals(step, expected, session.allFits());
+        assertEquals(step, fresh.getFitCount(), session.getFitCount());
+        assertEquals(step, fresh.firstFit(), session.firstFit());
+        assertEquals(step, BruteForce.firstFit(shape, world, false), session.firstFit());
+        assertTrue(step, session.matches(shape, world));
+    }
+
+    /**
+     * random cells are set and toggled, and the session is checked after each edit
+     */
+    @Test
+    public void editsMatchFreshSolve() {
+        Random rnd = new Random(74);
+        for (int t = 0; t < 40; t++) {
+            int n = 1 + rnd.nextInt(4);
+            int size = 1 + rnd.nextInt(12);
+            boolean[][] shape = BruteForce.randomGrid(rnd, n, n, 0.6);
+            boolean[][] world = BruteForce.randomGrid(rnd, size, size, 0.7);
+            SolveSession session = new SolveSession(shape, world);
+
+            for (int k = 0; k < 30; k++) {
+                int row = rnd.nextInt(size);
+                int col = rnd.nextInt(size);
+                if (rnd.nextBoolean()) {
+                    // toggle the cell
+                    world[row][col] = !world[row][col];
+                } else {
+                    // set it, perhaps to the value it already has
+                    world[row][col] = rnd.nextBoolean();
+                }
+                session.setCell(row, col, world[row][col]);
+                checkSession(session, shape, world, "trial " + t + ", edit " + k);
+            }
+        }
+    }
+
+    /**
+     * the first edit of a session that has not yet been queried is counted correctly
+     */
+    @Test
+    public void editBeforeFirstQuery() {
+        boolean[][] shape = { { true, true } };
+        boolean[][] world = new boolean[3][3];
+        SolveSession session = new SolveSession(shape, world);
+        session.setCell(1, 1, true);
+        session.setCell(1, 2, true);
+        world[1][1] = world[1][2] = true;
+        checkSession(session, shape, world, "two edits");
+        assertEquals(Placements.pack(1, 1, Orientation.ROTATE_NONE), session.firstFit());
+    }
+
+    /**
+     * edits outside the world are ignored, and the session does not share the arrays it
+     * was given
+     */
+    @Test
+    public void outsideEditsAndCopies() {
+        boolean[][] shape = { { true } };
+        boolean[][] world = BruteForce.fullGrid(2, 2);
+        SolveSession session = new SolveSession(shape, world);
+        session.setCell(-1, 0, false);
+        session.setCell(0, 2, false);
+        session.setCell(2, 0, false);
+        assertEquals(4, session.getFitCount());
+
+        // changing the caller's world does not change the session's
+        world[0][0] = false;
+        assertEquals(4, session.getFitCount());
+        assertFalse(session.matches(shape, world));
+    }
+
+    /**
+     * a session prepared on another thread, while it is being edited, ends up the same as
+     * one started afresh on the edited world
+     */
+    @Test
+    public void editsDuringPrepare() throws InterruptedException {
+        Random rnd = new Random(7);
+        boolean[][] shape = BruteForce.randomGrid(rnd, 3, 3, 0.7);
+        boolean[][] world = BruteForce.randomGrid(rnd, 200, 200, 0.8);
+        final SolveSession session = new SolveSession(shape, world);
+        Thread preparer = new Thread(new Runnable() {
+            public void run() {
+                session.prepare();
+            }
+        });
+        preparer.start();
+        for (int k = 0; k < 500; k++) {
+            int row = rnd.nextInt(world.length);
+            int col = rnd.nextInt(world[0].length);
+            world[row][col] = !world[row][col];
+            session.setCell(row, col, world[row][col]);
+        }
+        preparer.join();
+        checkSession(session, shape, world, "edits during prepare");
+    }
+}
@@ -0,0 +1,165 @@
+package edu.up.cs301.shapefitter;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks that a SolveToken stops a solve when it is cancelled or its deadline passes, that
+ * its deadline's clock stops while it is paused, and that every solver stops at a
+ * checkpoint without reporting anything.
+ *
+ * @author Phi Nguyen
+ * @version 18 October 2026
+ */
+public class SolveTokenTest {
+
+    /**
+     * @param millis the time to sleep for, in milliseconds
+     */
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @param shape the shape
+     * @param world the world
+     * @param acc the acceptor
+     * @return a solver of each kind
+     */
+    private static List<ShapeSolver> solvers(boolean[][] shape, boolean[][] world,
+                                             ShapeSolutionAcceptor acc) {
+        List<ShapeSolver> rtnVal = new ArrayList<ShapeSolver>();
+        for (SolverStrategy strategy : SolverStrategy.values()) {
+            rtnVal.add(strategy.create(shape, world, acc));
+        }
+        rtnVal.add(new RollingHashShapeSolver(shape, world, acc, true));
+        rtnVal.add(new BakerBirdShapeSolver(shape, world, acc));
+        return rtnVal;
+    }
+
+    /**
+     * a token that is neither cancelled nor out of time lets the solve go on, recording
+     * its progress
+     */
+    @Test
+    public void unstoppedTokenRecordsProgress() {
+        SolveToken token = new SolveToken(1, TimeUnit.HOURS);
+        assertFalse(token.isExpired());
+        assertFalse(token.checkpoint(1, 4, 5, 10));
+        assertEquals(0.375, token.getProgress(), 1e-12);
+        assertFalse(token.isStopped());
+        assertNull(token.getStopStatus());
+
+        assertFalse(new SolveToken().checkpoint(0, 1, 0, 1));
+    }
+
+    /**
+     * a cancelled token stops the solve at its next checkpoint, and the progress stays as
+     * it was there
+     */
+    @Test
+    public void cancelStopsAtNextCheckpoint() {
+        SolveToken token = new SolveToken();
+        assertFalse(token.checkpoint(0, 2, 0, 4));
+        token.cancel();
+        assertTrue(token.isCancelled());
+        assertFalse(token.isStopped());
+        assertTrue(token.checkpoint(0, 2, 2, 4));
+        assertTrue(token.checkpoint(1, 2, 3, 4));
+        assertSame(SolveResult.Status.CANCELLED, token.getStopStatus());
+        assertEquals(0.25, token.getProgress(), 1e-12);
+    }
+
+    /**
+     * a token whose deadline has passed stops the solve as timed out, unless it was also
+     * cancelled
+     */
+    @Test
+    public void deadlineStopsAsTimedOut() {
+        SolveToken token = new SolveToken(0, TimeUnit.NANOSECONDS);
+        assertTrue(token.isExpired());
+        assertTrue(token.checkpoint(0, 1, 0, 1));
+        assertSame(SolveResult.Status.TIMED_OUT, token.getStopStatus());
+
+        token = new SolveToken(0, TimeUnit.NANOSECONDS);
+        token.cancel();
+        assertTrue(token.checkpoint(0, 1, 0, 1));
+        assertSame(SolveResult.Status.CANCELLED, token.getStopStatus());
+    }
+
+    /**
+     * the deadline does not pass while the token is paused, and is moved later by the time
+     * spent paused; nested pauses stop the clock until the last is resumed
+     */
+    @Test
+    public void pausedTimeDoesNotCount() {
+        SolveToken token = new SolveToken(200, TimeUnit.MILLISECONDS);
+        token.pause();
+        token.pause();
+        assertTrue(token.isPaused());
+        sleep(300);
+        assertFalse(token.isExpired());
+        assertFalse(token.checkpoint(0, 1, 0, 1));
+        token.resume();
+        assertTrue(token.isPaused());
+        assertFalse(token.isExpired());
+        token.resume();
+        assertFalse(token.isPaused());
+
+        // the clock runs again, with most of the time left
+        assertFalse(token.isExpired());
+        sleep(400);
+        assertTrue(token.isExpired());
+
+        // a resume without a pause is ignored
+        token.resume();
+        assertFalse(token.isPaused());
+        assertTrue(token.isExpired());
+    }
+
+    /**
+     * every solver stops at a checkpoint when its token is cancelled or out of time,
+     * reporting nothing, and finishes normally otherwise
+     */
+    @Test
+    public void solversStopWithoutReporting() {
+        boolean[][] shape = BruteForce.fullGrid(2, 2);
+        boolean[][] world = BruteForce.fullGrid(30, 30);
+        ShapeSolverTest.Recorder acc = new ShapeSolverTest.Recorder();
+        for (ShapeSolver solver : solvers(shape, world, acc)) {
+            String name = solver.getClass().getSimpleName();
+
+            SolveToken cancelled = new SolveToken();
+            cancelled.cancel();
+            acc.called = false;
+            SolveResult result = solver.solve(cancelled);
+            assertSame(name, SolveResult.Status.CANCELLED, result.getStatus());
+            assertEquals(name, Placements.NONE, result.getPlacement());
+            assertFalse(name, result.isComplete());
+            assertFalse(name, acc.called);
+
+            acc.called = false;
+            result = solver.solve(new SolveToken(0, TimeUnit.NANOSECONDS));
+            assertSame(name, SolveResult.Status.TIMED_OUT, result.getStatus());
+            assertFalse(name, acc.called);
+
+            result = solver.solve(new SolveToken(1, TimeUnit.HOURS));
+            assertSame(name, SolveResult.Status.FOUND, result.getStatus());
+            assertEquals(name, BruteForce.firstFit(shape, world, false), result.getPlacement());
+            assertTrue(name, acc.called);
+        }
+    }
+}
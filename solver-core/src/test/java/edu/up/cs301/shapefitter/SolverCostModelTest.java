@@ -0,0 +1,113 @@
+package edu.up.cs301.shapefitter;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Properties;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks that a SolverCostModel's coefficients survive a trip through a properties file,
+ * that the wrong number of coefficients is rejected, and that its estimates are sound.
+ *
+ * @author Phi Nguyen
+ * @version 18 October 2026
+ */
+public class SolverCostModelTest {
+
+    /**
+     * coefficients stored and loaded again are the same, for every strategy
+     */
+    @Test
+    public void propertiesRoundTrip() throws IOException {
+        SolverCostModel model = new SolverCostModel();
+        for (SolverStrategy strategy : SolverStrategy.values()) {
+            double[] coeffs = model.getCoefficients(strategy);
+            for (int i = 0; i < coeffs.length; i++) {
+                coeffs[i] = strategy.ordinal() + i / 3.0;
+            }
+            model.setCoefficients(strategy, coeffs);
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        model.store(bytes, "test");
+        SolverCostModel loaded = SolverCostModel.load(
+                new ByteArrayInputStream(bytes.toByteArray()));
+        for (SolverStrategy strategy : SolverStrategy.values()) {
+            double[] expected = model.getCoefficients(strategy);
+            double[] actual = loaded.getCoefficients(strategy);
+            assertEquals(strategy.name(), expected.length, actual.length);
+            for (int i = 0; i < expected.length; i++) {
+                assertEquals(strategy.name(), expected[i], actual[i], 0);
+            }
+        }
+    }
+
+    /**
+     * strategies missing from the properties keep their default coefficients, and the
+     * model does not share the arrays it is given or returns
+     */
+    @Test
+    public void missingPropertiesKeepDefaults() {
+        Properties props = new Properties();
+        props.setProperty(SolverStrategy.FFT.name(), " 1.5 , 2 ");
+        SolverCostModel model = new SolverCostModel(props);
+        SolverCostModel defaults = new SolverCostModel();
+        for (SolverStrategy strategy : SolverStrategy.values()) {
+            if (strategy == SolverStrategy.FFT) continue;
+            assertTrue(Arrays.equals(defaults.getCoefficients(strategy),
+                    model.getCoefficients(strategy)));
+        }
+        double[] fft = model.getCoefficients(SolverStrategy.FFT);
+        assertEquals(1.5, fft[0], 0);
+        assertEquals(2.0, fft[1], 0);
+
+        fft[0] = 99;
+        assertEquals(1.5, model.getCoefficients(SolverStrategy.FFT)[0], 0);
+    }
+
+    /**
+     * setting too few or too many coefficients is rejected
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsTooFewCoefficients() {
+        new SolverCostModel().setCoefficients(SolverStrategy.INTEGRAL_IMAGE, new double[2]);
+    }
+
+    /**
+     * loading too many coefficients for a strategy is rejected
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsTooManyCoefficients() {
+        Properties props = new Properties();
+        props.setProperty(SolverStrategy.BITBOARD.name(), "1,2,3");
+        new SolverCostModel(props);
+    }
+
+    /**
+     * each strategy has one term per coefficient, and its estimate is a finite,
+     * non-negative time, on random problems
+     */
+    @Test
+    public void estimatesAreSound() {
+        SolverCostModel model = new SolverCostModel();
+        Random rnd = new Random(18);
+        for (int t = 0; t < 100; t++) {
+            boolean[][][] problem = ShapeSolverTest.randomProblem(rnd);
+            SolverFeatures features = new SolverFeatures(problem[0], problem[1]);
+            for (SolverStrategy strategy : SolverStrategy.values()) {
+                double[] terms = SolverCostModel.terms(strategy, features, 4);
+                assertEquals(strategy.name(), model.getCoefficients(strategy).length,
+                        terms.length);
+                double estimate = model.estimate(strategy, features, 4);
+                assertTrue(strategy + " trial " + t, estimate >= 0 &&
+                        !Double.isInfinite(estimate) && !Double.isNaN(estimate));
+            }
+        }
+    }
+}
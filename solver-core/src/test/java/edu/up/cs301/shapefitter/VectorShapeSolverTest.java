@@ -0,0 +1,40 @@
+package edu.up.cs301.shapefitter;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks VectorShapeSolver against the reference search (see ShapeSolverTest), using the
+ * best kernel available where the tests run, and the choice of kernel.
+ *
+ * @author Phi Nguyen
+ * @version 18 October 2026
+ */
+public class VectorShapeSolverTest extends ShapeSolverTest {
+
+    @Override
+    protected ShapeSolver newSolver(boolean[][] shape, boolean[][] world,
+                                    ShapeSolutionAcceptor acc) {
+        return new VectorShapeSolver(shape, world, acc);
+    }
+
+    /**
+     * a kernel that cannot be loaded gives way to the scalar one, which tells whether
+     * every shape bit lands on a world bit
+     */
+    @Test
+    public void scalarKernel() {
+        PlacementKernel kernel = PlacementKernels.load("edu.up.cs301.shapefitter.NoKernel");
+        assertEquals("scalar", kernel.getName());
+
+        long[] shapeRows = { 0x5L, 0x1L << 63 };
+        long[] strip = { 0L, 0x7L, -1L, 0x6L };
+        assertTrue(kernel.covers(shapeRows, strip, 1, 2));
+        assertFalse(kernel.covers(shapeRows, strip, 2, 2));
+        assertFalse(kernel.covers(shapeRows, strip, 0, 1));
+        assertTrue(kernel.covers(shapeRows, strip, 0, 0));
+    }
+}
@@ -0,0 +1,251 @@
+package edu.up.cs301.shapefitter;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Checks that WorldBatchSolver finds the same first fit in each world as the reference
+ * search (see BruteForce), that it holds no more worlds in memory than it is allowed, and
+ * that failures are passed on once the other worlds have been solved.
+ *
+ * @author Phi Nguyen
+ * @version 18 October 2026
+ */
+public class WorldBatchSolverTest {
+
+    // the shape used throughout: an L
+    private static final boolean[][] SHAPE = {
+            { true, false },
+            { true, false },
+            { true, true },
+    };
+
+    /**
+     * A reader that counts the worlds it has handed out that have not yet been solved,
+     * and can be made to fail after a number of worlds.
+     */
+    private static final class CountingReader extends SavedArrayReader {
+
+        // the worlds handed out and not yet solved, and the most there have been at once
+        final AtomicInteger held = new AtomicInteger();
+        final AtomicInteger maxHeld = new AtomicInteger();
+
+        // the number of worlds to hand out before failing, or -1 never to fail
+        private int failAfter;
+
+        /**
+         * constructor
+         *
+         * @param worlds the worlds to read
+         * @param failAfter the number of worlds to hand out before failing, or -1
+         */
+        CountingReader(List<boolean[][]> worlds, int failAfter) throws IOException {
+            super(new ByteArrayInputStream(write(worlds)));
+            this.failAfter = failAfter;
+        }
+
+        @Override
+        public boolean[][] read() throws IOException {
+            if (failAfter == 0) throw new IOException("disk on fire");
+            failAfter--;
+            boolean[][] rtnVal = super.read();
+            if (rtnVal != null) {
+                int now = held.incrementAndGet();
+                for (int max = maxHeld.get(); max < now; max = maxHeld.get()) {
+                    if (maxHeld.compareAndSet(max, now)) break;
+                }
+            }
+            return rtnVal;
+        }
+    }
+
+    /**
+     * A listener that records each result, and marks its world as no longer held.
+     */
+    private static class Recorder implements WorldBatchSolver.ResultListener {
+
+        // the results; NONE - 1 for a world not yet reported
+        final AtomicLongArray results;
+
+        // the reader whose worlds are being solved, or null
+        private final CountingReader reader;
+
+        /**
+         * constructor
+         *
+         * @param count the number of worlds
+         * @param reader the reader whose worlds are being solved, or null
+         */
+        Recorder(int count, CountingReader reader) {
+            results = new AtomicLongArray(count);
+            for (int i = 0; i < count; i++) {
+                results.set(i, Placements.NONE - 1);
+            }
+            this.reader = reader;
+        }
+
+        public void worldSolved(int index, long placement) {
+            if (reader != null) {
+                // hold on to the world for a moment, so that the reader gets ahead
+                try {
+                    Thread.sleep(1);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                reader.held.decrementAndGet();
+            }
+            results.set(index, placement);
+        }
+    }
+
+    /**
+     * @param worlds some worlds
+     * @return the worlds, written in the saved-array format
+     * @throws IOException never
+     */
+    private static byte[] write(List<boolean[][]> worlds) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        SavedArrayWriter writer = new SavedArrayWriter(bytes);
+        for (boolean[][] world : worlds) {
+            writer.write(world);
+        }
+        writer.close();
+        return bytes.toByteArray();
+    }
+
+    /**
+     * @param rnd the source of randomness
+     * @param count the number of worlds
+     * @return random (square, so that they can be saved) worlds, the shape planted in some
+     * of them
+     */
+    private static List<boolean[][]> worlds(Random rnd, int count) {
+        List<boolean[][]> rtnVal = new ArrayList<boolean[][]>();
+        for (int i = 0; i < count; i++) {
+            int size = 1 + rnd.nextInt(12);
+            boolean[][] world = BruteForce.randomGrid(rnd, size, size, rnd.nextDouble());
+            if (i % 3 == 0) ShapeSolverTest.plant(rnd, SHAPE, world);
+            rtnVal.add(world);
+        }
+        return rtnVal;
+    }
+
+    /**
+     * every world gets its own first fit, whether given as a list or read from a stream
+     */
+    @Test
+    public void solveAllMatchesReference() throws IOException {
+        List<boolean[][]> worlds = worlds(new Random(10), 60);
+        ForkJoinPool pool = new ForkJoinPool(3);
+        try {
+            WorldBatchSolver solver = new WorldBatchSolver(SHAPE, pool, 4);
+            long[] fits = solver.solveAll(worlds);
+            Recorder streamed = new Recorder(worlds.size(), null);
+            assertEquals(worlds.size(), solver.solveAll(new CountingReader(worlds, -1),
+                    streamed));
+            for (int i = 0; i < worlds.size(); i++) {
+                long expected = BruteForce.firstFit(SHAPE, worlds.get(i), false);
+                assertEquals("world " + i, expected, fits[i]);
+                assertEquals("world " + i, expected, streamed.results.get(i));
+                assertEquals("world " + i, expected, solver.firstFit(worlds.get(i)));
+            }
+        }
+        finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * no more worlds are read ahead than are allowed in memory, however slowly they are
+     * solved
+     */
+    @Test
+    public void maxInFlightBoundsReading() throws IOException {
+        List<boolean[][]> worlds = worlds(new Random(11), 80);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int maxInFlight = 1; maxInFlight <= 6; maxInFlight += 5) {
+                CountingReader reader = new CountingReader(worlds, -1);
+                Recorder listener = new Recorder(worlds.size(), reader);
+                new WorldBatchSolver(SHAPE, pool, maxInFlight).solveAll(reader, listener);
+                assertTrue("held " + reader.maxHeld.get(), reader.maxHeld.get() <= maxInFlight);
+                assertEquals(0, reader.held.get());
+            }
+        }
+        finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * a failure in solving is thrown once every other world has been solved, with any
+     * further failures suppressed in it
+     */
+    @Test
+    public void solveFailureIsRethrown() throws IOException {
+        final List<boolean[][]> worlds = worlds(new Random(12), 30);
+        final Recorder listener = new Recorder(worlds.size(), null) {
+            @Override
+            public void worldSolved(int index, long placement) {
+                if (index % 10 == 3) throw new IllegalStateException("world " + index);
+                super.worldSolved(index, placement);
+            }
+        };
+        try {
+            new WorldBatchSolver(SHAPE).solveAll(new CountingReader(worlds, -1), listener);
+            fail("the failures were not thrown");
+        }
+        catch (IllegalStateException e) {
+            assertEquals(2, e.getSuppressed().length);
+        }
+        for (int i = 0; i < worlds.size(); i++) {
+            if (i % 10 == 3) continue;
+            assertEquals("world " + i, BruteForce.firstFit(SHAPE, worlds.get(i), false),
+                    listener.results.get(i));
+        }
+
+        // in a list, a world that cannot be solved
+        worlds.set(5, null);
+        try {
+            new WorldBatchSolver(SHAPE).solveAll(worlds);
+            fail("the failure was not thrown");
+        }
+        catch (NullPointerException e) {
+            // expected
+        }
+    }
+
+    /**
+     * a failure in reading is thrown once the worlds already read have been solved
+     */
+    @Test
+    public void readFailureIsRethrown() throws IOException {
+        List<boolean[][]> worlds = worlds(new Random(13), 20);
+        Recorder listener = new Recorder(worlds.size(), null);
+        try {
+            new WorldBatchSolver(SHAPE).solveAll(new CountingReader(worlds, 7), listener);
+            fail("the failure was not thrown");
+        }
+        catch (IOException e) {
+            // expected
+        }
+        for (int i = 0; i < worlds.size(); i++) {
+            long expected = i < 7 ? BruteForce.firstFit(SHAPE, worlds.get(i), false)
+                    : Placements.NONE - 1;
+            assertEquals("world " + i, expected, listener.results.get(i));
+        }
+    }
+}
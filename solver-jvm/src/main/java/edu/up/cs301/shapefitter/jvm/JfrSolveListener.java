@@ -0,0 +1,81 @@
+package edu.up.cs301.shapefitter.jvm;
+
+import edu.up.cs301.shapefitter.Orientation;
+import edu.up.cs301.shapefitter.ShapeSolver;
+import edu.up.cs301.shapefitter.SolveListener;
+import edu.up.cs301.shapefitter.SolveMetrics;
+import edu.up.cs301.shapefitter.SolveResult;
+
+/**
+ * SolveListener that emits Java Flight Recorder events: a SolveEvent for each solve, and
+ * a SolvePhaseEvent for each phase within it. When no recording has the events enabled,
+ * nothing is allocated beyond the (unused) event objects. It is found by ShapeSolver by
+ * name, rather than referred to, so it is the default listener whenever this module is on
+ * the class path. To record, for example:
+ *     java -XX:StartFlightRecording=filename=solve.jfr ...
+ *     jfr print --categories "Shape Fitter" solve.jfr
+ *
+ * @author Phi Nguyen
+ * @version 18 October 2026
+ */
+public final class JfrSolveListener implements SolveListener {
+
+    @Override
+    public Object solveBegun(ShapeSolver solver) {
+        SolveEvent event = new SolveEvent();
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.solver = solver.getClass().getSimpleName();
+        event.begin();
+        return event;
+    }
+
+    @Override
+    public void solveEnded(Object context, SolveResult result) {
+        if (context == null) return;
+        SolveEvent event = (SolveEvent) context;
+        event.end();
+        if (!event.shouldCommit()) {
+            return;
+        }
+        event.status = result.getStatus().name();
+        SolveMetrics metrics = result.getMetrics();
+        if (metrics != null) {
+            event.candidates = metrics.getCandidates();
+            event.prunedTotalCount = metrics.getPruned(SolveMetrics.Filter.TOTAL_COUNT);
+            event.prunedWindowCount = metrics.getPruned(SolveMetrics.Filter.WINDOW_COUNT);
+            event.prunedProjections = metrics.getPruned(SolveMetrics.Filter.PROJECTIONS);
+            event.prunedAnchor = metrics.getPruned(SolveMetrics.Filter.ANCHOR);
+            event.prunedFingerprint = metrics.getPruned(SolveMetrics.Filter.FINGERPRINT);
+            event.prunedCorrelation = metrics.getPruned(SolveMetrics.Filter.CORRELATION);
+            event.prunedRowMatch = metrics.getPruned(SolveMetrics.Filter.ROW_MATCH);
+            event.prunedCells = metrics.getPruned(SolveMetrics.Filter.CELLS);
+            event.cellsTested = metrics.getCellsTested();
+            event.placementsFound = metrics.getPlacementsFound();
+            event.preprocessingTime = metrics.getPreprocessingNanos();
+            event.searchTime = metrics.getSearchNanos();
+        }
+        event.commit();
+    }
+
+    @Override
+    public Object phaseBegun(ShapeSolver solver, String phase, Orientation orientation) {
+        SolvePhaseEvent event = new SolvePhaseEvent();
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.solver = solver.getClass().getSimpleName();
+        event.phase = phase;
+        event.orientation = orientation == null ? null : orientation.name();
+        event.begin();
+        return event;
+    }
+
+    @Override
+    public void phaseEnded(Object context) {
+        if (context == null) return;
+        SolvePhaseEvent event = (SolvePhaseEvent) context;
+        event.commit();
+    }
+}
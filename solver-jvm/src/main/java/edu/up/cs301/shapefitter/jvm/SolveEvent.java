@@ -0,0 +1,71 @@
+package edu.up.cs301.shapefitter.jvm;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight-recorder event for a whole solve, with its outcome and metrics. Its duration is
+ * the solve's. The counts of candidates, prunes and cells tested are zero unless the
+ * solver was asked to count them (see ShapeSolver.setDetailedMetrics).
+ *
+ * @author Phi Nguyen
+ * @version 18 October 2026
+ */
+@Name("edu.up.cs301.shapefitter.Solve")
+@Label("Solve")
+@Category("Shape Fitter")
+@Description("A shape-fitting solve")
+@StackTrace(false)
+final class SolveEvent extends jdk.jfr.Event {
+
+    @Label("Solver")
+    String solver;
+
+    @Label("Status")
+    String status;
+
+    @Label("Candidates")
+    long candidates;
+
+    @Label("Pruned by Total Count")
+    long prunedTotalCount;
+
+    @Label("Pruned by Window Count")
+    long prunedWindowCount;
+
+    @Label("Pruned by Projections")
+    long prunedProjections;
+
+    @Label("Pruned by Anchor")
+    long prunedAnchor;
+
+    @Label("Pruned by Fingerprint")
+    long prunedFingerprint;
+
+    @Label("Pruned by Correlation")
+    long prunedCorrelation;
+
+    @Label("Pruned by Row Match")
+    long prunedRowMatch;
+
+    @Label("Pruned by Cells")
+    long prunedCells;
+
+    @Label("Cells Tested")
+    long cellsTested;
+
+    @Label("Placements Found")
+    long placementsFound;
+
+    @Label("Preprocessing Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long preprocessingTime;
+
+    @Label("Search Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long searchTime;
+}
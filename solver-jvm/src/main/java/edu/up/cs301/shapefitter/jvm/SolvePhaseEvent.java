@@ -0,0 +1,31 @@
+package edu.up.cs301.shapefitter.jvm;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight-recorder event for one phase of a solve: preprocessing, or the search of one
+ * orientation. Its duration is the phase's.
+ *
+ * @author Phi Nguyen
+ * @version 18 October 2026
+ */
+@Name("edu.up.cs301.shapefitter.SolvePhase")
+@Label("Solve Phase")
+@Category("Shape Fitter")
+@Description("A phase of a shape-fitting solve")
+@StackTrace(false)
+final class SolvePhaseEvent extends jdk.jfr.Event {
+
+    @Label("Solver")
+    String solver;
+
+    @Label("Phase")
+    String phase;
+
+    @Label("Orientation")
+    String orientation;
+}
@@ -0,0 +1,62 @@
+package edu.up.cs301.shapefitter.jvm;
+
+import edu.up.cs301.shapefitter.PlacementKernel;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * PlacementKernel that tests as many rows per instruction as the JVM's preferred vector
+ * width allows (for example, four with 256-bit AVX2 registers), using the incubating
+ * Vector API. It is found by PlacementKernels by name, rather than referred to.
+ *
+ * @author Phi Nguyen
+ * @version 18 October 2026
+ */
+public final class VectorPlacementKernel implements PlacementKernel {
+
+    // the vector shape to use
+    private static final VectorSpecies<Long> SPECIES = LongVector.SPECIES_PREFERRED;
+
+    /**
+     * Tells whether every bit of shapeRows[0..n) is also set in the corresponding element
+     * of strip[offset..offset+n).
+     *
+     * @param shapeRows the shape's rows (one 64-column word of each)
+     * @param strip the world's rows (the matching 64-column word of each)
+     * @param offset the index in strip corresponding to shapeRows[0]
+     * @param n the number of rows
+     * @return whether the shape rows are covered
+     */
+    @Override
+    public boolean covers(long[] shapeRows, long[] strip, int offset, int n) {
+        // whole vectors of rows
+        int i = 0;
+        int upper = SPECIES.loopBound(n);
+        for (; i < upper; i += SPECIES.length()) {
+            LongVector shapeVec = LongVector.fromArray(SPECIES, shapeRows, i);
+            LongVector worldVec = LongVector.fromArray(SPECIES, strip, offset + i);
+            // a shape bit on a false world bit, in any lane, means no fit
+            if (shapeVec.lanewise(VectorOperators.AND_NOT, worldVec)
+                    .compare(VectorOperators.NE, 0L).anyTrue()) {
+                return false;
+            }
+        }
+
+        // the rows left over
+        for (; i < n; i++) {
+            if ((shapeRows[i] & ~strip[offset + i]) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return a short name for the kernel, for reporting
+     */
+    @Override
+    public String getName() {
+        return "vector-" + SPECIES.vectorBitSize();
+    }
+}